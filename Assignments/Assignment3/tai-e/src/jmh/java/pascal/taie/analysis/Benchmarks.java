@@ -0,0 +1,113 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis;
+
+import pascal.taie.Main;
+import pascal.taie.World;
+import pascal.taie.config.AnalysisConfig;
+import pascal.taie.ir.IR;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Static utility methods for benchmarking.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Prefix of main class which denotes a program generated by
+     * {@link ProgramGenerator}, e.g., "generated:10000" denotes
+     * the program of about 10000 statements.
+     */
+    public static final String GENERATED = "generated:";
+
+    /**
+     * Prefix of main class which denotes a program of a single long method
+     * generated by {@link ProgramGenerator#generateLongMethod(int)},
+     * e.g., "long-method:10000" denotes the method of about 10000 statements.
+     */
+    public static final String LONG_METHOD = "long-method:";
+
+    /**
+     * Builds the world for the program to be benchmarked, and runs the
+     * analyses that the benchmarked analysis depends on.
+     *
+     * @param classPath where the main class is located
+     * @param main      the main class to be analyzed, or {@link #GENERATED}
+     *                  (or {@link #LONG_METHOD}) followed by size of the
+     *                  program to be generated, in which case classPath
+     *                  is ignored
+     * @param analyses  the prerequisite analyses, in the form of
+     *                  {@code id=key:value;...}
+     */
+    public static void buildWorld(String classPath, String main, String... analyses) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        Collections.addAll(args, "-cp", getClassPath(classPath, main));
+        Collections.addAll(args, "-m", isGenerated(main) ?
+                ProgramGenerator.MAIN_CLASS : main);
+        for (String analysis : analyses) {
+            Collections.addAll(args, "-a", analysis);
+        }
+        Main.main(args.toArray(new String[0]));
+    }
+
+    /**
+     * @return the actual class path of given main class, which is
+     * generated if necessary.
+     */
+    public static String getClassPath(String classPath, String main) {
+        if (main.startsWith(GENERATED)) {
+            int statements = Integer.parseInt(main.substring(GENERATED.length()));
+            return ProgramGenerator.generate(statements).toString();
+        } else if (main.startsWith(LONG_METHOD)) {
+            int statements = Integer.parseInt(main.substring(LONG_METHOD.length()));
+            return ProgramGenerator.generateLongMethod(statements).toString();
+        } else {
+            return classPath;
+        }
+    }
+
+    public static boolean isGenerated(String main) {
+        return main.startsWith(GENERATED) || main.startsWith(LONG_METHOD);
+    }
+
+    /**
+     * Creates the configuration of the benchmarked analysis.
+     *
+     * @param id      ID of the analysis
+     * @param options the options of the analysis as key-value pairs,
+     *                i.e., key1, value1, key2, value2, ...
+     */
+    public static AnalysisConfig config(String id, Object... options) {
+        return new AnalysisConfig(id, options);
+    }
+
+    /**
+     * @return IRs of the concrete methods of the application classes.
+     */
+    public static List<IR> applicationIRs() {
+        return World.getClassHierarchy()
+                .applicationClasses()
+                .flatMap(c -> c.getDeclaredMethods().stream())
+                .filter(m -> !m.isAbstract() && !m.isNative())
+                .map(JMethod::getIR)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.dataflow.analysis.DeadCodeDetection;
+import pascal.taie.analysis.dataflow.analysis.LiveVariableAnalysis;
+import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
+import pascal.taie.analysis.graph.cfg.CFGBuilder;
+import pascal.taie.ir.IR;
+
+import java.util.List;
+
+/**
+ * Benchmarks of running constant propagation, live variable analysis
+ * and dead code detection over all methods of the application classes
+ * by {@link IntraproceduralScheduler}.
+ */
+@State(Scope.Benchmark)
+public class IntraproceduralSchedulerBenchmark {
+
+    @Param("src/test/resources/dataflow/deadcode")
+    public String classPath;
+
+    @Param({"Loops", "generated:10000", "generated:100000"})
+    public String main;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private List<IR> irs;
+
+    private IntraproceduralScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main, CFGBuilder.ID);
+        irs = Benchmarks.applicationIRs();
+        scheduler = new IntraproceduralScheduler(List.of(
+                new ConstantPropagation(Benchmarks.config(ConstantPropagation.ID)),
+                new LiveVariableAnalysis(Benchmarks.config(LiveVariableAnalysis.ID,
+                        "strongly", false)),
+                new DeadCodeDetection(Benchmarks.config(DeadCodeDetection.ID))),
+                threads);
+    }
+
+    @Benchmark
+    public void deadCodePipeline() {
+        scheduler.run(irs);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.analysis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
+import pascal.taie.analysis.graph.cfg.CFGBuilder;
+import pascal.taie.ir.IR;
+
+import java.util.List;
+
+/**
+ * Benchmarks of intraprocedural data-flow analyses solved by
+ * {@link pascal.taie.analysis.dataflow.solver.WorkListSolver}
+ * over all methods of the application classes.
+ */
+@State(Scope.Benchmark)
+public class DataflowBenchmark {
+
+    @Param("src/test/resources/dataflow/deadcode")
+    public String classPath;
+
+    @Param({"ControlFlowUnreachable", "DeadAssignment", "Loops",
+            "UnreachableIfBranch", "UnreachableSwitchBranch",
+            "generated:1000", "generated:10000", "long-method:10000"})
+    public String main;
+
+    @Param({"fifo", "rpo"})
+    public String worklist;
+
+    /**
+     * Whether the solvers run on basic blocks.
+     */
+    @Param({"false", "true"})
+    public boolean basicBlocks;
+
+    /**
+     * Whether live variable analysis uses bit-set facts.
+     */
+    @Param({"false", "true"})
+    public boolean bitSet;
+
+    /**
+     * Whether the results only keep the facts at basic block boundaries.
+     * Dead code detection then queries the other facts by replaying
+     * the transfer functions.
+     */
+    @Param({"false", "true"})
+    public boolean sparseResult;
+
+    /**
+     * Algorithm of constant propagation, "dense" or "sccp".
+     */
+    @Param({"dense", "sccp"})
+    public String algorithm;
+
+    private List<IR> irs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // dead code detection consumes the results of the other two
+        // analyses, so they are also run (once) in the set-up
+        Benchmarks.buildWorld(classPath, main, CFGBuilder.ID,
+                ConstantPropagation.ID + "=sparse-result:" + sparseResult +
+                        ";algorithm:" + algorithm,
+                LiveVariableAnalysis.ID + "=sparse-result:" + sparseResult);
+        irs = Benchmarks.applicationIRs();
+    }
+
+    @Benchmark
+    public void liveVariables(Blackhole bh) {
+        LiveVariableAnalysis analysis = new LiveVariableAnalysis(
+                Benchmarks.config(LiveVariableAnalysis.ID,
+                        "strongly", false, "worklist", worklist,
+                        "basic-blocks", basicBlocks,
+                        "bit-set", bitSet, "sparse-result", sparseResult));
+        for (IR ir : irs) {
+            bh.consume(analysis.analyze(ir));
+        }
+    }
+
+    @Benchmark
+    public void constantPropagation(Blackhole bh) {
+        ConstantPropagation analysis = new ConstantPropagation(
+                Benchmarks.config(ConstantPropagation.ID,
+                        "algorithm", algorithm,
+                        "edge-transfer", false, "worklist", worklist,
+                        "basic-blocks", basicBlocks,
+                        "sparse-result", sparseResult));
+        for (IR ir : irs) {
+            bh.consume(analysis.analyze(ir));
+        }
+    }
+
+    @Benchmark
+    public void deadCodeDetection(Blackhole bh) {
+        DeadCodeDetection analysis = new DeadCodeDetection(
+                Benchmarks.config(DeadCodeDetection.ID));
+        for (IR ir : irs) {
+            bh.consume(analysis.analyze(ir));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis;
+
+import pascal.taie.analysis.graph.cfg.CFGBuilder;
+import pascal.taie.ir.IR;
+import pascal.taie.util.AnalysisException;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Library helper which runs a sequence of intraprocedural analyses over
+ * methods on a work-stealing pool. It is not driven by the analysis plan,
+ * and does not resolve the requirements of the analyses: the callers must
+ * build the CFGs of the IRs (see {@link CFGBuilder}) before running it,
+ * and give the analyses in the order of their dependencies, e.g., the
+ * order in the analysis plan. A task runs all the analyses on an IR
+ * before it moves to the next IR, so every analysis sees the results of
+ * the analyses it depends on (e.g., dead code detection sees the results
+ * of constant propagation and live variable analysis on the same IR).
+ * The results stored in an IR are only written by the task which owns
+ * the IR, thus no locking is needed, and the results are the same as
+ * running the analyses sequentially.
+ */
+public class IntraproceduralScheduler {
+
+    /**
+     * Ranges of IRs smaller than this are analyzed by one task.
+     */
+    private static final int THRESHOLD = 4;
+
+    private final List<? extends IntraproceduralAnalysis> analyses;
+
+    private final int parallelism;
+
+    /**
+     * @param analyses    the analyses to run, in the order of dependencies
+     * @param parallelism number of threads, 1 to run sequentially
+     */
+    public IntraproceduralScheduler(
+            List<? extends IntraproceduralAnalysis> analyses, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Invalid parallelism: " + parallelism);
+        }
+        this.analyses = analyses;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the analyses on given IRs, and stores the results in the IRs.
+     * This method returns after all IRs are analyzed.
+     */
+    public void run(List<IR> irs) {
+        if (parallelism == 1) {
+            irs.forEach(this::analyze);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new AnalyzeTask(irs, 0, irs.size()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private void analyze(IR ir) {
+        if (ir.getResult(CFGBuilder.ID) == null) {
+            throw new AnalysisException("No " + CFGBuilder.ID + " result for "
+                    + ir.getMethod() + ", the CFGs must be built before scheduling");
+        }
+        for (IntraproceduralAnalysis analysis : analyses) {
+            Object result = analysis.analyze(ir);
+            if (result != null) {
+                ir.storeResult(analysis.getId(), result);
+            }
+        }
+    }
+
+    private class AnalyzeTask extends RecursiveAction {
+
+        private final List<IR> irs;
+
+        private final int from;
+
+        private final int to;
+
+        private AnalyzeTask(List<IR> irs, int from, int to) {
+            this.irs = irs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    analyze(irs.get(i));
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new AnalyzeTask(irs, from, mid),
+                        new AnalyzeTask(irs, mid, to));
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@ package pascal.taie.analysis.dataflow.analysis;
 
 import pascal.taie.analysis.IntraproceduralAnalysis;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.dataflow.fact.SparseDataflowResult;
+import pascal.taie.analysis.dataflow.solver.BlockSolver;
 import pascal.taie.analysis.dataflow.solver.Solver;
 import pascal.taie.analysis.graph.cfg.CFG;
 import pascal.taie.analysis.graph.cfg.CFGBuilder;
@@ -25,17 +27,57 @@ public abstract class AbstractDataflowAnalysis<Node, Fact>
         extends IntraproceduralAnalysis
         implements DataflowAnalysis<Node, Fact> {
 
+    /**
+     * Solver on individual nodes, or null if the analysis runs on blocks.
+     */
     private final Solver<Node, Fact> solver;
 
+    /**
+     * Solver on basic blocks, or null if the analysis runs on nodes.
+     */
+    private final BlockSolver<Node, Fact> blockSolver;
+
+    /**
+     * Whether the results only keep the facts at basic block boundaries.
+     */
+    private final boolean sparseResult;
+
+    /**
+     * Number of replayed blocks cached by sparse results, which keeps
+     * facts across blocks (the block replayed last is always kept).
+     */
+    private final int sparseResultCache;
+
     protected AbstractDataflowAnalysis(AnalysisConfig config) {
         super(config);
-        solver = Solver.makeSolver(this);
+        String workList = getOptions().has("worklist") ?
+                getOptions().getString("worklist") : "fifo";
+        if (getOptions().has("basic-blocks") &&
+                getOptions().getBoolean("basic-blocks")) {
+            solver = null;
+            blockSolver = new BlockSolver<>(this, workList);
+        } else {
+            solver = Solver.makeSolver(this, workList);
+            blockSolver = null;
+        }
+        sparseResult = getOptions().has("sparse-result") &&
+                getOptions().getBoolean("sparse-result");
+        sparseResultCache = getOptions().has("sparse-result-cache") ?
+                getOptions().getInt("sparse-result-cache") : 0;
     }
 
     @Override
     public DataflowResult<Node, Fact> analyze(IR ir) {
         CFG<Node> cfg = ir.getResult(CFGBuilder.ID);
-        return solver.solve(cfg);
+        if (solver == null) {
+            return sparseResult ?
+                    blockSolver.solveSparse(cfg, sparseResultCache) :
+                    blockSolver.solve(cfg);
+        }
+        DataflowResult<Node, Fact> result = solver.solve(cfg);
+        return sparseResult ?
+                new SparseDataflowResult<>(this, cfg, result, sparseResultCache) :
+                result;
     }
 
     /**
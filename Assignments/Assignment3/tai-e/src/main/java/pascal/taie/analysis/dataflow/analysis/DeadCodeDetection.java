@@ -17,7 +17,7 @@ import pascal.taie.analysis.dataflow.analysis.constprop.CPFact;
 import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
 import pascal.taie.analysis.dataflow.analysis.constprop.Value;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
-import pascal.taie.analysis.dataflow.fact.SetFact;
+import pascal.taie.analysis.dataflow.fact.SetLikeFact;
 import pascal.taie.analysis.graph.cfg.CFG;
 import pascal.taie.analysis.graph.cfg.CFGBuilder;
 import pascal.taie.analysis.graph.cfg.Edge;
@@ -49,119 +49,87 @@ public class DeadCodeDetection extends IntraproceduralAnalysis {
         DataflowResult<Stmt, CPFact> constants =
                 ir.getResult(ConstantPropagation.ID);
         // obtain result of live variable analysis
-        DataflowResult<Stmt, SetFact<Var>> liveVars =
+        DataflowResult<Stmt, SetLikeFact<Var>> liveVars =
                 ir.getResult(LiveVariableAnalysis.ID);
         // keep statements (dead code) sorted in the resulting set
         Set<Stmt> deadCode = new TreeSet<>(Comparator.comparing(Stmt::getIndex));
         // TODO - finish me
-
-        //1.get all stmt
-        List<Stmt> allStmt=ir.getStmts();
-        allStmt=new ArrayList<>(allStmt);
-
-        //2.traverse cfg
-        Stmt entry=cfg.getEntry();
-        Stream<Edge<Stmt>> next=cfg.outEdgesOf(entry);
-        Queue<Edge<Stmt>> queue=next.collect(Collectors.toCollection(LinkedList::new));
-        List<Edge<Stmt>> visit=new ArrayList<>();
-        while(!queue.isEmpty()){
-            Edge<Stmt> top=queue.remove();
-            visit.add(top);
-            Stmt reachStmt=top.getTarget();
-            //2.1 remove reach stmt from all stmt
-            allStmt.remove(reachStmt);
-
-            if(reachStmt instanceof If){
-                //2.2 analysis if
-                If ifStmt=(If)reachStmt;
-                ConditionExp conExp=ifStmt.getCondition();
-                Var var1=conExp.getOperand1();
-                Var var2=conExp.getOperand2();
-                CPFact cpFact=constants.getInFact(ifStmt);
-                if(cpFact.get(var1).isConstant()&&cpFact.get(var2).isConstant()){
-                    Value value=ConstantPropagation.evaluate(conExp,cpFact);
-                    Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                    if(value.getConstant()==1){
-                        reachNext.forEach(edge->{
-                            if(edge.getKind()== Edge.Kind.IF_TRUE){
-                                if(!visit.contains(edge))
-                                    queue.add(edge);
-                            }
-                        });
-                    }else{
-                        reachNext.forEach(edge->{
-                            if(edge.getKind()== Edge.Kind.IF_FALSE){
-                                if(!visit.contains(edge))
-                                    queue.add(edge);
-                            }
-                        });
-                    }
-                }else{
-                    Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                    reachNext.forEach(edge->{
-                        if(!visit.contains(edge))
-                            queue.add(edge);
-                    });
-                }
-
-            }else if(reachStmt instanceof SwitchStmt){
-                //2.2 analysis Switch
-                SwitchStmt switchStmt=(SwitchStmt) reachStmt;
-                Var var=switchStmt.getVar();
-                CPFact cpFact=constants.getInFact(switchStmt);
-                if(cpFact.get(var).isConstant()){
-                    int constInt=cpFact.get(var).getConstant();
-                    Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                    reachNext.forEach(edge->{
-                        if(edge.getKind()== Edge.Kind.SWITCH_CASE){
-                            int caseValue=edge.getCaseValue();
-                            if(caseValue==constInt)
-                                if(!visit.contains(edge))
-                                    queue.add(edge);
-                        }
-                    });
-                }else{
-                    Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                    reachNext.forEach(edge->{
-                        if(!visit.contains(edge))
-                            queue.add(edge);
+        // traverse the CFG from the entry along the edges which may be
+        // taken, and check the reached assignments on the fly.
+        // The branch constants and live variables are looked up in the
+        // results of constant propagation and live variable analysis,
+        // which are solved before this analysis. Reached statements are
+        // marked in a bit set, so each statement is visited once and
+        // the traversal itself is linear in the size of the CFG.
+        BitSet reached = new BitSet(ir.getStmts().size());
+        Queue<Stmt> workList = new ArrayDeque<>();
+        workList.add(cfg.getEntry());
+        while (!workList.isEmpty()) {
+            Stmt stmt = workList.poll();
+            if (stmt instanceof AssignStmt &&
+                    isDeadAssignment((AssignStmt<?, ?>) stmt, liveVars)) {
+                deadCode.add(stmt);
+            }
+            feasibleOutEdgesOf(cfg, stmt, constants)
+                    .map(Edge::getTarget)
+                    .filter(succ -> !cfg.isExit(succ) && !reached.get(succ.getIndex()))
+                    .forEach(succ -> {
+                        reached.set(succ.getIndex());
+                        workList.add(succ);
                     });
-                }
-
-            }else if(reachStmt instanceof AssignStmt){
-                //2.3 analysis assign
-                AssignStmt assignStmt=(AssignStmt)reachStmt;
-                Exp exp=assignStmt.getLValue();
-                Var var=null;
-                if(exp instanceof Var){
-                    var=(Var)exp;
-                }
-                SetFact setFact=liveVars.getOutFact(reachStmt);
-                if(!setFact.contains(var)){
-                    if(hasNoSideEffect(assignStmt.getRValue())){
-                        allStmt.add(assignStmt);
-                    }
-                }
-                Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                reachNext.forEach(edge->{
-                    if(!visit.contains(edge))
-                        queue.add(edge);
-                });
-            }else{
-                Stream<Edge<Stmt>> reachNext=cfg.outEdgesOf(reachStmt);
-                reachNext.forEach(edge->{
-                    if(!visit.contains(edge))
-                        queue.add(edge);
-                });
+        }
+        // the statements which are not reached are unreachable code
+        for (Stmt stmt : ir) {
+            if (!reached.get(stmt.getIndex())) {
+                deadCode.add(stmt);
             }
         }
+        return deadCode;
+    }
 
-        //3.add deadCode
-        deadCode.addAll(allStmt);
-
+    /**
+     * @return the out edges of given statement which may be taken,
+     * i.e., if the condition of an if (switch) statement is a constant,
+     * then only the edge of the matching branch (case) is feasible.
+     */
+    private static Stream<Edge<Stmt>> feasibleOutEdgesOf(
+            CFG<Stmt> cfg, Stmt stmt, DataflowResult<Stmt, CPFact> constants) {
+        if (stmt instanceof If) {
+            ConditionExp cond = ((If) stmt).getCondition();
+            CPFact in = constants.getInFact(stmt);
+            if (in.get(cond.getOperand1()).isConstant() &&
+                    in.get(cond.getOperand2()).isConstant()) {
+                Edge.Kind kind = ConstantPropagation.evaluate(cond, in)
+                        .getConstant() == 1 ? Edge.Kind.IF_TRUE : Edge.Kind.IF_FALSE;
+                return cfg.outEdgesOf(stmt).filter(edge -> edge.getKind() == kind);
+            }
+        } else if (stmt instanceof SwitchStmt) {
+            Value value = constants.getInFact(stmt)
+                    .get(((SwitchStmt) stmt).getVar());
+            if (value.isConstant()) {
+                int c = value.getConstant();
+                List<Edge<Stmt>> cases = cfg.outEdgesOf(stmt)
+                        .filter(edge -> edge.isSwitchCase() && edge.getCaseValue() == c)
+                        .collect(Collectors.toList());
+                // if no case matches, then the default branch is taken
+                return !cases.isEmpty() ? cases.stream() :
+                        cfg.outEdgesOf(stmt).filter(edge ->
+                                edge.getKind() == Edge.Kind.SWITCH_DEFAULT);
+            }
+        }
+        return cfg.outEdgesOf(stmt);
+    }
 
-        // Your task is to recognize dead code in ir and add it to deadCode
-        return deadCode;
+    /**
+     * @return true if given assignment defines a variable which is not
+     * live after it, and the assignment has no side effect.
+     */
+    private static boolean isDeadAssignment(
+            AssignStmt<?, ?> stmt, DataflowResult<Stmt, SetLikeFact<Var>> liveVars) {
+        LValue lhs = stmt.getLValue();
+        return lhs instanceof Var &&
+                !liveVars.getOutFact(stmt).contains((Var) lhs) &&
+                hasNoSideEffect(stmt.getRValue());
     }
 
     /**
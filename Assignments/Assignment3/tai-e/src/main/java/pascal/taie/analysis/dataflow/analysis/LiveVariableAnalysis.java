@@ -12,27 +12,41 @@
 
 package pascal.taie.analysis.dataflow.analysis;
 
+import pascal.taie.analysis.dataflow.fact.BitSetFact;
+import pascal.taie.analysis.dataflow.fact.Indexer;
 import pascal.taie.analysis.dataflow.fact.SetFact;
+import pascal.taie.analysis.dataflow.fact.SetLikeFact;
 import pascal.taie.analysis.graph.cfg.CFG;
 import pascal.taie.config.AnalysisConfig;
+import pascal.taie.ir.IR;
 import pascal.taie.ir.exp.LValue;
 import pascal.taie.ir.exp.RValue;
 import pascal.taie.ir.exp.Var;
 import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.util.collection.Maps;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Implementation of classic live variable analysis.
  */
 public class LiveVariableAnalysis extends
-        AbstractDataflowAnalysis<Stmt, SetFact<Var>> {
+        AbstractDataflowAnalysis<Stmt, SetLikeFact<Var>> {
 
     public static final String ID = "livevar";
 
+    /**
+     * Whether represent the facts by bit vectors over the variables
+     * of each method, i.e., {@link BitSetFact}.
+     */
+    private final boolean bitSet;
+
     public LiveVariableAnalysis(AnalysisConfig config) {
         super(config);
+        bitSet = getOptions().has("bit-set") && getOptions().getBoolean("bit-set");
     }
 
     @Override
@@ -41,29 +55,46 @@ public class LiveVariableAnalysis extends
     }
 
     @Override
-    public SetFact<Var> newBoundaryFact(CFG<Stmt> cfg) {
+    public SetLikeFact<Var> newBoundaryFact(CFG<Stmt> cfg) {
         // TODO - finish me
+        if (bitSet) {
+            return new BitSetFact<>(VarIndexer.of(cfg.getIR()));
+        }
         return new SetFact<Var>();
         //return null;
     }
 
     @Override
-    public SetFact<Var> newInitialFact() {
+    public SetLikeFact<Var> newInitialFact(CFG<Stmt> cfg) {
+        if (bitSet) {
+            return new BitSetFact<>(VarIndexer.of(cfg.getIR()));
+        }
+        return newInitialFact();
+    }
+
+    @Override
+    public SetLikeFact<Var> newInitialFact() {
         // TODO - finish me
         //return null;
         return new SetFact<Var>();
     }
 
     @Override
-    public void meetInto(SetFact<Var> fact, SetFact<Var> target) {
+    public void meetInto(SetLikeFact<Var> fact, SetLikeFact<Var> target) {
         // TODO - finish me
         //target=new SetFact<Var>();
         target.union(fact);
     }
 
     @Override
-    public boolean transferNode(Stmt stmt, SetFact<Var> in, SetFact<Var> out) {
+    public boolean transferNode(Stmt stmt, SetLikeFact<Var> in, SetLikeFact<Var> out) {
         // TODO - finish me
+        if (in instanceof BitSetFact) {
+            BitSetFact<Var> bitIn = (BitSetFact<Var>) in;
+            VarIndexer indexer = (VarIndexer) bitIn.getIndexer();
+            return bitIn.setGenKill((BitSetFact<Var>) out,
+                    indexer.getUses(stmt), indexer.getDef(stmt));
+        }
 
         //outB-defB
         SetFact<Var> tempout=new SetFact<>();
@@ -89,8 +120,99 @@ public class LiveVariableAnalysis extends
         SetFact<Var> oldin=new SetFact<Var>();
         oldin.set(in);
         in.set(tempout);
-        return in.equals(oldin);
+        return !in.equals(oldin);
 
         //return false;
     }
+
+    /**
+     * Indexes the variables of a method, and holds the use (gen) and
+     * def (kill) bit vectors of each statement of the method.
+     */
+    private static class VarIndexer implements Indexer<Var> {
+
+        private final IR ir;
+
+        private final List<Var> vars = new ArrayList<>();
+
+        private final Map<Var, Integer> indexes = Maps.newMap();
+
+        private final List<BitSetFact<Var>> uses = new ArrayList<>();
+
+        private final List<BitSetFact<Var>> defs = new ArrayList<>();
+
+        private final BitSetFact<Var> empty = new BitSetFact<>(this);
+
+        /**
+         * @return the indexer of given IR, which is created once and
+         * stored in the IR.
+         */
+        private static VarIndexer of(IR ir) {
+            String key = VarIndexer.class.getName();
+            VarIndexer indexer = ir.getResult(key);
+            if (indexer == null) {
+                indexer = new VarIndexer(ir);
+                ir.storeResult(key, indexer);
+            }
+            return indexer;
+        }
+
+        private VarIndexer(IR ir) {
+            this.ir = ir;
+            ir.getVars().forEach(this::index);
+            for (Stmt stmt : ir) {
+                BitSetFact<Var> use = new BitSetFact<>(this);
+                stmt.getUses().forEach(rv -> {
+                    if (rv instanceof Var) {
+                        index((Var) rv);
+                        use.add((Var) rv);
+                    }
+                });
+                uses.add(use);
+                BitSetFact<Var> def = new BitSetFact<>(this);
+                stmt.getDef().ifPresent(lv -> {
+                    if (lv instanceof Var) {
+                        index((Var) lv);
+                        def.add((Var) lv);
+                    }
+                });
+                defs.add(def);
+            }
+        }
+
+        private void index(Var var) {
+            if (!indexes.containsKey(var)) {
+                indexes.put(var, vars.size());
+                vars.add(var);
+            }
+        }
+
+        @Override
+        public int getIndex(Var var) {
+            Integer index = indexes.get(var);
+            return index == null ? -1 : index;
+        }
+
+        @Override
+        public Var getElement(int index) {
+            return vars.get(index);
+        }
+
+        private BitSetFact<Var> getUses(Stmt stmt) {
+            return isInIR(stmt) ? uses.get(stmt.getIndex()) : empty;
+        }
+
+        private BitSetFact<Var> getDef(Stmt stmt) {
+            return isInIR(stmt) ? defs.get(stmt.getIndex()) : empty;
+        }
+
+        /**
+         * @return true if given statement is in the IR, i.e., it is not
+         * the entry or exit node of the CFG.
+         */
+        private boolean isInIR(Stmt stmt) {
+            int index = stmt.getIndex();
+            return index >= 0 && index < uses.size() && ir.getStmt(index) == stmt;
+        }
+    }
 }
@@ -13,8 +13,11 @@
 package pascal.taie.analysis.dataflow.analysis.constprop;
 
 import pascal.taie.analysis.dataflow.analysis.AbstractDataflowAnalysis;
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
 import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.analysis.graph.cfg.CFGBuilder;
 import pascal.taie.config.AnalysisConfig;
+import pascal.taie.config.ConfigException;
 import pascal.taie.ir.IR;
 import pascal.taie.ir.exp.ArithmeticExp;
 import pascal.taie.ir.exp.BinaryExp;
@@ -37,8 +40,37 @@ public class ConstantPropagation extends
 
     public static final String ID = "constprop";
 
+    /**
+     * Whether the analysis propagates values sparsely along def-use chains
+     * (see {@link SparseConstantPropagation}) instead of solving
+     * the data-flow facts of all statements.
+     */
+    private final boolean sparse;
+
     public ConstantPropagation(AnalysisConfig config) {
         super(config);
+        String algorithm = getOptions().has("algorithm") ?
+                getOptions().getString("algorithm") : "dense";
+        switch (algorithm) {
+            case "dense":
+                sparse = false;
+                break;
+            case "sccp":
+                sparse = true;
+                break;
+            default:
+                throw new ConfigException(
+                        "Unknown constant propagation algorithm: " + algorithm);
+        }
+    }
+
+    @Override
+    public DataflowResult<Stmt, CPFact> analyze(IR ir) {
+        if (sparse) {
+            CFG<Stmt> cfg = ir.getResult(CFGBuilder.ID);
+            return new SparseConstantPropagation(this, cfg).solve();
+        }
+        return super.analyze(ir);
     }
 
     @Override
@@ -0,0 +1,408 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.dataflow.analysis.constprop;
+
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.analysis.graph.cfg.Edge;
+import pascal.taie.ir.exp.Exp;
+import pascal.taie.ir.exp.LValue;
+import pascal.taie.ir.exp.RValue;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.DefinitionStmt;
+import pascal.taie.ir.stmt.If;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.ir.stmt.SwitchStmt;
+
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Sparse constant propagation in the style of sparse conditional
+ * constant propagation (SCCP).
+ *
+ * Instead of maintaining a {@link CPFact} for every statement, this solver
+ * keeps one {@link Value} per definition, and propagates values only
+ * along the def-use chains of integer variables. The def-use chains are
+ * built by one reaching-definitions pass over bit sets of definitions,
+ * so that the propagation only works on the values of the definitions.
+ * After the propagation, the complete {@link CPFact}s of the statements
+ * are built in one more pass from the reaching definitions and the values
+ * of the definitions, so that the result can be used in place of the one
+ * of dense constant propagation.
+ *
+ * In addition, only the CFG edges which may be executed are followed:
+ * an if (switch) statement whose condition (variable) is a constant only
+ * enables the matching successor (other conditions enable all successors,
+ * as in {@code DeadCodeDetection}), and the definitions in statements
+ * which are never enabled do not contribute to the values of their uses.
+ * Note that unlike SCCP on SSA form, a definition which is executable
+ * contributes to all its uses, even if it only reaches a use through
+ * non-executable edges. The facts of the statements which are never
+ * executed are empty.
+ */
+final class SparseConstantPropagation {
+
+    private final ConstantPropagation cp;
+
+    private final CFG<Stmt> cfg;
+
+    /**
+     * Integer parameters, whose values at the method entry are NAC.
+     */
+    private final Set<Var> params = Sets.newSet();
+
+    /**
+     * The statements which define integer variables, indexed by the bits
+     * of {@link #reachingDefs}. The entry node represents the definitions
+     * of the parameters (and the undefined variables).
+     */
+    private final List<Stmt> defs = new ArrayList<>();
+
+    /**
+     * The variables defined by {@link #defs}.
+     */
+    private final List<Var> defVars = new ArrayList<>();
+
+    /**
+     * The definitions which flow out of each statement.
+     */
+    private Map<Stmt, BitSet> reachingDefs;
+
+    /**
+     * Maps each statement to the reaching definitions of the integer
+     * variables it uses. The entry node represents the definitions
+     * of the parameters (and the undefined variables).
+     */
+    private final Map<Stmt, Map<Var, List<Stmt>>> useDefs = Maps.newMap();
+
+    /**
+     * Maps each definition to the statements which use it.
+     */
+    private final Map<Stmt, List<Stmt>> defUses = Maps.newMap();
+
+    /**
+     * Values of the integer variables defined by the statements.
+     */
+    private final Map<Stmt, Value> values = Maps.newMap();
+
+    private final Set<Stmt> executable = Sets.newSet();
+
+    SparseConstantPropagation(ConstantPropagation cp, CFG<Stmt> cfg) {
+        this.cp = cp;
+        this.cfg = cfg;
+        cfg.getIR().getParams()
+                .stream()
+                .filter(ConstantPropagation::canHoldInt)
+                .forEach(params::add);
+    }
+
+    DataflowResult<Stmt, CPFact> solve() {
+        buildDefUses();
+        Queue<Stmt> workList = new ArrayDeque<>();
+        markExecutable(cfg.getEntry(), workList);
+        while (!workList.isEmpty()) {
+            Stmt stmt = workList.poll();
+            if (updateValue(stmt)) {
+                defUses.getOrDefault(stmt, List.of())
+                        .stream()
+                        .filter(executable::contains)
+                        .forEach(workList::add);
+            }
+            executableSuccsOf(stmt)
+                    .forEach(succ -> markExecutable(succ, workList));
+        }
+        return buildResult();
+    }
+
+    /**
+     * Builds the facts of the statements, where each integer variable is
+     * mapped to the meet of the values of its reaching definitions.
+     */
+    private DataflowResult<Stmt, CPFact> buildResult() {
+        DataflowResult<Stmt, CPFact> result = new DataflowResult<>();
+        for (Stmt stmt : cfg) {
+            if (executable.contains(stmt)) {
+                result.setInFact(stmt,
+                        buildFact(getReachingDefsIn(stmt, reachingDefs)));
+                result.setOutFact(stmt, buildFact(reachingDefs.get(stmt)));
+            } else {
+                result.setInFact(stmt, new CPFact());
+                result.setOutFact(stmt, new CPFact());
+            }
+        }
+        return result;
+    }
+
+    private CPFact buildFact(BitSet bits) {
+        CPFact fact = new CPFact();
+        bits.stream().forEach(i -> {
+            Var var = defVars.get(i);
+            fact.update(var, cp.meetValue(fact.get(var), getValue(defs.get(i), var)));
+        });
+        return fact;
+    }
+
+    /**
+     * Builds the def-use chains of integer variables.
+     */
+    private void buildDefUses() {
+        // index the definitions of integer variables. The entry node
+        // defines each parameter and used variable, which represents
+        // the parameters (and the undefined variables).
+        Map<Stmt, Integer> defIds = Maps.newMap();
+        Map<Var, BitSet> varDefs = Maps.newMap();
+        BitSet entryDefs = new BitSet();
+        for (Stmt stmt : cfg) {
+            Var var = getDefinedVar(stmt);
+            if (var != null) {
+                defIds.put(stmt, defs.size());
+                addDef(stmt, var, varDefs);
+            }
+        }
+        params.forEach(var -> addEntryDef(var, varDefs, entryDefs));
+        for (Stmt stmt : cfg) {
+            getIntUses(stmt).forEach(var ->
+                    addEntryDef(var, varDefs, entryDefs));
+        }
+        reachingDefs = solveReachingDefs(defIds, varDefs, entryDefs);
+        for (Stmt stmt : cfg) {
+            List<Var> uses = getIntUses(stmt);
+            if (!uses.isEmpty()) {
+                BitSet in = getReachingDefsIn(stmt, reachingDefs);
+                Map<Var, List<Stmt>> useDef = Maps.newHybridMap();
+                for (Var var : uses) {
+                    BitSet bits = (BitSet) in.clone();
+                    bits.and(varDefs.get(var));
+                    List<Stmt> reaching = new ArrayList<>(bits.cardinality());
+                    bits.stream().mapToObj(defs::get).forEach(reaching::add);
+                    useDef.put(var, reaching);
+                    reaching.forEach(def -> defUses.computeIfAbsent(
+                            def, d -> new ArrayList<>()).add(stmt));
+                }
+                useDefs.put(stmt, useDef);
+            }
+        }
+    }
+
+    private void addDef(Stmt stmt, Var var, Map<Var, BitSet> varDefs) {
+        varDefs.computeIfAbsent(var, v -> new BitSet()).set(defs.size());
+        defs.add(stmt);
+        defVars.add(var);
+    }
+
+    private void addEntryDef(Var var, Map<Var, BitSet> varDefs, BitSet entryDefs) {
+        BitSet bits = varDefs.get(var);
+        if (bits == null || !bits.intersects(entryDefs)) {
+            entryDefs.set(defs.size());
+            addDef(cfg.getEntry(), var, varDefs);
+        }
+    }
+
+    /**
+     * @return the distinct integer variables used by given statement.
+     */
+    private static List<Var> getIntUses(Stmt stmt) {
+        List<Var> vars = new ArrayList<>(2);
+        for (RValue use : stmt.getUses()) {
+            if (use instanceof Var && ConstantPropagation.canHoldInt((Var) use)
+                    && !vars.contains(use)) {
+                vars.add((Var) use);
+            }
+        }
+        return vars;
+    }
+
+    /**
+     * Computes the reaching definitions of the integer variables by
+     * a work-list algorithm on bit sets of definition indexes.
+     *
+     * @param defIds    indexes of the statements which define integer variables
+     * @param varDefs   indexes of the definitions of each variable
+     * @param entryDefs indexes of the definitions at the entry node
+     * @return the definitions which flow out of each statement.
+     */
+    private Map<Stmt, BitSet> solveReachingDefs(
+            Map<Stmt, Integer> defIds, Map<Var, BitSet> varDefs, BitSet entryDefs) {
+        Map<Stmt, BitSet> outs = Maps.newMap();
+        Queue<Stmt> workList = new ArrayDeque<>();
+        for (Stmt stmt : cfg) {
+            outs.put(stmt, new BitSet());
+            workList.add(stmt);
+        }
+        Set<Stmt> inWorkList = Sets.newSet();
+        inWorkList.addAll(workList);
+        while (!workList.isEmpty()) {
+            Stmt stmt = workList.poll();
+            inWorkList.remove(stmt);
+            BitSet out;
+            if (cfg.isEntry(stmt)) {
+                out = entryDefs;
+            } else {
+                out = getReachingDefsIn(stmt, outs);
+                Var var = getDefinedVar(stmt);
+                if (var != null) {
+                    out.andNot(varDefs.get(var));
+                    out.set(defIds.get(stmt));
+                }
+            }
+            if (!out.equals(outs.get(stmt))) {
+                outs.put(stmt, out);
+                cfg.succsOf(stmt)
+                        .filter(inWorkList::add)
+                        .forEach(workList::add);
+            }
+        }
+        return outs;
+    }
+
+    /**
+     * @return the definitions which flow into given statement, i.e.,
+     * the union of the definitions flowing out of its predecessors.
+     */
+    private BitSet getReachingDefsIn(Stmt stmt, Map<Stmt, BitSet> outs) {
+        BitSet in = new BitSet();
+        cfg.predsOf(stmt).forEach(pred -> in.or(outs.get(pred)));
+        return in;
+    }
+
+    private void markExecutable(Stmt stmt, Queue<Stmt> workList) {
+        if (executable.add(stmt)) {
+            workList.add(stmt);
+        }
+    }
+
+    /**
+     * Re-evaluates the integer variable defined by given statement.
+     *
+     * @return true if the value of the variable is changed, otherwise false.
+     */
+    private boolean updateValue(Stmt stmt) {
+        Var var = getDefinedVar(stmt);
+        if (var == null) {
+            return false;
+        }
+        Value oldValue = getDefValue(stmt);
+        // meet with the old value, so that the values only move
+        // downward in the lattice
+        Value newValue = cp.meetValue(oldValue,
+                evaluate(stmt, ((DefinitionStmt<?, ?>) stmt).getRValue()));
+        if (!newValue.equals(oldValue)) {
+            values.put(stmt, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the successors of given statement which may be executed.
+     */
+    private Stream<Stmt> executableSuccsOf(Stmt stmt) {
+        Stream<Edge<Stmt>> edges = cfg.outEdgesOf(stmt);
+        if (stmt instanceof If) {
+            Value cond = evaluate(stmt, ((If) stmt).getCondition());
+            if (cond.isConstant()) {
+                Edge.Kind kind = cond.getConstant() == 1 ?
+                        Edge.Kind.IF_TRUE : Edge.Kind.IF_FALSE;
+                edges = edges.filter(edge -> edge.getKind() == kind);
+            }
+        } else if (stmt instanceof SwitchStmt) {
+            Value value = getInValue(stmt, ((SwitchStmt) stmt).getVar());
+            if (value.isConstant()) {
+                int c = value.getConstant();
+                boolean matched = cfg.outEdgesOf(stmt).anyMatch(edge ->
+                        edge.isSwitchCase() && edge.getCaseValue() == c);
+                edges = edges.filter(edge -> matched ?
+                        edge.isSwitchCase() && edge.getCaseValue() == c :
+                        edge.getKind() == Edge.Kind.SWITCH_DEFAULT);
+            }
+        }
+        return edges.map(Edge::getTarget);
+    }
+
+    /**
+     * Evaluates given expression with the values of the variables
+     * flowing into given statement.
+     */
+    private Value evaluate(Stmt stmt, Exp exp) {
+        return ConstantPropagation.evaluate(exp, getUseFact(stmt));
+    }
+
+    /**
+     * @return a fact which only contains the values of the integer
+     * variables used by given statement, for evaluating its expressions.
+     */
+    private CPFact getUseFact(Stmt stmt) {
+        CPFact fact = new CPFact();
+        if (executable.contains(stmt)) {
+            useDefs.getOrDefault(stmt, Map.of())
+                    .keySet()
+                    .forEach(var -> fact.update(var, getInValue(stmt, var)));
+        }
+        return fact;
+    }
+
+    /**
+     * @return the value of given variable flowing into given statement,
+     * i.e., the meet of the values of its executable reaching definitions.
+     */
+    private Value getInValue(Stmt stmt, Var var) {
+        Value value = Value.getUndef();
+        for (Stmt def : useDefs.getOrDefault(stmt, Map.of())
+                .getOrDefault(var, List.of())) {
+            value = cp.meetValue(value, getValue(def, var));
+        }
+        return value;
+    }
+
+    /**
+     * @return the value of given variable defined by given definition,
+     * which is undefined if the definition is never executed.
+     */
+    private Value getValue(Stmt def, Var var) {
+        if (cfg.isEntry(def)) {
+            return params.contains(var) ? Value.getNAC() : Value.getUndef();
+        }
+        return executable.contains(def) ? getDefValue(def) : Value.getUndef();
+    }
+
+    /**
+     * @return the value of the integer variable defined by given statement.
+     */
+    private Value getDefValue(Stmt stmt) {
+        return values.getOrDefault(stmt, Value.getUndef());
+    }
+
+    /**
+     * @return the integer variable defined by given statement, or null
+     * if the statement does not define such variable.
+     */
+    private static Var getDefinedVar(Stmt stmt) {
+        if (stmt instanceof DefinitionStmt) {
+            LValue lhs = ((DefinitionStmt<?, ?>) stmt).getLValue();
+            if (lhs instanceof Var && ConstantPropagation.canHoldInt((Var) lhs)) {
+                return (Var) lhs;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.fact;
+
+import pascal.taie.util.Strings;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link SetLikeFact} represented by a bit vector over the dense indexes
+ * of the elements, which are given by an {@link Indexer}. Set operations
+ * between facts of the same indexer are performed word by word in place,
+ * and report whether this fact changed without copying it.
+ *
+ * <p>This fact is equal to any {@link SetLikeFact} with the same elements,
+ * and it should only be combined with the facts of the same indexer.
+ *
+ * @param <E> type of elements
+ */
+public class BitSetFact<E> implements SetLikeFact<E> {
+
+    private static final long[] EMPTY_WORDS = {};
+
+    private final Indexer<E> indexer;
+
+    /**
+     * The bit vector, whose length only covers the highest set bit
+     * (or less), i.e., the facts of sparse elements are small.
+     */
+    private long[] words;
+
+    public BitSetFact(Indexer<E> indexer) {
+        this.indexer = indexer;
+        this.words = EMPTY_WORDS;
+    }
+
+    private BitSetFact(Indexer<E> indexer, long[] words) {
+        this.indexer = indexer;
+        this.words = words;
+    }
+
+    /**
+     * @return the indexer of the elements of this fact.
+     */
+    public Indexer<E> getIndexer() {
+        return indexer;
+    }
+
+    @Override
+    public boolean contains(E e) {
+        int index = e == null ? -1 : indexer.getIndex(e);
+        return index >= 0 && index >>> 6 < words.length &&
+                (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        int index = indexOf(e);
+        ensureCapacity((index >>> 6) + 1);
+        long old = words[index >>> 6];
+        words[index >>> 6] = old | (1L << index);
+        return old != words[index >>> 6];
+    }
+
+    @Override
+    public boolean remove(E e) {
+        int index = e == null ? -1 : indexer.getIndex(e);
+        if (index < 0 || index >>> 6 >= words.length) {
+            return false;
+        }
+        long old = words[index >>> 6];
+        words[index >>> 6] = old & ~(1L << index);
+        return old != words[index >>> 6];
+    }
+
+    /**
+     * Removes all the elements of this fact that satisfy the given predicate.
+     *
+     * @return true if any elements were removed as a result of the call,
+     * otherwise false.
+     */
+    public boolean removeIf(Predicate<E> filter) {
+        boolean changed = false;
+        for (E e : elements()) {
+            if (filter.test(e)) {
+                changed |= remove(e);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean union(SetLikeFact<E> other) {
+        if (!(other instanceof BitSetFact)) {
+            return other.stream()
+                    .map(this::add)
+                    .reduce(false, Boolean::logicalOr);
+        }
+        long[] otherWords = ((BitSetFact<E>) other).words;
+        ensureCapacity(otherWords.length);
+        boolean changed = false;
+        for (int i = 0; i < otherWords.length; ++i) {
+            long old = words[i];
+            words[i] = old | otherWords[i];
+            changed |= old != words[i];
+        }
+        return changed;
+    }
+
+    /**
+     * @return a new fact which is the union of this and other facts.
+     */
+    public BitSetFact<E> unionWith(SetLikeFact<E> other) {
+        BitSetFact<E> result = copy();
+        result.union(other);
+        return result;
+    }
+
+    /**
+     * Intersects this fact with other fact.
+     *
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    public boolean intersect(SetLikeFact<E> other) {
+        if (!(other instanceof BitSetFact)) {
+            return removeIf(e -> !other.contains(e));
+        }
+        long[] otherWords = ((BitSetFact<E>) other).words;
+        boolean changed = false;
+        for (int i = 0; i < words.length; ++i) {
+            long old = words[i];
+            words[i] = i < otherWords.length ? old & otherWords[i] : 0;
+            changed |= old != words[i];
+        }
+        return changed;
+    }
+
+    /**
+     * @return a new fact which is the intersection of this and other facts.
+     */
+    public BitSetFact<E> intersectWith(SetLikeFact<E> other) {
+        BitSetFact<E> result = copy();
+        result.intersect(other);
+        return result;
+    }
+
+    /**
+     * Removes the elements of other fact from this fact.
+     *
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    public boolean difference(SetLikeFact<E> other) {
+        if (!(other instanceof BitSetFact)) {
+            return removeIf(other::contains);
+        }
+        long[] otherWords = ((BitSetFact<E>) other).words;
+        boolean changed = false;
+        for (int i = 0; i < Math.min(words.length, otherWords.length); ++i) {
+            long old = words[i];
+            words[i] = old & ~otherWords[i];
+            changed |= old != words[i];
+        }
+        return changed;
+    }
+
+    /**
+     * Sets the content of this fact to {@code gen + (source - kill)},
+     * i.e., the result of a gen/kill transfer function, in one pass.
+     *
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    public boolean setGenKill(BitSetFact<E> source,
+                              BitSetFact<E> gen, BitSetFact<E> kill) {
+        int length = Math.max(source.words.length, gen.words.length);
+        ensureCapacity(length);
+        boolean changed = false;
+        for (int i = 0; i < words.length; ++i) {
+            long word = i < source.words.length ? source.words[i] : 0;
+            if (i < kill.words.length) {
+                word &= ~kill.words[i];
+            }
+            if (i < gen.words.length) {
+                word |= gen.words[i];
+            }
+            changed |= word != words[i];
+            words[i] = word;
+        }
+        return changed;
+    }
+
+    @Override
+    public void set(SetLikeFact<E> other) {
+        if (other instanceof BitSetFact) {
+            long[] otherWords = ((BitSetFact<E>) other).words;
+            ensureCapacity(otherWords.length);
+            System.arraycopy(otherWords, 0, words, 0, otherWords.length);
+            Arrays.fill(words, otherWords.length, words.length, 0);
+        } else {
+            clear();
+            union(other);
+        }
+    }
+
+    @Override
+    public BitSetFact<E> copy() {
+        return new BitSetFact<>(indexer, words.clone());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return indexes().mapToObj(indexer::getElement);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    private IntStream indexes() {
+        return IntStream.range(0, words.length)
+                .flatMap(i -> {
+                    IntStream.Builder builder = IntStream.builder();
+                    for (long word = words[i]; word != 0; word &= word - 1) {
+                        builder.add((i << 6) + Long.numberOfTrailingZeros(word));
+                    }
+                    return builder.build();
+                });
+    }
+
+    private List<E> elements() {
+        return stream().collect(Collectors.toList());
+    }
+
+    private int indexOf(E e) {
+        int index = indexer.getIndex(e);
+        if (index < 0) {
+            throw new IllegalArgumentException(e + " is not indexed");
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int length) {
+        if (words.length < length) {
+            words = Arrays.copyOf(words, length);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BitSetFact)) {
+            return o instanceof SetLikeFact &&
+                    SetLikeFact.sameElements(this, (SetLikeFact<?>) o);
+        }
+        long[] otherWords = ((BitSetFact<?>) o).words;
+        for (int i = 0; i < Math.max(words.length, otherWords.length); ++i) {
+            long word = i < words.length ? words[i] : 0;
+            long otherWord = i < otherWords.length ? otherWords[i] : 0;
+            if (word != otherWord) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with the hash code of other SetLikeFacts
+        return stream().mapToInt(Object::hashCode).sum();
+    }
+
+    @Override
+    public String toString() {
+        return Strings.toString(elements());
+    }
+}
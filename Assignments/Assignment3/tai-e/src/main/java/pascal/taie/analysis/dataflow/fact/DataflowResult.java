@@ -23,9 +23,15 @@ import java.util.Map;
  */
 public class DataflowResult<Node, Fact> implements NodeResult<Node, Fact> {
 
-    private final Map<Node, Fact> inFacts = new LinkedHashMap<>();
+    /**
+     * The flowing-in facts stored in this result.
+     */
+    protected final Map<Node, Fact> inFacts = new LinkedHashMap<>();
 
-    private final Map<Node, Fact> outFacts = new LinkedHashMap<>();
+    /**
+     * The flowing-out facts stored in this result.
+     */
+    protected final Map<Node, Fact> outFacts = new LinkedHashMap<>();
 
     /**
      * @return the flowing-in fact of given node.
@@ -26,7 +26,7 @@ import java.util.stream.Stream;
  *
  * @param <E> type of elements
  */
-public class SetFact<E> {
+public class SetFact<E> implements SetLikeFact<E> {
 
     protected final Set<E> set;
 
@@ -41,6 +41,7 @@ public class SetFact<E> {
     /**
      * @return true if this set contains the specified element, otherwise false.
      */
+    @Override
     public boolean contains(E e) {
         return set.contains(e);
     }
@@ -50,6 +51,7 @@ public class SetFact<E> {
      *
      * @return true if this fact changed as a result of the call, otherwise false.
      */
+    @Override
     public boolean add(E e) {
         return set.add(e);
     }
@@ -59,6 +61,7 @@ public class SetFact<E> {
      *
      * @return true if an element was removed as a result of the call, otherwise false.
      */
+    @Override
     public boolean remove(E e) {
         return set.remove(e);
     }
@@ -78,14 +81,22 @@ public class SetFact<E> {
      *
      * @return true if this fact changed as a result of the call, otherwise false.
      */
-    public boolean union(SetFact<E> other) {
-        return set.addAll(other.set);
+    @Override
+    public boolean union(SetLikeFact<E> other) {
+        if (other instanceof SetFact) {
+            return set.addAll(((SetFact<E>) other).set);
+        }
+        boolean changed = false;
+        for (E e : (Iterable<E>) other.stream()::iterator) {
+            changed |= set.add(e);
+        }
+        return changed;
     }
 
     /**
      * @return a new fact which is the union of this and other facts.
      */
-    public SetFact<E> unionWith(SetFact<E> other) {
+    public SetFact<E> unionWith(SetLikeFact<E> other) {
         SetFact<E> result = copy();
         result.union(other);
         return result;
@@ -96,14 +107,16 @@ public class SetFact<E> {
      *
      * @return true if this fact changed as a result of the call, otherwise false.
      */
-    public boolean intersect(SetFact<E> other) {
-        return set.retainAll(other.set);
+    public boolean intersect(SetLikeFact<E> other) {
+        return other instanceof SetFact ?
+                set.retainAll(((SetFact<E>) other).set) :
+                set.removeIf(e -> !other.contains(e));
     }
 
     /**
      * @return a new fact which is the intersection of this and other facts.
      */
-    public SetFact<E> intersectWith(SetFact<E> other) {
+    public SetFact<E> intersectWith(SetLikeFact<E> other) {
         SetFact<E> result = copy();
         result.intersect(other);
         return result;
@@ -112,7 +125,8 @@ public class SetFact<E> {
     /**
      * Sets the content of this set to the same as other set.
      */
-    public void set(SetFact<E> other) {
+    @Override
+    public void set(SetLikeFact<E> other) {
         clear();
         union(other);
     }
@@ -120,6 +134,7 @@ public class SetFact<E> {
     /**
      * Creates and returns a copy of this fact.
      */
+    @Override
     public SetFact<E> copy() {
         return new SetFact<>(this.set);
     }
@@ -127,18 +142,22 @@ public class SetFact<E> {
     /**
      * Clears all content in this fact.
      */
+    @Override
     public void clear() {
         set.clear();
     }
 
+    @Override
     public boolean isEmpty() {
         return set.isEmpty();
     }
 
+    @Override
     public Stream<E> stream() {
         return set.stream();
     }
 
+    @Override
     public int size() {
         return set.size();
     }
@@ -148,11 +167,10 @@ public class SetFact<E> {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof SetFact)) {
-            return false;
+        if (o instanceof SetFact) {
+            return set.equals(((SetFact<?>) o).set);
         }
-        SetFact<?> that = (SetFact<?>) o;
-        return set.equals(that.set);
+        return o instanceof SetLikeFact && SetLikeFact.sameElements(this, (SetLikeFact<?>) o);
     }
 
     @Override
@@ -0,0 +1,82 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.dataflow.fact;
+
+import java.util.stream.Stream;
+
+/**
+ * Set-like data-flow facts, e.g., {@link SetFact} and {@link BitSetFact}.
+ * Facts of different implementations can be combined, and they are equal
+ * if they contain the same elements. The hash code of a fact is the sum
+ * of the hash codes of its elements, as for {@link java.util.Set}.
+ *
+ * @param <E> type of elements
+ */
+public interface SetLikeFact<E> {
+
+    /**
+     * @return true if this fact contains the specified element, otherwise false.
+     */
+    boolean contains(E e);
+
+    /**
+     * Adds an element to this fact.
+     *
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    boolean add(E e);
+
+    /**
+     * Removes an element from this fact.
+     *
+     * @return true if an element was removed as a result of the call, otherwise false.
+     */
+    boolean remove(E e);
+
+    /**
+     * Unions other fact into this fact.
+     *
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    boolean union(SetLikeFact<E> other);
+
+    /**
+     * Sets the content of this fact to the same as other fact.
+     */
+    void set(SetLikeFact<E> other);
+
+    /**
+     * Creates and returns a copy of this fact.
+     */
+    SetLikeFact<E> copy();
+
+    /**
+     * Clears all content in this fact.
+     */
+    void clear();
+
+    boolean isEmpty();
+
+    Stream<E> stream();
+
+    int size();
+
+    /**
+     * @return true if given facts contain the same elements, otherwise false.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean sameElements(SetLikeFact<?> f1, SetLikeFact<?> f2) {
+        SetLikeFact<Object> f = (SetLikeFact<Object>) f2;
+        return f1.size() == f2.size() && f1.stream().allMatch(f::contains);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.fact;
+
+import pascal.taie.analysis.dataflow.analysis.DataflowAnalysis;
+import pascal.taie.analysis.graph.cfg.BasicBlock;
+import pascal.taie.analysis.graph.cfg.BlockCFG;
+import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.util.collection.Maps;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link DataflowResult} which only stores the facts at the boundaries
+ * of basic blocks (see {@link BlockCFG}).
+ *
+ * It stores the IN fact of the first node and the OUT fact of the last
+ * node of each block. The other facts are recomputed on demand by
+ * replaying the node transfer functions of the whole block from its start
+ * (its end for backward analysis). The facts of the block replayed last
+ * are kept, so a sweep over the nodes of the blocks replays each block
+ * once, i.e., costs linear time in total. Replayed blocks can also be kept
+ * in a bounded FIFO cache, for repeated queries that alternate between
+ * blocks.
+ *
+ * The result can be created from the block-level result of
+ * {@link pascal.taie.analysis.dataflow.solver.BlockSolver}, which only
+ * keeps block-boundary facts during the solving, so that the facts of
+ * the inner nodes are never materialized together. It can also compact
+ * a complete node-level result, which only shrinks the retained memory.
+ *
+ * Queries do not lock: each replay builds its own facts and publishes
+ * them as a whole, so concurrent readers at worst replay a block twice.
+ *
+ * The facts returned by this result should not be modified.
+ *
+ * @param <Node> type of nodes
+ * @param <Fact> type of data-flow facts
+ */
+public class SparseDataflowResult<Node, Fact> extends DataflowResult<Node, Fact> {
+
+    private final DataflowAnalysis<Node, Fact> analysis;
+
+    private final CFG<Node> cfg;
+
+    /**
+     * Maximum number of replayed blocks to be cached.
+     */
+    private final int cacheSize;
+
+    /**
+     * Cache of the replayed facts, or null if the cache is disabled.
+     */
+    private final Map<Node, Fact> cache;
+
+    /**
+     * Replayed blocks in the cache, in the order of insertion.
+     */
+    private final Queue<Map<Node, Fact>> cachedBlocks;
+
+    /**
+     * Facts flowing out of the inner nodes of the block replayed last.
+     */
+    private volatile Map<Node, Fact> lastBlock = Map.of();
+
+    /**
+     * Creates a sparse result which keeps the block-boundary facts
+     * of given (complete) result.
+     *
+     * @param analysis  the analysis which computes the result
+     * @param cfg       the CFG on which the result is computed
+     * @param result    the complete result to be compacted
+     * @param cacheSize maximum number of replayed blocks to be cached,
+     *                  0 to disable the cache
+     */
+    public SparseDataflowResult(DataflowAnalysis<Node, Fact> analysis,
+                                CFG<Node> cfg, DataflowResult<Node, Fact> result,
+                                int cacheSize) {
+        this(analysis, cfg, cacheSize);
+        for (BasicBlock<Node> block : BlockCFG.of(cfg)) {
+            inFacts.put(block.getFirst(), result.getInFact(block.getFirst()));
+            outFacts.put(block.getLast(), result.getOutFact(block.getLast()));
+        }
+    }
+
+    /**
+     * Creates a sparse result from the result on the basic blocks of a CFG.
+     *
+     * @param analysis    the analysis which computes the result
+     * @param cfg         the CFG on which the result is computed
+     * @param blockCFG    the block CFG of {@code cfg}
+     * @param blockResult the result on the blocks of {@code blockCFG}
+     * @param cacheSize   maximum number of replayed blocks to be cached,
+     *                    0 to disable the cache
+     */
+    public SparseDataflowResult(DataflowAnalysis<Node, Fact> analysis,
+                                CFG<Node> cfg, BlockCFG<Node> blockCFG,
+                                DataflowResult<BasicBlock<Node>, Fact> blockResult,
+                                int cacheSize) {
+        this(analysis, cfg, cacheSize);
+        for (BasicBlock<Node> block : blockCFG) {
+            inFacts.put(block.getFirst(), blockResult.getInFact(block));
+            outFacts.put(block.getLast(), blockResult.getOutFact(block));
+        }
+    }
+
+    private SparseDataflowResult(DataflowAnalysis<Node, Fact> analysis,
+                                 CFG<Node> cfg, int cacheSize) {
+        this.analysis = analysis;
+        this.cfg = cfg;
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize <= 0 ? null : new ConcurrentHashMap<>();
+        this.cachedBlocks = cacheSize <= 0 ? null : new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public Fact getInFact(Node node) {
+        return analysis.isForward() ? getBefore(node) : getAfter(node);
+    }
+
+    @Override
+    public Fact getOutFact(Node node) {
+        return analysis.isForward() ? getAfter(node) : getBefore(node);
+    }
+
+    /**
+     * @return the fact flowing into given node along the analysis
+     * direction, i.e., IN fact for forward analysis and OUT fact
+     * for backward analysis.
+     */
+    private Fact getBefore(Node node) {
+        if (getBefores().containsKey(node)) {
+            return getBefores().get(node);
+        }
+        // the fact flowing into a node inside a block is the one
+        // flowing out of the previous node in the block
+        return getAfter(getPrev(node));
+    }
+
+    /**
+     * @return the fact flowing out of given node along the analysis
+     * direction, i.e., OUT fact for forward analysis and IN fact
+     * for backward analysis.
+     */
+    private Fact getAfter(Node node) {
+        Fact fact = getStoredAfter(node);
+        return fact != null ? fact : replay(node);
+    }
+
+    private Fact getStoredAfter(Node node) {
+        Fact fact = getAfters().get(node);
+        if (fact == null) {
+            fact = lastBlock.get(node);
+        }
+        if (fact == null && cache != null) {
+            fact = cache.get(node);
+        }
+        return fact;
+    }
+
+    /**
+     * Recomputes the facts flowing out of the nodes of the block
+     * containing given node, by replaying the transfer functions
+     * from the start of the block.
+     *
+     * @return the fact flowing out of given node.
+     */
+    private Fact replay(Node node) {
+        Node first = node;
+        while (!getBefores().containsKey(first)) {
+            first = getPrev(first);
+        }
+        Map<Node, Fact> facts = Maps.newMap();
+        Fact fact = getBefores().get(first);
+        // the fact flowing out of the last node of the block is stored
+        for (Node n = first; !getAfters().containsKey(n); n = getNext(n)) {
+            Fact after = analysis.newInitialFact(cfg);
+            if (analysis.isForward()) {
+                analysis.transferNode(n, fact, after);
+            } else {
+                analysis.transferNode(n, after, fact);
+            }
+            facts.put(n, after);
+            fact = after;
+        }
+        lastBlock = facts;
+        if (cache != null) {
+            cache.putAll(facts);
+            cachedBlocks.add(facts);
+            while (cachedBlocks.size() > cacheSize) {
+                Map<Node, Fact> evicted = cachedBlocks.poll();
+                if (evicted != null) {
+                    cache.keySet().removeAll(evicted.keySet());
+                }
+            }
+        }
+        return facts.get(node);
+    }
+
+    /**
+     * @return the previous node of given node (which is not the first node
+     * along the analysis direction) in its block, i.e., its only
+     * predecessor (successor for backward analysis).
+     */
+    private Node getPrev(Node node) {
+        return (analysis.isForward() ? cfg.predsOf(node) : cfg.succsOf(node))
+                .findFirst()
+                .get();
+    }
+
+    /**
+     * @return the next node of given node (which is not the last node
+     * along the analysis direction) in its block, i.e., its only
+     * successor (predecessor for backward analysis).
+     */
+    private Node getNext(Node node) {
+        return (analysis.isForward() ? cfg.succsOf(node) : cfg.predsOf(node))
+                .findFirst()
+                .get();
+    }
+
+    /**
+     * @return the stored facts flowing into the nodes along
+     * the analysis direction.
+     */
+    private Map<Node, Fact> getBefores() {
+        return analysis.isForward() ? inFacts : outFacts;
+    }
+
+    /**
+     * @return the stored facts flowing out of the nodes along
+     * the analysis direction.
+     */
+    private Map<Node, Fact> getAfters() {
+        return analysis.isForward() ? outFacts : inFacts;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.solver;
+
+import pascal.taie.analysis.dataflow.analysis.DataflowAnalysis;
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.dataflow.fact.SparseDataflowResult;
+import pascal.taie.analysis.graph.cfg.BasicBlock;
+import pascal.taie.analysis.graph.cfg.BlockCFG;
+import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.analysis.graph.cfg.Edge;
+
+import java.util.List;
+
+/**
+ * Solver which solves data-flow problems on the basic blocks of CFGs,
+ * so that the work-list only holds blocks instead of individual nodes,
+ * and only the facts at block boundaries are kept during the solving.
+ * The transfer function of a block is the composition of the transfer
+ * functions of its nodes. After the fixed point is reached, the results
+ * are expanded to nodes by applying node transfer functions once more,
+ * or kept at the block boundaries by {@link #solveSparse}.
+ *
+ * This class does not solve data-flow problems by itself, instead, it lifts
+ * the analysis to blocks and delegates the solving to a {@link Solver}
+ * created by {@link Solver#makeSolver(DataflowAnalysis, String)}.
+ *
+ * @param <Node> type of CFG nodes
+ * @param <Fact> type of data-flow facts
+ */
+public class BlockSolver<Node, Fact> {
+
+    private final DataflowAnalysis<Node, Fact> analysis;
+
+    /**
+     * Order of the work-list of the solver for blocks.
+     */
+    private final String workList;
+
+    /**
+     * @param workList order of the work-list of the solver for blocks,
+     *                 see {@link Solver#makeSolver(DataflowAnalysis, String)}
+     */
+    public BlockSolver(DataflowAnalysis<Node, Fact> analysis, String workList) {
+        this.analysis = analysis;
+        this.workList = workList;
+    }
+
+    /**
+     * Starts this solver on the given CFG.
+     *
+     * @param cfg control-flow graph where the analysis is performed on
+     * @return the analysis result on the nodes of the CFG
+     */
+    public DataflowResult<Node, Fact> solve(CFG<Node> cfg) {
+        BlockCFG<Node> blockCFG = BlockCFG.of(cfg);
+        DataflowResult<BasicBlock<Node>, Fact> blockResult =
+                solveBlocks(cfg, blockCFG);
+        DataflowResult<Node, Fact> result = new DataflowResult<>();
+        for (BasicBlock<Node> block : blockCFG) {
+            if (analysis.isForward()) {
+                expandForward(cfg, block, blockResult, result);
+            } else {
+                expandBackward(cfg, block, blockResult, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Starts this solver on the given CFG, without expanding the results
+     * to nodes, so that only the facts at block boundaries are ever kept.
+     *
+     * @param cfg       control-flow graph where the analysis is performed on
+     * @param cacheSize see {@link SparseDataflowResult}
+     * @return the analysis result which recomputes the facts of the nodes
+     * inside blocks on demand
+     */
+    public SparseDataflowResult<Node, Fact> solveSparse(CFG<Node> cfg, int cacheSize) {
+        BlockCFG<Node> blockCFG = BlockCFG.of(cfg);
+        return new SparseDataflowResult<>(analysis, cfg, blockCFG,
+                solveBlocks(cfg, blockCFG), cacheSize);
+    }
+
+    private DataflowResult<BasicBlock<Node>, Fact> solveBlocks(
+            CFG<Node> cfg, BlockCFG<Node> blockCFG) {
+        return Solver.makeSolver(new BlockAnalysis<>(analysis, cfg), workList)
+                .solve(blockCFG);
+    }
+
+    private void expandForward(CFG<Node> cfg, BasicBlock<Node> block,
+                               DataflowResult<BasicBlock<Node>, Fact> blockResult,
+                               DataflowResult<Node, Fact> result) {
+        List<Node> nodes = block.getNodes();
+        Fact fact = blockResult.getInFact(block);
+        for (int i = 0; i < nodes.size() - 1; ++i) {
+            Node node = nodes.get(i);
+            result.setInFact(node, fact);
+            Fact out = analysis.newInitialFact(cfg);
+            analysis.transferNode(node, fact, out);
+            result.setOutFact(node, out);
+            fact = out;
+        }
+        result.setInFact(block.getLast(), fact);
+        result.setOutFact(block.getLast(), blockResult.getOutFact(block));
+    }
+
+    private void expandBackward(CFG<Node> cfg, BasicBlock<Node> block,
+                                DataflowResult<BasicBlock<Node>, Fact> blockResult,
+                                DataflowResult<Node, Fact> result) {
+        List<Node> nodes = block.getNodes();
+        Fact fact = blockResult.getOutFact(block);
+        for (int i = nodes.size() - 1; i > 0; --i) {
+            Node node = nodes.get(i);
+            result.setOutFact(node, fact);
+            Fact in = analysis.newInitialFact(cfg);
+            analysis.transferNode(node, in, fact);
+            result.setInFact(node, in);
+            fact = in;
+        }
+        result.setOutFact(block.getFirst(), fact);
+        result.setInFact(block.getFirst(), blockResult.getInFact(block));
+    }
+
+    /**
+     * Data-flow analysis on basic blocks, which lifts the analysis
+     * on the nodes of given CFG.
+     */
+    private static class BlockAnalysis<Node, Fact>
+            implements DataflowAnalysis<BasicBlock<Node>, Fact> {
+
+        private final DataflowAnalysis<Node, Fact> analysis;
+
+        private final CFG<Node> cfg;
+
+        private BlockAnalysis(DataflowAnalysis<Node, Fact> analysis, CFG<Node> cfg) {
+            this.analysis = analysis;
+            this.cfg = cfg;
+        }
+
+        @Override
+        public boolean isForward() {
+            return analysis.isForward();
+        }
+
+        @Override
+        public Fact newBoundaryFact(CFG<BasicBlock<Node>> blockCFG) {
+            return analysis.newBoundaryFact(cfg);
+        }
+
+        @Override
+        public Fact newInitialFact() {
+            return analysis.newInitialFact();
+        }
+
+        @Override
+        public Fact newInitialFact(CFG<BasicBlock<Node>> blockCFG) {
+            return analysis.newInitialFact(cfg);
+        }
+
+        @Override
+        public void meetInto(Fact fact, Fact target) {
+            analysis.meetInto(fact, target);
+        }
+
+        /**
+         * Applies the transfer functions of the nodes in the block one
+         * after another. The intermediate facts are discarded, and only
+         * the last transfer updates the given out (in) fact.
+         */
+        @Override
+        public boolean transferNode(BasicBlock<Node> block, Fact in, Fact out) {
+            List<Node> nodes = block.getNodes();
+            if (analysis.isForward()) {
+                Fact fact = in;
+                for (int i = 0; i < nodes.size() - 1; ++i) {
+                    Fact next = analysis.newInitialFact(cfg);
+                    analysis.transferNode(nodes.get(i), fact, next);
+                    fact = next;
+                }
+                return analysis.transferNode(block.getLast(), fact, out);
+            } else {
+                Fact fact = out;
+                for (int i = nodes.size() - 1; i > 0; --i) {
+                    Fact prev = analysis.newInitialFact(cfg);
+                    analysis.transferNode(nodes.get(i), prev, fact);
+                    fact = prev;
+                }
+                return analysis.transferNode(block.getFirst(), in, fact);
+            }
+        }
+
+        @Override
+        public boolean needTransferEdge(Edge<BasicBlock<Node>> edge) {
+            return false;
+        }
+
+        @Override
+        public Fact transferEdge(Edge<BasicBlock<Node>> edge, Fact nodeFact) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.solver;
+
+import pascal.taie.analysis.dataflow.analysis.DataflowAnalysis;
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Work-list solver which always picks the node that comes first in
+ * reverse postorder (for forward analysis) or postorder (for backward
+ * analysis) of the CFG. In this order, a node is usually processed after
+ * its predecessors (successors for backward analysis), so that the facts
+ * flowing into loops are stable before the loop bodies are iterated,
+ * which takes fewer transfers to reach the fixed point than FIFO order.
+ */
+class PriorityWorkListSolver<Node, Fact> extends Solver<Node, Fact> {
+
+    PriorityWorkListSolver(DataflowAnalysis<Node, Fact> analysis) {
+        super(analysis);
+    }
+
+    @Override
+    protected int doSolveForward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
+        WorkList<Node> workList = new WorkList<>(cfg, true);
+        int transfers = 0;
+        while (!workList.isEmpty()) {
+            Node node = workList.poll();
+            Fact in = result.getInFact(node);
+            cfg.predsOf(node).forEach(pred ->
+                    analysis.meetInto(result.getOutFact(pred), in));
+            ++transfers;
+            if (analysis.transferNode(node, in, result.getOutFact(node))) {
+                cfg.succsOf(node).forEach(workList::add);
+            }
+        }
+        return transfers;
+    }
+
+    @Override
+    protected int doSolveBackward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
+        WorkList<Node> workList = new WorkList<>(cfg, false);
+        int transfers = 0;
+        while (!workList.isEmpty()) {
+            Node node = workList.poll();
+            if (cfg.isExit(node)) {
+                continue;
+            }
+            Fact out = result.getOutFact(node);
+            if (out == null) {
+                out = analysis.newInitialFact(cfg);
+                result.setOutFact(node, out);
+            }
+            Fact target = out;
+            cfg.succsOf(node).forEach(succ ->
+                    analysis.meetInto(result.getInFact(succ), target));
+            ++transfers;
+            if (analysis.transferNode(node, result.getInFact(node), out)) {
+                cfg.predsOf(node).forEach(workList::add);
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * Priority queue of CFG nodes, where the priority of a node is its
+     * position in the order. As the positions are dense, the queue is
+     * represented by a bit set of the positions of in-queue nodes,
+     * which also de-duplicates the nodes.
+     */
+    private static class WorkList<Node> {
+
+        /**
+         * Nodes sorted by priority.
+         */
+        private final List<Node> nodes;
+
+        private final Map<Node, Integer> positions;
+
+        private final BitSet queued;
+
+        /**
+         * Lower bound of positions of in-queue nodes.
+         */
+        private int head = 0;
+
+        /**
+         * Creates a work-list containing all nodes of the CFG.
+         *
+         * @param reverse whether order the nodes by reverse postorder
+         *                or postorder
+         */
+        private WorkList(CFG<Node> cfg, boolean reverse) {
+            nodes = postorder(cfg);
+            if (reverse) {
+                Collections.reverse(nodes);
+            }
+            positions = Maps.newMap();
+            for (int i = 0; i < nodes.size(); ++i) {
+                positions.put(nodes.get(i), i);
+            }
+            queued = new BitSet(nodes.size());
+            queued.set(0, nodes.size());
+        }
+
+        /**
+         * @return the nodes of the CFG in postorder of depth-first
+         * traversal from the entry. The nodes unreachable from the entry
+         * are traversed afterwards, so that they are also included.
+         */
+        private static <Node> List<Node> postorder(CFG<Node> cfg) {
+            List<Node> postorder = new ArrayList<>();
+            Set<Node> visited = Sets.newSet();
+            Deque<Node> stack = new ArrayDeque<>();
+            Deque<Iterator<Node>> succs = new ArrayDeque<>();
+            List<Node> roots = new ArrayList<>();
+            roots.add(cfg.getEntry());
+            cfg.forEach(roots::add);
+            for (Node root : roots) {
+                if (!visited.add(root)) {
+                    continue;
+                }
+                stack.push(root);
+                succs.push(cfg.succsOf(root).iterator());
+                while (!stack.isEmpty()) {
+                    Iterator<Node> it = succs.peek();
+                    if (it.hasNext()) {
+                        Node succ = it.next();
+                        if (visited.add(succ)) {
+                            stack.push(succ);
+                            succs.push(cfg.succsOf(succ).iterator());
+                        }
+                    } else {
+                        postorder.add(stack.pop());
+                        succs.pop();
+                    }
+                }
+            }
+            return postorder;
+        }
+
+        private void add(Node node) {
+            int pos = positions.get(node);
+            queued.set(pos);
+            head = Math.min(head, pos);
+        }
+
+        private boolean isEmpty() {
+            return queued.isEmpty();
+        }
+
+        private Node poll() {
+            int pos = queued.nextSetBit(head);
+            queued.clear(pos);
+            head = pos + 1;
+            return nodes.get(pos);
+        }
+    }
+}
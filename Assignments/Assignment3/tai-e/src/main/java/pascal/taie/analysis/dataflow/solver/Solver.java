@@ -12,9 +12,12 @@
 
 package pascal.taie.analysis.dataflow.solver;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.dataflow.analysis.DataflowAnalysis;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
 import pascal.taie.analysis.graph.cfg.CFG;
+import pascal.taie.config.ConfigException;
 
 /**
  * Base class for data-flow analysis solver, which provides common
@@ -25,6 +28,8 @@ import pascal.taie.analysis.graph.cfg.CFG;
  */
 public abstract class Solver<Node, Fact> {
 
+    private static final Logger logger = LogManager.getLogger(Solver.class);
+
     protected final DataflowAnalysis<Node, Fact> analysis;
 
     protected Solver(DataflowAnalysis<Node, Fact> analysis) {
@@ -39,6 +44,25 @@ public abstract class Solver<Node, Fact> {
         return new WorkListSolver<>(analysis);
     }
 
+    /**
+     * Static factory method to create a new solver for given analysis,
+     * whose work-list processes nodes in given order.
+     *
+     * @param workList "fifo" for insertion order, or "rpo" for reverse
+     *                 postorder (postorder for backward analysis)
+     */
+    public static <Node, Fact> Solver<Node, Fact> makeSolver(
+            DataflowAnalysis<Node, Fact> analysis, String workList) {
+        switch (workList) {
+            case "fifo":
+                return new WorkListSolver<>(analysis);
+            case "rpo":
+                return new PriorityWorkListSolver<>(analysis);
+            default:
+                throw new ConfigException("Unknown work-list: " + workList);
+        }
+    }
+
     /**
      * Starts this solver on the given CFG.
      *
@@ -47,7 +71,8 @@ public abstract class Solver<Node, Fact> {
      */
     public DataflowResult<Node, Fact> solve(CFG<Node> cfg) {
         DataflowResult<Node, Fact> result = initialize(cfg);
-        doSolve(cfg, result);
+        int transfers = doSolve(cfg, result);
+        logger.debug("{} node transfers for {}", transfers, cfg.getMethod());
         return result;
     }
 
@@ -71,9 +96,9 @@ public abstract class Solver<Node, Fact> {
         result.setOutFact(cfg.getEntry(), analysis.newBoundaryFact(cfg));
         for(Node node:cfg){
             if(!cfg.isEntry(node)){
-                result.setOutFact(node, analysis.newInitialFact());
+                result.setOutFact(node, analysis.newInitialFact(cfg));
             }
-            result.setInFact(node, analysis.newInitialFact());
+            result.setInFact(node, analysis.newInitialFact(cfg));
         }
     }
 
@@ -82,23 +107,25 @@ public abstract class Solver<Node, Fact> {
         result.setInFact(cfg.getExit(),analysis.newBoundaryFact(cfg));
         for(Node node:cfg){
             if(!cfg.isExit(node)){
-                result.setInFact(node, analysis.newInitialFact());
+                result.setInFact(node, analysis.newInitialFact(cfg));
             }
         }
     }
 
     /**
      * Solves the data-flow problem for given CFG.
+     *
+     * @return the number of node transfers performed
      */
-    private void doSolve(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
+    private int doSolve(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
         if (analysis.isForward()) {
-            doSolveForward(cfg, result);
+            return doSolveForward(cfg, result);
         } else {
-            doSolveBackward(cfg, result);
+            return doSolveBackward(cfg, result);
         }
     }
 
-    protected abstract void doSolveForward(CFG<Node> cfg, DataflowResult<Node, Fact> result);
+    protected abstract int doSolveForward(CFG<Node> cfg, DataflowResult<Node, Fact> result);
 
-    protected abstract void doSolveBackward(CFG<Node> cfg, DataflowResult<Node, Fact> result);
+    protected abstract int doSolveBackward(CFG<Node> cfg, DataflowResult<Node, Fact> result);
 }
@@ -26,26 +26,29 @@ class WorkListSolver<Node, Fact> extends Solver<Node, Fact> {
     }
 
     @Override
-    protected void doSolveForward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
+    protected int doSolveForward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
         // TODO - finish me
         Queue<Node> workList=new LinkedList<>();
         for(Node node:cfg){
             workList.add(node);
         }
+        int transfers=0;
         while(!workList.isEmpty()){
             Node node=workList.remove();
             cfg.predsOf(node).forEach(pred->{
                 analysis.meetInto(result.getOutFact(pred),result.getInFact(node));
             });
+            ++transfers;
             boolean change=analysis.transferNode(node,result.getInFact(node),result.getOutFact(node));
             if(change){
                 cfg.succsOf(node).forEach(workList::add);
             }
         }
+        return transfers;
     }
 
     @Override
-    protected void doSolveBackward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
+    protected int doSolveBackward(CFG<Node> cfg, DataflowResult<Node, Fact> result) {
         // TODO - finish me
        /* boolean stop;
         do{
@@ -69,22 +72,24 @@ class WorkListSolver<Node, Fact> extends Solver<Node, Fact> {
         for(Node node:cfg){
             workList.add(node);
         }
+        int transfers=0;
         while(!workList.isEmpty()){
             Node node=workList.remove();
             if(!cfg.isExit(node)){
                 if(result.getOutFact(node)==null){
-                    result.setOutFact(node, analysis.newInitialFact());
+                    result.setOutFact(node, analysis.newInitialFact(cfg));
                 }
                 cfg.succsOf(node).forEach(succ->{
                     analysis.meetInto(result.getInFact(succ),result.getOutFact(node));
                 });
-                boolean notChange=analysis.transferNode(node,result.getInFact(node),result.getOutFact(node));
-                if(!notChange){
+                ++transfers;
+                boolean change=analysis.transferNode(node,result.getInFact(node),result.getOutFact(node));
+                if(change){
                     cfg.predsOf(node).forEach(workList::add);
                 }
             }
 
         }
-
+        return transfers;
     }
 }
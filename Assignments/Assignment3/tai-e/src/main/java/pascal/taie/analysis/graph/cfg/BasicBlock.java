@@ -0,0 +1,132 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.graph.cfg;
+
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+import pascal.taie.util.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Representation of a basic block, i.e., a maximal sequence of graph
+ * nodes where each node but the first one has only one predecessor,
+ * which is the previous node, and each node but the last one has only
+ * one successor, which is the next node.
+ *
+ * @param <N> type of graph nodes
+ */
+public class BasicBlock<N> {
+
+    private final int index;
+
+    private final List<N> nodes;
+
+    private BasicBlock(int index, List<N> nodes) {
+        this.index = index;
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Partitions the nodes of given graph into basic blocks.
+     *
+     * @param graph   the graph to be partitioned
+     * @param canLink whether the source and target of an edge can be
+     *                in the same block, provided that the edge is the only
+     *                outgoing edge of the source and the only incoming
+     *                edge of the target
+     * @return the blocks, whose indexes are their positions in the list
+     */
+    public static <N> List<BasicBlock<N>> build(
+            Graph<N> graph, BiPredicate<N, N> canLink) {
+        // links each node to its next node in the same block
+        Map<N, N> nextOf = Maps.newMap();
+        Set<N> linked = Sets.newSet();
+        for (N node : graph) {
+            List<N> succs = graph.succsOf(node).collect(Collectors.toList());
+            if (succs.size() == 1) {
+                N succ = succs.get(0);
+                if (succ != node && graph.predsOf(succ).count() == 1
+                        && canLink.test(node, succ)) {
+                    nextOf.put(node, succ);
+                    linked.add(succ);
+                }
+            }
+        }
+        List<BasicBlock<N>> blocks = new ArrayList<>();
+        Set<N> visited = Sets.newSet();
+        for (N node : graph) {
+            if (!linked.contains(node)) {
+                addBlock(blocks, node, nextOf, visited);
+            }
+        }
+        // the remaining nodes are on cycles of linked nodes, which are
+        // unreachable from the other nodes; each cycle is cut at an
+        // arbitrary node to form a block.
+        for (N node : graph) {
+            if (!visited.contains(node)) {
+                addBlock(blocks, node, nextOf, visited);
+            }
+        }
+        return blocks;
+    }
+
+    private static <N> void addBlock(List<BasicBlock<N>> blocks, N first,
+                                     Map<N, N> nextOf, Set<N> visited) {
+        List<N> nodes = new ArrayList<>();
+        for (N node = first; node != null && visited.add(node);
+             node = nextOf.get(node)) {
+            nodes.add(node);
+        }
+        blocks.add(new BasicBlock<>(blocks.size(), nodes));
+    }
+
+    /**
+     * @return the index of this block in the graph.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the nodes of this block in execution order.
+     */
+    public List<N> getNodes() {
+        return nodes;
+    }
+
+    public N getFirst() {
+        return nodes.get(0);
+    }
+
+    public N getLast() {
+        return nodes.get(nodes.size() - 1);
+    }
+
+    /**
+     * @return the number of nodes of this block.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public String toString() {
+        return "B" + index + nodes;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.graph.cfg;
+
+import pascal.taie.ir.IR;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.type.ClassType;
+import pascal.taie.util.collection.Maps;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Control-flow graph of the basic blocks of a method, which is built
+ * from the CFG of the method.
+ *
+ * @param <N> type of the nodes of the underlying CFG
+ */
+public class BlockCFG<N> implements CFG<BasicBlock<N>> {
+
+    private final CFG<N> cfg;
+
+    private final List<BasicBlock<N>> blocks;
+
+    private final Map<N, BasicBlock<N>> blockOf = Maps.newMap();
+
+    private BlockCFG(CFG<N> cfg) {
+        this.cfg = cfg;
+        // entry and exit are always in blocks of their own,
+        // as they hold the boundary facts of data-flow analyses
+        this.blocks = BasicBlock.build(cfg, (source, target) ->
+                !cfg.isEntry(source) && !cfg.isExit(source) &&
+                        !cfg.isEntry(target) && !cfg.isExit(target));
+        for (BasicBlock<N> block : blocks) {
+            block.getNodes().forEach(node -> blockOf.put(node, block));
+        }
+    }
+
+    /**
+     * @return the block CFG of given CFG, which is built once
+     * and stored in the IR of the CFG.
+     */
+    public static <N> BlockCFG<N> of(CFG<N> cfg) {
+        String key = BlockCFG.class.getName();
+        BlockCFG<N> blockCFG = cfg.getIR().getResult(key);
+        if (blockCFG == null || blockCFG.cfg != cfg) {
+            blockCFG = new BlockCFG<>(cfg);
+            cfg.getIR().storeResult(key, blockCFG);
+        }
+        return blockCFG;
+    }
+
+    /**
+     * @return the underlying CFG.
+     */
+    public CFG<N> getCFG() {
+        return cfg;
+    }
+
+    /**
+     * @return the block containing given node of the underlying CFG.
+     */
+    public BasicBlock<N> getBlockOf(N node) {
+        return blockOf.get(node);
+    }
+
+    @Override
+    public IR getIR() {
+        return cfg.getIR();
+    }
+
+    @Override
+    public JMethod getMethod() {
+        return cfg.getMethod();
+    }
+
+    @Override
+    public BasicBlock<N> getEntry() {
+        return getBlockOf(cfg.getEntry());
+    }
+
+    @Override
+    public BasicBlock<N> getExit() {
+        return getBlockOf(cfg.getExit());
+    }
+
+    @Override
+    public boolean isEntry(BasicBlock<N> block) {
+        return block == getEntry();
+    }
+
+    @Override
+    public boolean isExit(BasicBlock<N> block) {
+        return block == getExit();
+    }
+
+    @Override
+    public boolean hasNode(BasicBlock<N> block) {
+        return block.getIndex() < blocks.size() &&
+                blocks.get(block.getIndex()) == block;
+    }
+
+    @Override
+    public boolean hasEdge(BasicBlock<N> source, BasicBlock<N> target) {
+        return cfg.hasEdge(source.getLast(), target.getFirst());
+    }
+
+    @Override
+    public Stream<BasicBlock<N>> predsOf(BasicBlock<N> block) {
+        return cfg.predsOf(block.getFirst()).map(this::getBlockOf);
+    }
+
+    @Override
+    public Stream<BasicBlock<N>> succsOf(BasicBlock<N> block) {
+        return cfg.succsOf(block.getLast()).map(this::getBlockOf);
+    }
+
+    @Override
+    public Stream<Edge<BasicBlock<N>>> inEdgesOf(BasicBlock<N> block) {
+        return cfg.inEdgesOf(block.getFirst())
+                .map(edge -> new BlockEdge<>(edge, getBlockOf(edge.getSource()), block));
+    }
+
+    @Override
+    public Stream<Edge<BasicBlock<N>>> outEdgesOf(BasicBlock<N> block) {
+        return cfg.outEdgesOf(block.getLast())
+                .map(edge -> new BlockEdge<>(edge, block, getBlockOf(edge.getTarget())));
+    }
+
+    @Override
+    public Stream<BasicBlock<N>> nodes() {
+        return blocks.stream();
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return blocks.size();
+    }
+
+    /**
+     * Edge between two blocks, which corresponds to the edge from
+     * the last node of the source block to the first node of
+     * the target block.
+     */
+    private static class BlockEdge<N> extends Edge<BasicBlock<N>> {
+
+        private final Edge<N> edge;
+
+        private BlockEdge(Edge<N> edge, BasicBlock<N> source, BasicBlock<N> target) {
+            super(edge.getKind(), source, target);
+            this.edge = edge;
+        }
+
+        @Override
+        public int getCaseValue() {
+            return edge.getCaseValue();
+        }
+
+        @Override
+        public Stream<ClassType> exceptions() {
+            return edge.exceptions();
+        }
+    }
+}
@@ -12,8 +12,22 @@
 
 package pascal.taie.analysis.dataflow.analysis;
 
+import org.junit.Assert;
 import org.junit.Test;
+import pascal.taie.World;
+import pascal.taie.analysis.IntraproceduralScheduler;
 import pascal.taie.analysis.Tests;
+import pascal.taie.analysis.dataflow.analysis.constprop.ConstantPropagation;
+import pascal.taie.config.AnalysisConfig;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class DeadCodeTest {
 
@@ -46,4 +60,79 @@ public class DeadCodeTest {
     public void testLoops() {
         testDCD("Loops");
     }
+
+    @Test
+    public void testDeadAssignmentBitSet() {
+        Tests.testDFA("DeadAssignment", "src/test/resources/dataflow/deadcode/",
+                DeadCodeDetection.ID, "-a", "livevar=bit-set:true");
+    }
+
+    @Test
+    public void testLoopsPriorityWorkList() {
+        Tests.testDFA("Loops", "src/test/resources/dataflow/deadcode/",
+                DeadCodeDetection.ID,
+                "-a", "constprop=worklist:rpo", "-a", "livevar=worklist:rpo");
+    }
+
+    @Test
+    public void testBasicBlocks() {
+        for (String input : new String[]{ "ControlFlowUnreachable", "Loops" }) {
+            Tests.testDFA(input, "src/test/resources/dataflow/deadcode/",
+                    DeadCodeDetection.ID,
+                    "-a", "constprop=basic-blocks:true",
+                    "-a", "livevar=basic-blocks:true;worklist:rpo");
+        }
+    }
+
+    @Test
+    public void testSparseResult() {
+        for (String input : new String[]{ "Loops", "UnreachableSwitchBranch" }) {
+            Tests.testDFA(input, "src/test/resources/dataflow/deadcode/",
+                    DeadCodeDetection.ID,
+                    "-a", "constprop=sparse-result:true",
+                    "-a", "livevar=sparse-result:true;sparse-result-cache:8");
+        }
+    }
+
+    @Test
+    public void testSparseBlockResult() {
+        for (String input : new String[]{ "ControlFlowUnreachable", "Loops" }) {
+            Tests.testDFA(input, "src/test/resources/dataflow/deadcode/",
+                    DeadCodeDetection.ID,
+                    "-a", "constprop=basic-blocks:true;sparse-result:true",
+                    "-a", "livevar=basic-blocks:true;sparse-result:true;sparse-result-cache:8");
+        }
+    }
+
+    @Test
+    public void testSparseConstantPropagation() {
+        for (String input : new String[]{ "ControlFlowUnreachable",
+                "UnreachableIfBranch", "UnreachableSwitchBranch", "Loops" }) {
+            Tests.testDFA(input, "src/test/resources/dataflow/deadcode/",
+                    DeadCodeDetection.ID, "-a", "constprop=algorithm:sccp");
+        }
+    }
+
+    @Test
+    public void testParallelScheduler() {
+        for (String input : new String[]{ "ControlFlowUnreachable", "Loops" }) {
+            Tests.testDFA(input, "src/test/resources/dataflow/deadcode/",
+                    DeadCodeDetection.ID);
+            List<IR> irs = World.getClassHierarchy()
+                    .applicationClasses()
+                    .flatMap(c -> c.getDeclaredMethods().stream())
+                    .filter(m -> !m.isAbstract() && !m.isNative())
+                    .map(JMethod::getIR)
+                    .collect(Collectors.toList());
+            Map<IR, Set<Stmt>> expected = irs.stream().collect(Collectors.toMap(
+                    Function.identity(), ir -> ir.getResult(DeadCodeDetection.ID)));
+            new IntraproceduralScheduler(List.of(
+                    new ConstantPropagation(new AnalysisConfig(ConstantPropagation.ID)),
+                    new LiveVariableAnalysis(new AnalysisConfig(LiveVariableAnalysis.ID)),
+                    new DeadCodeDetection(new AnalysisConfig(DeadCodeDetection.ID))),
+                    4).run(irs);
+            irs.forEach(ir -> Assert.assertEquals(expected.get(ir),
+                    ir.getResult(DeadCodeDetection.ID)));
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.dataflow.fact;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class BitSetFactTest {
+
+    private static final List<String> ELEMENTS = List.of("a", "b", "c");
+
+    private static final Indexer<String> INDEXER = new Indexer<>() {
+        @Override
+        public int getIndex(String e) {
+            return ELEMENTS.indexOf(e);
+        }
+
+        @Override
+        public String getElement(int index) {
+            return ELEMENTS.get(index);
+        }
+    };
+
+    @Test
+    public void testEqualsSetFact() {
+        BitSetFact<String> bits = new BitSetFact<>(INDEXER);
+        bits.add("a");
+        bits.add("c");
+        SetFact<String> set = new SetFact<>(List.of("a", "c"));
+        assertEquals(set, bits);
+        assertEquals(bits, set);
+        assertEquals(set.hashCode(), bits.hashCode());
+        set.add("b");
+        assertNotEquals(set, bits);
+        assertNotEquals(bits, set);
+    }
+
+    @Test
+    public void testSetFactOperations() {
+        BitSetFact<String> bits = new BitSetFact<>(INDEXER);
+        bits.add("a");
+        bits.add("c");
+        SetFact<String> union = new SetFact<>();
+        union.union(bits);
+        assertEquals(bits, union);
+        SetFact<String> intersection = new SetFact<>(ELEMENTS);
+        intersection.intersect(bits);
+        assertEquals(bits, intersection);
+    }
+}
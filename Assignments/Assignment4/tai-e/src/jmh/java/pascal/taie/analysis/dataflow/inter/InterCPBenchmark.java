@@ -0,0 +1,80 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.inter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.graph.callgraph.CallGraphBuilder;
+import pascal.taie.analysis.graph.icfg.ICFGBuilder;
+
+import java.lang.ref.Reference;
+
+/**
+ * Benchmark of {@link InterConstantPropagation} solved by {@link InterSolver}
+ * and its variants.
+ * The call graph and ICFG are built in the set-up, so that only
+ * the solving phase is measured; see {@code CHABenchmark} for
+ * the call graph construction phase. The memory footprint of
+ * the result is printed when setting up the trial.
+ */
+@State(Scope.Benchmark)
+public class InterCPBenchmark {
+
+    @Param("src/test/resources/dataflow/constprop/inter")
+    public String classPath;
+
+    @Param({"Example", "Fibonacci", "MultiIntArgs", "Reference",
+            "generated:1000", "generated:10000", "long-method:10000"})
+    public String main;
+
+    /**
+     * Whether the facts are {@code ArrayCPFact}s or hash-map based ones.
+     */
+    @Param({"false", "true"})
+    public boolean arrayFact;
+
+    /**
+     * The solver: "node" for {@link InterSolver}, or "basic-blocks" for
+     * {@link BlockInterSolver}.
+     */
+    @Param({"node", "basic-blocks"})
+    public String solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main,
+                CallGraphBuilder.ID + "=algorithm:cha;action:null",
+                ICFGBuilder.ID + "=dump:false");
+        long base = Benchmarks.usedMemory();
+        Object result = interConstantPropagation();
+        long withResult = Benchmarks.usedMemory();
+        System.out.printf("%nResult of %s with %s facts by %s solver: %d KB%n",
+                main, arrayFact ? "array" : "map", solver,
+                (withResult - base) / 1024);
+        // keeps the result reachable until it is measured
+        Reference.reachabilityFence(result);
+    }
+
+    @Benchmark
+    public Object interConstantPropagation() {
+        return new InterConstantPropagation(Benchmarks.config(
+                InterConstantPropagation.ID,
+                "edge-refine", false, "alias-aware", false,
+                "array-fact", arrayFact,
+                "basic-blocks", solver.equals("basic-blocks"))).analyze();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.graph.callgraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.function.Consumer;
+
+/**
+ * Benchmark of call graph queries on {@link DefaultCallGraph} and
+ * {@link CompactCallGraph}. The memory footprints of both call graphs
+ * are printed when setting up the trial, and the allocation of
+ * the queries is reported by the gc profiler.
+ */
+@State(Scope.Benchmark)
+public class CallGraphBenchmark {
+
+    @Param("src/test/resources/cha")
+    public String classPath;
+
+    @Param({"VirtualCall", "generated:10000", "generated:100000"})
+    public String main;
+
+    private CallGraph<Invoke, JMethod> defaultCallGraph;
+
+    private CompactCallGraph<Invoke, JMethod> compactCallGraph;
+
+    private Invoke[] callSites;
+
+    private JMethod[] methods;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main,
+                CallGraphBuilder.ID + "=algorithm:cha;action:null");
+        long base = Benchmarks.usedMemory();
+        defaultCallGraph = new CHABuilder().build();
+        long withDefault = Benchmarks.usedMemory();
+        compactCallGraph = new CompactCallGraph<>(defaultCallGraph);
+        long withCompact = Benchmarks.usedMemory();
+        System.out.printf("%nCall graph of %s: %d methods, %d edges, " +
+                        "default %d KB, compact %d KB%n", main,
+                defaultCallGraph.getNumberOfMethods(),
+                defaultCallGraph.getNumberOfEdges(),
+                (withDefault - base) / 1024, (withCompact - withDefault) / 1024);
+        methods = defaultCallGraph.reachableMethods().toArray(JMethod[]::new);
+        callSites = defaultCallGraph.reachableMethods()
+                .flatMap(defaultCallGraph::callSitesIn)
+                .toArray(Invoke[]::new);
+    }
+
+    @Benchmark
+    public void calleesOfDefault(Blackhole bh) {
+        for (Invoke callSite : callSites) {
+            defaultCallGraph.calleesOf(callSite).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void calleesOfCompact(Blackhole bh) {
+        for (Invoke callSite : callSites) {
+            compactCallGraph.calleesOf(callSite).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void forEachCalleeCompact(Blackhole bh) {
+        Consumer<Object> sink = bh::consume;
+        for (Invoke callSite : callSites) {
+            compactCallGraph.forEachCallee(callSite, sink);
+        }
+    }
+
+    @Benchmark
+    public void callersOfDefault(Blackhole bh) {
+        for (JMethod method : methods) {
+            defaultCallGraph.callersOf(method).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void callersOfCompact(Blackhole bh) {
+        for (JMethod method : methods) {
+            compactCallGraph.callersOf(method).forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void forEachCallerCompact(Blackhole bh) {
+        Consumer<Object> sink = bh::consume;
+        for (JMethod method : methods) {
+            compactCallGraph.forEachCaller(method, sink);
+        }
+    }
+}
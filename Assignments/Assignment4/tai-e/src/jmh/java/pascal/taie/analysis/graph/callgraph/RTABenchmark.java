@@ -0,0 +1,48 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.graph.callgraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
+
+/**
+ * Benchmark of call graph construction by {@link RTABuilder},
+ * to be compared with {@link CHABenchmark}.
+ */
+@State(Scope.Benchmark)
+public class RTABenchmark {
+
+    @Param("src/test/resources/cha")
+    public String classPath;
+
+    @Param({"AbstractMethod", "Interface", "StaticCall", "VirtualCall",
+            "generated:1000", "generated:10000"})
+    public String main;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main,
+                CallGraphBuilder.ID + "=algorithm:rta;action:null");
+    }
+
+    @Benchmark
+    public CallGraph<Invoke, JMethod> buildCallGraph() {
+        return new RTABuilder().build();
+    }
+}
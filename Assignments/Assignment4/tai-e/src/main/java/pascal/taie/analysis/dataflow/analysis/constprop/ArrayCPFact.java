@@ -0,0 +1,332 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.analysis.constprop;
+
+import pascal.taie.analysis.dataflow.fact.Indexer;
+import pascal.taie.analysis.dataflow.fact.MapFact;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.util.AnalysisException;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link CPFact} stored as an array of {@link Value}s, indexed by
+ * dense ids of the variables of a method.
+ *
+ * A fact is bound to the variables of one method, and the method is
+ * decided by the first variable put into the fact, so that the facts
+ * created without knowing their method (e.g., the initial facts of
+ * interprocedural analyses) are also supported. As in {@link CPFact},
+ * UNDEF is represented by absence, i.e., a null element of the array.
+ *
+ * Copying a fact is an array copy, and {@link #copyFrom(MapFact)} and
+ * {@link #meet(ArrayCPFact, BinaryOperator)} are element-wise loops
+ * which detect changes while updating the elements.
+ */
+public class ArrayCPFact extends CPFact {
+
+    private static final Value[] EMPTY = new Value[0];
+
+    /**
+     * Indexer of the variables of the method this fact is bound to,
+     * or null if no variable has been put into this fact.
+     */
+    private VarIndexer indexer;
+
+    private Value[] values;
+
+    public ArrayCPFact() {
+        this(null, EMPTY);
+    }
+
+    private ArrayCPFact(VarIndexer indexer, Value[] values) {
+        this.indexer = indexer;
+        this.values = values;
+    }
+
+    @Override
+    public Value get(Var key) {
+        int i = indexOf(key);
+        return i >= 0 && i < values.length && values[i] != null ?
+                values[i] : Value.getUndef();
+    }
+
+    @Override
+    public boolean update(Var key, Value value) {
+        if (value.isUndef()) {
+            return remove(key) != null;
+        }
+        bind(VarIndexer.of(key));
+        int i = indexer.index(key);
+        ensureCapacity(i + 1);
+        Value old = values[i];
+        values[i] = value;
+        return !value.equals(old);
+    }
+
+    @Override
+    public Value remove(Var key) {
+        int i = indexOf(key);
+        if (i < 0 || i >= values.length) {
+            return null;
+        }
+        Value old = values[i];
+        values[i] = null;
+        return old;
+    }
+
+    @Override
+    public boolean copyFrom(MapFact<Var, Value> fact) {
+        if (!(fact instanceof ArrayCPFact)) {
+            boolean[] changed = { false };
+            fact.forEach((var, value) -> changed[0] |= update(var, value));
+            return changed[0];
+        }
+        ArrayCPFact other = (ArrayCPFact) fact;
+        if (other.indexer == null) {
+            return false;
+        }
+        bind(other.indexer);
+        Value[] src = other.values;
+        ensureCapacity(src.length);
+        boolean changed = false;
+        for (int i = 0; i < src.length; ++i) {
+            Value value = src[i];
+            if (value != null && !value.equals(values[i])) {
+                values[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Meets given fact into this fact element by element.
+     *
+     * @param fact the fact to be met into this fact
+     * @param meet the meet operator of two values
+     * @return true if this fact changed as a result of the call, otherwise false.
+     */
+    public boolean meet(ArrayCPFact fact, BinaryOperator<Value> meet) {
+        if (fact.indexer == null) {
+            return false;
+        }
+        bind(fact.indexer);
+        Value[] src = fact.values;
+        ensureCapacity(src.length);
+        boolean changed = false;
+        for (int i = 0; i < src.length; ++i) {
+            if (src[i] != null) {
+                Value old = values[i];
+                // meeting a non-UNDEF value never results in UNDEF
+                Value value = meet.apply(src[i],
+                        old != null ? old : Value.getUndef());
+                if (!value.equals(old)) {
+                    values[i] = value;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public ArrayCPFact copy() {
+        return new ArrayCPFact(indexer,
+                values.length == 0 ? EMPTY : values.clone());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+    }
+
+    /**
+     * @return the variables contained in this fact. Different from
+     * {@link MapFact#keySet()}, the resulting set is not backed by this fact.
+     */
+    @Override
+    public Set<Var> keySet() {
+        Set<Var> keys = Sets.newSet();
+        forEach((var, value) -> keys.add(var));
+        return keys;
+    }
+
+    @Override
+    public Stream<Map.Entry<Var, Value>> entries() {
+        return IntStream.range(0, values.length)
+                .filter(i -> values[i] != null)
+                .mapToObj(i -> Map.entry(indexer.getElement(i), values[i]));
+    }
+
+    @Override
+    public void forEach(BiConsumer<Var, Value> action) {
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                action.accept(indexer.getElement(i), values[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ArrayCPFact)) {
+            return false;
+        }
+        ArrayCPFact that = (ArrayCPFact) o;
+        if (indexer != that.indexer && indexer != null && that.indexer != null) {
+            // facts of different methods are equal only if both are empty
+            return isEmpty() && that.isEmpty();
+        }
+        int length = Math.max(values.length, that.values.length);
+        for (int i = 0; i < length; ++i) {
+            Value v1 = i < values.length ? values[i] : null;
+            Value v2 = i < that.values.length ? that.values[i] : null;
+            if (v1 == null ? v2 != null : !v1.equals(v2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as the hash code of a map with the same mappings
+        int h = 0;
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                h += indexer.getElement(i).hashCode() ^ values[i].hashCode();
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "{" + entries()
+                .sorted(Comparator.comparing(e -> e.getKey().toString()))
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(", ")) + "}";
+    }
+
+    private boolean isEmpty() {
+        for (Value value : values) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return index of given variable in this fact,
+     * or -1 if the variable is absent in this fact.
+     */
+    private int indexOf(Var var) {
+        return indexer == null ? -1 : indexer.getIndex(var);
+    }
+
+    /**
+     * Binds this fact to the method of given indexer.
+     */
+    private void bind(VarIndexer indexer) {
+        if (this.indexer == null) {
+            this.indexer = indexer;
+        } else if (this.indexer != indexer) {
+            throw new AnalysisException("Cannot put variables of " +
+                    indexer.ir.getMethod() + " into a fact of " +
+                    this.indexer.ir.getMethod());
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (values.length < capacity) {
+            values = Arrays.copyOf(values,
+                    Math.max(capacity, indexer.size()));
+        }
+    }
+
+    /**
+     * Indexes the variables of a method. The variables not returned
+     * by {@link IR#getVars()} are indexed when they are first put
+     * into a fact.
+     */
+    private static class VarIndexer implements Indexer<Var> {
+
+        private final IR ir;
+
+        private final List<Var> vars = new ArrayList<>();
+
+        private final Map<Var, Integer> indexes = Maps.newMap();
+
+        /**
+         * @return the indexer of the method containing given variable,
+         * which is created once and stored in the IR of the method.
+         */
+        private static VarIndexer of(Var var) {
+            IR ir = var.getMethod().getIR();
+            String key = VarIndexer.class.getName();
+            VarIndexer indexer = ir.getResult(key);
+            if (indexer == null) {
+                indexer = new VarIndexer(ir);
+                ir.storeResult(key, indexer);
+            }
+            return indexer;
+        }
+
+        private VarIndexer(IR ir) {
+            this.ir = ir;
+            ir.getVars().forEach(this::index);
+        }
+
+        private int index(Var var) {
+            Integer i = indexes.get(var);
+            if (i == null) {
+                i = vars.size();
+                vars.add(var);
+                indexes.put(var, i);
+            }
+            return i;
+        }
+
+        private int size() {
+            return vars.size();
+        }
+
+        @Override
+        public int getIndex(Var var) {
+            Integer i = indexes.get(var);
+            return i != null ? i : -1;
+        }
+
+        @Override
+        public Var getElement(int index) {
+            return vars.get(index);
+        }
+    }
+}
@@ -37,8 +37,14 @@ public class ConstantPropagation extends
 
     public static final String ID = "constprop";
 
+    /**
+     * Whether the facts are {@link ArrayCPFact}s.
+     */
+    private final boolean arrayFact;
+
     public ConstantPropagation(AnalysisConfig config) {
         super(config);
+        arrayFact = getOptions().has("array-fact") && getOptions().getBoolean("array-fact");
     }
 
     @Override
@@ -50,7 +56,7 @@ public class ConstantPropagation extends
     public CPFact newBoundaryFact(CFG<Stmt> cfg) {
         // TODO - finish me
         //return null;
-        CPFact cpFact=new CPFact();
+        CPFact cpFact=newInitialFact();
         for(Var var:cfg.getMethod().getIR().getParams()){
             if(canHoldInt(var)){
                 cpFact.update(var,Value.getNAC());
@@ -63,12 +69,16 @@ public class ConstantPropagation extends
     public CPFact newInitialFact() {
         // TODO - finish me
         //return null;
-        return new CPFact();
+        return arrayFact ? new ArrayCPFact() : new CPFact();
     }
 
     @Override
     public void meetInto(CPFact fact, CPFact target) {
         // TODO - finish me
+        if (fact instanceof ArrayCPFact && target instanceof ArrayCPFact) {
+            ((ArrayCPFact) target).meet((ArrayCPFact) fact, this::meetValue);
+            return;
+        }
         for(Var var:fact.keySet()){
             target.update(var,meetValue(fact.get(var),target.get(var)));
         }
@@ -0,0 +1,30 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.fact;
+
+/**
+ * Maps elements to dense indexes (starting from 0) and back.
+ *
+ * @param <E> type of elements
+ */
+public interface Indexer<E> {
+
+    /**
+     * @return index of given element, or -1 if the element is not indexed.
+     */
+    int getIndex(E e);
+
+    /**
+     * @return the element of given index.
+     */
+    E getElement(int index);
+}
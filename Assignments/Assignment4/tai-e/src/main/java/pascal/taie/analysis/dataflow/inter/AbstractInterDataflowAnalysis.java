@@ -36,7 +36,7 @@ public abstract class AbstractInterDataflowAnalysis<Method, Node, Fact>
 
     protected ICFG<Method, Node> icfg;
 
-    protected InterSolver<Method, Node, Fact> solver;
+    protected InterDataflowSolver<Method, Node, Fact> solver;
 
     public AbstractInterDataflowAnalysis(AnalysisConfig config) {
         super(config);
@@ -95,7 +95,10 @@ public abstract class AbstractInterDataflowAnalysis<Method, Node, Fact>
     @Override
     public Object analyze() {
         icfg = World.getResult(ICFGBuilder.ID);
-        solver = new InterSolver<>(this, icfg);
+        solver = getOptions().has("basic-blocks") &&
+                getOptions().getBoolean("basic-blocks") ?
+                new BlockInterSolver<>(this, icfg) :
+                new InterSolver<>(this, icfg);
         return solver.solve();
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.inter;
+
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+import pascal.taie.analysis.graph.cfg.BasicBlock;
+import pascal.taie.analysis.graph.icfg.ICFG;
+import pascal.taie.analysis.graph.icfg.ICFGEdge;
+import pascal.taie.analysis.graph.icfg.NormalEdge;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Solver for inter-procedural data-flow analysis which runs on the basic
+ * blocks of the ICFG, i.e., the maximal sequences of nodes connected by
+ * normal edges (see {@link BasicBlock}), so that the work-list only holds
+ * blocks, and only the facts at block boundaries are kept during the
+ * solving. Call sites always end blocks, and the entries and exits of
+ * methods are always in blocks of their own. After the fixed point is
+ * reached, the results are expanded to nodes by applying node and
+ * normal edge transfer functions once more.
+ */
+class BlockInterSolver<Method, Node, Fact>
+        implements InterDataflowSolver<Method, Node, Fact> {
+
+    private final InterDataflowAnalysis<Node, Fact> analysis;
+
+    private final ICFG<Method, Node> icfg;
+
+    private final Map<Node, BasicBlock<Node>> blockOfFirst = Maps.newMap();
+
+    private final Map<Node, BasicBlock<Node>> blockOfLast = Maps.newMap();
+
+    private DataflowResult<BasicBlock<Node>, Fact> blockResult;
+
+    BlockInterSolver(InterDataflowAnalysis<Node, Fact> analysis,
+                     ICFG<Method, Node> icfg) {
+        this.analysis = analysis;
+        this.icfg = icfg;
+    }
+
+    @Override
+    public DataflowResult<Node, Fact> solve() {
+        List<BasicBlock<Node>> blocks = BasicBlock.build(icfg, this::canLink);
+        for (BasicBlock<Node> block : blocks) {
+            blockOfFirst.put(block.getFirst(), block);
+            blockOfLast.put(block.getLast(), block);
+        }
+        blockResult = new DataflowResult<>();
+        initialize(blocks);
+        doSolve(blocks);
+        return expand(blocks);
+    }
+
+    private boolean canLink(Node source, Node target) {
+        return icfg.outEdgesOf(source).allMatch(edge -> edge instanceof NormalEdge)
+                && !isEntryOrExit(source) && !isEntryOrExit(target);
+    }
+
+    private boolean isEntryOrExit(Node node) {
+        Method method = icfg.getContainingMethodOf(node);
+        return node.equals(icfg.getEntryOf(method))
+                || node.equals(icfg.getExitOf(method));
+    }
+
+    private void initialize(List<BasicBlock<Node>> blocks) {
+        Set<Node> entries = icfg.entryMethods()
+                .map(icfg::getEntryOf)
+                .collect(Collectors.toSet());
+        for (BasicBlock<Node> block : blocks) {
+            blockResult.setInFact(block, analysis.newInitialFact());
+            // the entry of a method is always the only node of its block
+            blockResult.setOutFact(block, entries.contains(block.getLast()) ?
+                    analysis.newBoundaryFact(block.getLast()) :
+                    analysis.newInitialFact());
+        }
+    }
+
+    private void doSolve(List<BasicBlock<Node>> blocks) {
+        // the blocks in the work-list, so that each block is queued at most once
+        Set<BasicBlock<Node>> inWorkList = Sets.newSet();
+        inWorkList.addAll(blocks);
+        Queue<BasicBlock<Node>> workList = new ArrayDeque<>(blocks);
+        while (!workList.isEmpty()) {
+            BasicBlock<Node> block = workList.remove();
+            inWorkList.remove(block);
+            Fact in = blockResult.getInFact(block);
+            // the predecessors of the first node of a block are
+            // always the last nodes of their blocks, and vice versa
+            icfg.inEdgesOf(block.getFirst()).forEach(edge -> {
+                Fact predOut = blockResult.getOutFact(
+                        blockOfLast.get(edge.getSource()));
+                analysis.meetInto(analysis.transferEdge(edge, predOut), in);
+            });
+            if (transferBlock(block, in, blockResult.getOutFact(block))) {
+                icfg.succsOf(block.getLast())
+                        .map(blockOfFirst::get)
+                        .filter(inWorkList::add)
+                        .forEach(workList::add);
+            }
+        }
+    }
+
+    /**
+     * Applies the transfer functions of the nodes in the block and of
+     * the normal edges between them one after another. The intermediate
+     * facts are discarded, and only the last transfer updates given out fact.
+     *
+     * @return true if the transfer changed the out fact, otherwise false.
+     */
+    private boolean transferBlock(BasicBlock<Node> block, Fact in, Fact out) {
+        List<Node> nodes = block.getNodes();
+        Fact fact = in;
+        for (int i = 0; i < nodes.size() - 1; ++i) {
+            Node node = nodes.get(i);
+            Fact nodeOut = analysis.newInitialFact();
+            analysis.transferNode(node, fact, nodeOut);
+            fact = analysis.transferEdge(getOutEdge(node), nodeOut);
+        }
+        return analysis.transferNode(block.getLast(), fact, out);
+    }
+
+    private DataflowResult<Node, Fact> expand(List<BasicBlock<Node>> blocks) {
+        DataflowResult<Node, Fact> result = new DataflowResult<>();
+        for (BasicBlock<Node> block : blocks) {
+            List<Node> nodes = block.getNodes();
+            Fact fact = blockResult.getInFact(block);
+            for (int i = 0; i < nodes.size() - 1; ++i) {
+                Node node = nodes.get(i);
+                result.setInFact(node, fact);
+                Fact out = analysis.newInitialFact();
+                analysis.transferNode(node, fact, out);
+                result.setOutFact(node, out);
+                fact = analysis.transferEdge(getOutEdge(node), out);
+            }
+            result.setInFact(block.getLast(), fact);
+            result.setOutFact(block.getLast(), blockResult.getOutFact(block));
+        }
+        return result;
+    }
+
+    /**
+     * @return the only outgoing edge of given node, which is not
+     * the last node of its block.
+     */
+    private ICFGEdge<Node> getOutEdge(Node node) {
+        return icfg.outEdgesOf(node).findFirst().get();
+    }
+}
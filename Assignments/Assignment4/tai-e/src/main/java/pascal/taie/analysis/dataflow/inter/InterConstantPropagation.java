@@ -46,7 +46,9 @@
 
      public InterConstantPropagation(AnalysisConfig config) {
          super(config);
-         cp = new ConstantPropagation(new AnalysisConfig(ConstantPropagation.ID));
+         boolean arrayFact = getOptions().has("array-fact") && getOptions().getBoolean("array-fact");
+         cp = new ConstantPropagation(new AnalysisConfig(ConstantPropagation.ID,
+                 "array-fact", arrayFact));
      }
 
      @Override
@@ -88,7 +90,7 @@
      protected CPFact transferNormalEdge(NormalEdge<Stmt> edge, CPFact out) {
          // TODO - finish me
          //return null;
-         CPFact temp=new CPFact();
+         CPFact temp=cp.newInitialFact();
          temp.copyFrom(out);
          return temp;
      }
@@ -97,7 +99,7 @@
      protected CPFact transferCallToReturnEdge(CallToReturnEdge<Stmt> edge, CPFact out) {
          // TODO - finish me
         // return null;
-         CPFact temp=new CPFact();
+         CPFact temp=cp.newInitialFact();
          temp.copyFrom(out);
          Stmt stmt=edge.getSource();
          if(stmt instanceof DefinitionStmt){
@@ -115,7 +117,7 @@
      protected CPFact transferCallEdge(CallEdge<Stmt> edge, CPFact callSiteOut) {
          // TODO - finish me
          //return null;
-         CPFact temp=new CPFact();
+         CPFact temp=cp.newInitialFact();
          Stmt srcStmt=edge.getSource();
          //Stmt dstStmt=edge.getTarget();
          JMethod jMethod=edge.getCallee();
@@ -145,7 +147,7 @@
      protected CPFact transferReturnEdge(ReturnEdge<Stmt> edge, CPFact returnOut) {
          // TODO - finish me
          //return null;
-         CPFact temp=new CPFact();
+         CPFact temp=cp.newInitialFact();
          Stmt stmt=edge.getCallSite();
          if(stmt instanceof DefinitionStmt){
              DefinitionStmt definitionStmt=(DefinitionStmt) stmt;
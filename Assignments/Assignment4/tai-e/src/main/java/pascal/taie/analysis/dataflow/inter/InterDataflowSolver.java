@@ -0,0 +1,33 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.dataflow.inter;
+
+import pascal.taie.analysis.dataflow.fact.DataflowResult;
+
+/**
+ * Common interface of the solvers for inter-procedural data-flow analysis,
+ * which solve given analysis on given ICFG.
+ *
+ * @param <Method> type of ICFG methods
+ * @param <Node>   type of ICFG nodes
+ * @param <Fact>   type of data-flow facts
+ */
+interface InterDataflowSolver<Method, Node, Fact> {
+
+    /**
+     * Solves the data-flow problem.
+     *
+     * @return the analysis result
+     */
+    DataflowResult<Node, Fact> solve();
+}
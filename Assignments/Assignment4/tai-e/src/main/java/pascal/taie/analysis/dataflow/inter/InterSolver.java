@@ -12,22 +12,33 @@
 
 package pascal.taie.analysis.dataflow.inter;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
 import pascal.taie.analysis.graph.icfg.ICFG;
 import pascal.taie.analysis.graph.icfg.ICFGEdge;
+import pascal.taie.util.collection.Maps;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Stream;
+import java.util.Map;
 
 /**
  * Solver for inter-procedural data-flow analysis.
  * The workload of inter-procedural analysis is heavy, thus we always
  * adopt work-list algorithm for efficiency.
+ *
+ * Before solving, the nodes of the ICFG are numbered in iteration order,
+ * and the in-edges and successors of each node are indexed in compressed
+ * (CSR) form, i.e., the in-edges of node {@code i} are
+ * {@code inEdges[inStart[i]] .. inEdges[inStart[i + 1] - 1]}, so that
+ * the main loop only walks arrays. The work-list is a ring buffer of
+ * node ids which holds each node at most once.
  */
-class InterSolver<Method, Node, Fact> {
+class InterSolver<Method, Node, Fact>
+        implements InterDataflowSolver<Method, Node, Fact> {
+
+    private static final Logger logger = LogManager.getLogger(InterSolver.class);
 
     private final InterDataflowAnalysis<Node, Fact> analysis;
 
@@ -35,7 +46,36 @@ class InterSolver<Method, Node, Fact> {
 
     private DataflowResult<Node, Fact> result;
 
-    private Queue<Node> workList;
+    private int nodeCount;
+
+    private Node[] nodes;
+
+    private Map<Node, Integer> ids;
+
+    private Fact[] inFacts;
+
+    private Fact[] outFacts;
+
+    private int[] inStart;
+
+    private ICFGEdge<Node>[] inEdges;
+
+    /**
+     * Ids of the sources of {@link #inEdges}.
+     */
+    private int[] inSources;
+
+    private int[] succStart;
+
+    private int[] succs;
+
+    private int[] workList;
+
+    private boolean[] inWorkList;
+
+    private int head;
+
+    private int size;
 
     InterSolver(InterDataflowAnalysis<Node, Fact> analysis,
                 ICFG<Method, Node> icfg) {
@@ -43,51 +83,104 @@ class InterSolver<Method, Node, Fact> {
         this.icfg = icfg;
     }
 
-    DataflowResult<Node, Fact> solve() {
+    @Override
+    public DataflowResult<Node, Fact> solve() {
         result = new DataflowResult<>();
+        buildIndex();
         initialize();
         doSolve();
         return result;
     }
 
+    @SuppressWarnings("unchecked")
+    private void buildIndex() {
+        List<Node> nodeList = new ArrayList<>();
+        icfg.forEach(nodeList::add);
+        nodeCount = nodeList.size();
+        nodes = (Node[]) nodeList.toArray();
+        ids = Maps.newMap();
+        for (int i = 0; i < nodeCount; ++i) {
+            ids.put(nodes[i], i);
+        }
+        List<ICFGEdge<Node>> edges = new ArrayList<>();
+        List<Integer> succList = new ArrayList<>();
+        inStart = new int[nodeCount + 1];
+        succStart = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; ++i) {
+            inStart[i] = edges.size();
+            icfg.inEdgesOf(nodes[i]).forEach(edges::add);
+            succStart[i] = succList.size();
+            icfg.succsOf(nodes[i]).forEach(succ -> succList.add(ids.get(succ)));
+        }
+        inStart[nodeCount] = edges.size();
+        succStart[nodeCount] = succList.size();
+        inEdges = (ICFGEdge<Node>[]) edges.toArray(new ICFGEdge[0]);
+        inSources = new int[inEdges.length];
+        for (int i = 0; i < inEdges.length; ++i) {
+            inSources[i] = ids.get(inEdges[i].getSource());
+        }
+        succs = new int[succList.size()];
+        for (int i = 0; i < succs.length; ++i) {
+            succs[i] = succList.get(i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     private void initialize() {
-        // TODO - finish me
-        List<Node>visit=new LinkedList<>();
-        Stream<Method> entry=icfg.entryMethods();
-        entry.forEach(entryMethod->{
-            Node node=icfg.getEntryOf(entryMethod);
-            visit.add(node);
-            result.setOutFact(node, analysis.newBoundaryFact(node));
+        inFacts = (Fact[]) new Object[nodeCount];
+        outFacts = (Fact[]) new Object[nodeCount];
+        icfg.entryMethods().forEach(method -> {
+            Node entry = icfg.getEntryOf(method);
+            int id = ids.get(entry);
+            if (outFacts[id] == null) {
+                outFacts[id] = analysis.newBoundaryFact(entry);
+            }
         });
-        for(Node node:icfg){
-            if(!visit.contains(node)){
-                result.setOutFact(node, analysis.newInitialFact());
+        for (int i = 0; i < nodeCount; ++i) {
+            Node node = nodes[i];
+            if (outFacts[i] == null) {
+                outFacts[i] = analysis.newInitialFact();
             }
-            result.setInFact(node, analysis.newInitialFact());
+            inFacts[i] = analysis.newInitialFact();
+            result.setOutFact(node, outFacts[i]);
+            result.setInFact(node, inFacts[i]);
         }
     }
 
     private void doSolve() {
-        // TODO - finish me
-        workList=new LinkedList<>();
-        for(Node node:icfg){
-            workList.add(node);
+        workList = new int[nodeCount];
+        inWorkList = new boolean[nodeCount];
+        head = 0;
+        size = 0;
+        for (int i = 0; i < nodeCount; ++i) {
+            addToWorkList(i);
         }
-        while (!workList.isEmpty()){
-            Node node=workList.remove();
-            icfg.predsOf(node).forEach(pred->{
-                Stream<ICFGEdge<Node>> outEdge=icfg.outEdgesOf(pred);
-                outEdge.forEach(out->{
-                    if(out.getTarget()==node){
-                        Fact fact=analysis.transferEdge(out,result.getOutFact(pred));
-                        analysis.meetInto(fact,result.getInFact(node));
-                    }
-                });
-            });
-            boolean change=analysis.transferNode(node,result.getInFact(node),result.getOutFact(node));
-            if(change){
-                icfg.succsOf(node).forEach(workList::add);
+        int transfers = 0;
+        while (size > 0) {
+            int node = workList[head];
+            head = (head + 1) % nodeCount;
+            --size;
+            inWorkList[node] = false;
+            Fact in = inFacts[node];
+            for (int i = inStart[node]; i < inStart[node + 1]; ++i) {
+                analysis.meetInto(analysis.transferEdge(
+                        inEdges[i], outFacts[inSources[i]]), in);
+            }
+            ++transfers;
+            if (analysis.transferNode(nodes[node], in, outFacts[node])) {
+                for (int i = succStart[node]; i < succStart[node + 1]; ++i) {
+                    addToWorkList(succs[i]);
+                }
             }
         }
+        logger.debug("{} node transfers", transfers);
+    }
+
+    private void addToWorkList(int node) {
+        if (!inWorkList[node]) {
+            inWorkList[node] = true;
+            workList[(head + size) % nodeCount] = node;
+            ++size;
+        }
     }
 }
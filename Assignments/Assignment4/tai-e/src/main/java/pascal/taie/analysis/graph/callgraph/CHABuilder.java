@@ -1,5 +1,7 @@
 package pascal.taie.analysis.graph.callgraph;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.World;
 import pascal.taie.ir.proginfo.MethodRef;
 import pascal.taie.ir.stmt.Invoke;
@@ -16,15 +18,22 @@ import java.util.stream.Stream;
  */
 class CHABuilder implements CGBuilder<Invoke, JMethod> {
 
+    private static final Logger logger = LogManager.getLogger(CHABuilder.class);
+
     private ClassHierarchy hierarchy;
 
+    private DispatchCache dispatchCache;
+
     @Override
     public CallGraph<Invoke, JMethod> build() {
         hierarchy = World.getClassHierarchy();
-        return buildCallGraph(World.getMainMethod());
+        dispatchCache = new DispatchCache();
+        CallGraph<Invoke, JMethod> callGraph = buildCallGraph(World.getMainMethod());
+        logger.info("Dispatch cache: {}", dispatchCache);
+        return callGraph;
     }
 
-    private CallGraph<Invoke, JMethod> buildCallGraph(JMethod entry) {
+    CallGraph<Invoke, JMethod> buildCallGraph(JMethod entry) {
         DefaultCallGraph callGraph = new DefaultCallGraph();
         callGraph.addEntryMethod(entry);
         // TODO -finish me
@@ -38,18 +47,7 @@ class CHABuilder implements CGBuilder<Invoke, JMethod> {
                 callSite.forEach(call->{
                     Set<JMethod>methods=resolve(call);
                     methods.forEach(m->{
-                        CallKind kind;
-                        if(call.isStatic()){
-                            kind=CallKind.STATIC;
-                        }else if(call.isSpecial()){
-                            kind=CallKind.SPECIAL;
-                        }else if(call.isInterface()){
-                            kind=CallKind.INTERFACE;
-                        }else if(call.isVirtual()){
-                            kind=CallKind.VIRTUAL;
-                        }else{
-                            kind=CallKind.OTHER;
-                        }
+                        CallKind kind=getCallKind(call);
                         if(m != null){
                             Edge<Invoke,JMethod> edge=new Edge<>(kind,call,m);
                             callGraph.addEdge(edge);
@@ -64,10 +62,29 @@ class CHABuilder implements CGBuilder<Invoke, JMethod> {
         return callGraph;
     }
 
+    /**
+     * @return the kind of the call edges from given call site.
+     */
+    static CallKind getCallKind(Invoke call) {
+        if(call.isStatic()){
+            return CallKind.STATIC;
+        }else if(call.isSpecial()){
+            return CallKind.SPECIAL;
+        }else if(call.isInterface()){
+            return CallKind.INTERFACE;
+        }else if(call.isVirtual()){
+            return CallKind.VIRTUAL;
+        }else{
+            return CallKind.OTHER;
+        }
+    }
+
     /**
      * Resolves call targets (callees) of a call site via CHA.
+     * The result may contain null if a target cannot be dispatched.
+     * This method is thread-safe.
      */
-    private Set<JMethod> resolve(Invoke callSite) {
+    Set<JMethod> resolve(Invoke callSite) {
         // TODO - finish me
         // return null;
         Set<JMethod> set = new LinkedHashSet<>();
@@ -82,43 +99,11 @@ class CHABuilder implements CGBuilder<Invoke, JMethod> {
             JMethod jMethod=dispatch(jClass,subsignature);
             set.add(jMethod);
         }else if(callSite.isVirtual()||callSite.isInterface()){
-            Queue<JClass>jClasses=new LinkedList<>();
             JClass jClass=callSite.getMethodRef().getDeclaringClass();
             Subsignature subsignature=callSite.getMethodRef().getSubsignature();
-            jClasses.add(jClass);
-
-            if(!jClass.isInterface()){
-               while(!jClasses.isEmpty()){
-                   JClass Class=jClasses.remove();
-                   JMethod jMethod=dispatch(Class,subsignature);
-                   set.add(jMethod);
-                   Collection<JClass>subClass=hierarchy.getDirectSubclassesOf(Class);
-                   if(!subClass.isEmpty()){
-                       for(JClass sub:subClass){
-                           jClasses.add(sub);
-                       }
-                   }
-               }
-            }else{
-                while(!jClasses.isEmpty()){
-                    JClass Class=jClasses.remove();
-                    JMethod jMethod=dispatch(Class,subsignature);
-                    set.add(jMethod);
-                    Collection<JClass>subImplement=hierarchy.getDirectImplementorsOf(Class);
-                    Collection<JClass>subInterface=hierarchy.getDirectSubinterfacesOf(Class);
-                    if(!subImplement.isEmpty()){
-                        for(JClass sub:subImplement){
-                            jClasses.add(sub);
-                        }
-                    }
-                    if(!subInterface.isEmpty()){
-                        for(JClass sub:subInterface){
-                            jClasses.add(sub);
-                        }
-                    }
-                }
+            for(JClass sub:hierarchy.getAllSubclassesOf(jClass)){
+                set.add(dispatch(sub,subsignature));
             }
-
         }
         return set;
     }
@@ -135,11 +120,6 @@ class CHABuilder implements CGBuilder<Invoke, JMethod> {
         if(jclass==null){
             return null;
         }
-        JMethod jMethod=jclass.getDeclaredMethod(subsignature);
-        if(jMethod!=null&&!jMethod.isAbstract()){
-            return jMethod;
-        }else{
-            return dispatch(jclass.getSuperClass(),subsignature);
-        }
+        return dispatchCache.dispatch(jclass,subsignature);
     }
 }
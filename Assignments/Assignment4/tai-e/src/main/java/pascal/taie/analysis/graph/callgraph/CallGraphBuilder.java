@@ -12,6 +12,8 @@
 
 package pascal.taie.analysis.graph.callgraph;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.InterproceduralAnalysis;
 import pascal.taie.config.AnalysisConfig;
 import pascal.taie.config.ConfigException;
@@ -25,6 +27,8 @@ public class CallGraphBuilder extends InterproceduralAnalysis {
 
     public static final String ID = "cg";
 
+    private static final Logger logger = LogManager.getLogger(CallGraphBuilder.class);
+
     private final String algorithm;
 
     public CallGraphBuilder(AnalysisConfig config) {
@@ -36,13 +40,27 @@ public class CallGraphBuilder extends InterproceduralAnalysis {
     public CallGraph<Invoke, JMethod> analyze() {
         CGBuilder<Invoke, JMethod> builder;
         if (algorithm.equals("cha")) {
-            builder = new CHABuilder();
+            int threads = getOptions().has("threads") ?
+                    getOptions().getInt("threads") : 1;
+            if (threads < 1) {
+                throw new ConfigException("Invalid number of threads: " + threads);
+            }
+            builder = threads > 1 ? new ParallelCHABuilder(threads) : new CHABuilder();
+        } else if (algorithm.equals("rta")) {
+            builder = new RTABuilder();
         } else {
             throw new ConfigException("Unknown call graph building algorithm: " + algorithm);
         }
         ClassHierarchyImpl.setCheckCHA(true);
         CallGraph<Invoke, JMethod> callGraph = builder.build();
         ClassHierarchyImpl.setCheckCHA(false);
+        logger.info("Call graph ({}): {} reachable methods, {} edges",
+                algorithm, callGraph.getNumberOfMethods(), callGraph.getNumberOfEdges());
+        if (getOptions().has("compact") && getOptions().getBoolean("compact")) {
+            // the following analyses (e.g., ICFG construction) only
+            // query the call graph, thus it can be frozen here
+            callGraph = new CompactCallGraph<>(callGraph);
+        }
         takeAction(callGraph);
         return callGraph;
     }
@@ -0,0 +1,421 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, compact representation of call graph.
+ *
+ * The reachable methods and the call sites in them are numbered densely,
+ * and the call sites of each method have consecutive ids. The call edges
+ * are stored in two compressed sparse row (CSR) arrays of ids, one indexed
+ * by call sites and the other by callees, and {@link Edge} objects are only
+ * created on demand by the queries which return them. Thus, the call graph
+ * takes a few integers per call site and per edge, instead of the maps and
+ * sets of edges of {@link AbstractCallGraph}. The ids of methods (call sites)
+ * are looked up in open-addressing tables which only hold ids, i.e., two to
+ * four ints per method (call site), instead of a boxed map entry each.
+ *
+ * Besides the {@link Stream}-based queries of {@link CallGraph},
+ * this class provides {@code forEach*} queries which do not allocate,
+ * and the mapping between methods (call sites) and their ids.
+ *
+ * @param <CallSite> type of call sites
+ * @param <Method>   type of methods
+ */
+public class CompactCallGraph<CallSite, Method>
+        implements CallGraph<CallSite, Method> {
+
+    private static final CallKind[] KINDS = CallKind.values();
+
+    private final Method[] methods;
+
+    private final IdTable<Method> methodIds;
+
+    private final CallSite[] callSites;
+
+    private final IdTable<CallSite> callSiteIds;
+
+    private final int[] entryMethods;
+
+    /**
+     * The call sites in method {@code m} have ids in
+     * {@code [callSiteStart[m], callSiteStart[m + 1])}.
+     */
+    private final int[] callSiteStart;
+
+    /**
+     * Container method of each call site.
+     */
+    private final int[] containers;
+
+    /**
+     * The callees of call site {@code c} are the elements of
+     * {@code callees} in {@code [calleeStart[c], calleeStart[c + 1])},
+     * and the kinds of the edges are in {@code calleeKinds}.
+     */
+    private final int[] calleeStart;
+
+    private final int[] callees;
+
+    private final byte[] calleeKinds;
+
+    /**
+     * The call sites which invoke method {@code m} are the elements of
+     * {@code callers} in {@code [callerStart[m], callerStart[m + 1])},
+     * and the kinds of the edges are in {@code callerKinds}.
+     */
+    private final int[] callerStart;
+
+    private final int[] callers;
+
+    private final byte[] callerKinds;
+
+    /**
+     * Creates a compact copy of given call graph, which contains
+     * the reachable methods, and the call sites in them and the edges
+     * out of these call sites.
+     */
+    @SuppressWarnings("unchecked")
+    public CompactCallGraph(CallGraph<CallSite, Method> callGraph) {
+        methods = (Method[]) callGraph.reachableMethods().toArray();
+        methodIds = new IdTable<>(methods);
+        entryMethods = callGraph.entryMethods()
+                .mapToInt(methodIds::get)
+                .toArray();
+        // number call sites method by method
+        List<CallSite> sites = new ArrayList<>();
+        callSiteStart = new int[methods.length + 1];
+        for (int m = 0; m < methods.length; ++m) {
+            callSiteStart[m] = sites.size();
+            callGraph.callSitesIn(methods[m]).forEach(sites::add);
+        }
+        callSiteStart[methods.length] = sites.size();
+        callSites = (CallSite[]) sites.toArray();
+        callSiteIds = new IdTable<>(callSites);
+        containers = new int[callSites.length];
+        for (int m = 0; m < methods.length; ++m) {
+            Arrays.fill(containers, callSiteStart[m], callSiteStart[m + 1], m);
+        }
+        // out-edges, in the order of call sites
+        List<Edge<CallSite, Method>> edges = new ArrayList<>();
+        calleeStart = new int[callSites.length + 1];
+        for (int c = 0; c < callSites.length; ++c) {
+            callGraph.edgesOf(callSites[c]).forEach(edges::add);
+            calleeStart[c + 1] = edges.size();
+        }
+        callees = new int[edges.size()];
+        calleeKinds = new byte[edges.size()];
+        callerStart = new int[methods.length + 1];
+        for (int i = 0; i < edges.size(); ++i) {
+            Edge<CallSite, Method> edge = edges.get(i);
+            int callee = methodIds.get(edge.getCallee());
+            callees[i] = callee;
+            calleeKinds[i] = (byte) edge.getKind().ordinal();
+            ++callerStart[callee + 1];
+        }
+        // in-edges, obtained by counting sort of out-edges by callees
+        for (int m = 0; m < methods.length; ++m) {
+            callerStart[m + 1] += callerStart[m];
+        }
+        callers = new int[callees.length];
+        callerKinds = new byte[callees.length];
+        int[] next = Arrays.copyOf(callerStart, methods.length);
+        for (int c = 0; c < callSites.length; ++c) {
+            for (int i = calleeStart[c]; i < calleeStart[c + 1]; ++i) {
+                int j = next[callees[i]]++;
+                callers[j] = c;
+                callerKinds[j] = calleeKinds[i];
+            }
+        }
+    }
+
+    /**
+     * @return the id of given method, or -1 if it is not reachable.
+     */
+    public int getMethodId(Method method) {
+        return methodIds.get(method);
+    }
+
+    /**
+     * @return the method of given id.
+     */
+    public Method getMethod(int id) {
+        return methods[id];
+    }
+
+    /**
+     * @return the id of given call site, or -1 if it is not in
+     * this call graph.
+     */
+    public int getCallSiteId(CallSite callSite) {
+        return callSiteIds.get(callSite);
+    }
+
+    /**
+     * @return the call site of given id.
+     */
+    public CallSite getCallSite(int id) {
+        return callSites[id];
+    }
+
+    /**
+     * @return the number of call sites in this call graph.
+     */
+    public int getNumberOfCallSites() {
+        return callSites.length;
+    }
+
+    /**
+     * Performs given action for each callee of given call site.
+     */
+    public void forEachCallee(CallSite callSite, Consumer<? super Method> action) {
+        int c = getCallSiteId(callSite);
+        if (c >= 0) {
+            for (int i = calleeStart[c]; i < calleeStart[c + 1]; ++i) {
+                action.accept(methods[callees[i]]);
+            }
+        }
+    }
+
+    /**
+     * Performs given action for each call site that invokes given method.
+     */
+    public void forEachCaller(Method callee, Consumer<? super CallSite> action) {
+        int m = getMethodId(callee);
+        if (m >= 0) {
+            for (int i = callerStart[m]; i < callerStart[m + 1]; ++i) {
+                action.accept(callSites[callers[i]]);
+            }
+        }
+    }
+
+    /**
+     * Performs given action for each call site in given method.
+     */
+    public void forEachCallSiteIn(Method method, Consumer<? super CallSite> action) {
+        int m = getMethodId(method);
+        if (m >= 0) {
+            for (int c = callSiteStart[m]; c < callSiteStart[m + 1]; ++c) {
+                action.accept(callSites[c]);
+            }
+        }
+    }
+
+    /**
+     * Performs given action for each reachable method.
+     */
+    public void forEachMethod(Consumer<? super Method> action) {
+        for (Method method : methods) {
+            action.accept(method);
+        }
+    }
+
+    @Override
+    public Stream<Method> calleesOf(CallSite callSite) {
+        int c = getCallSiteId(callSite);
+        return c < 0 ? Stream.of() :
+                IntStream.range(calleeStart[c], calleeStart[c + 1])
+                        .mapToObj(i -> methods[callees[i]]);
+    }
+
+    @Override
+    public Stream<CallSite> callersOf(Method callee) {
+        int m = getMethodId(callee);
+        return m < 0 ? Stream.of() :
+                IntStream.range(callerStart[m], callerStart[m + 1])
+                        .mapToObj(i -> callSites[callers[i]]);
+    }
+
+    @Override
+    public Method getContainerMethodOf(CallSite callSite) {
+        int c = getCallSiteId(callSite);
+        return c < 0 ? null : methods[containers[c]];
+    }
+
+    @Override
+    public Stream<CallSite> callSitesIn(Method method) {
+        int m = getMethodId(method);
+        return m < 0 ? Stream.of() :
+                Arrays.stream(callSites, callSiteStart[m], callSiteStart[m + 1]);
+    }
+
+    @Override
+    public Stream<Edge<CallSite, Method>> edgesOf(CallSite callSite) {
+        int c = getCallSiteId(callSite);
+        return c < 0 ? Stream.of() :
+                IntStream.range(calleeStart[c], calleeStart[c + 1])
+                        .mapToObj(i -> new Edge<>(KINDS[calleeKinds[i]],
+                                callSite, methods[callees[i]]));
+    }
+
+    @Override
+    public Stream<Edge<CallSite, Method>> edgesTo(Method method) {
+        int m = getMethodId(method);
+        return m < 0 ? Stream.of() :
+                IntStream.range(callerStart[m], callerStart[m + 1])
+                        .mapToObj(i -> new Edge<>(KINDS[callerKinds[i]],
+                                callSites[callers[i]], method));
+    }
+
+    @Override
+    public Stream<Edge<CallSite, Method>> edges() {
+        return Arrays.stream(callSites).flatMap(this::edgesOf);
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return callees.length;
+    }
+
+    @Override
+    public Stream<Method> entryMethods() {
+        return Arrays.stream(entryMethods).mapToObj(m -> methods[m]);
+    }
+
+    @Override
+    public Stream<Method> reachableMethods() {
+        return Arrays.stream(methods);
+    }
+
+    @Override
+    public int getNumberOfMethods() {
+        return methods.length;
+    }
+
+    @Override
+    public boolean contains(Method method) {
+        return methodIds.get(method) >= 0;
+    }
+
+    // Implementation for Graph interface.
+
+    @Override
+    public boolean hasNode(Method node) {
+        return contains(node);
+    }
+
+    @Override
+    public boolean hasEdge(Method source, Method target) {
+        int s = getMethodId(source);
+        int t = getMethodId(target);
+        if (s < 0 || t < 0) {
+            return false;
+        }
+        for (int i = calleeStart[callSiteStart[s]];
+             i < calleeStart[callSiteStart[s + 1]]; ++i) {
+            if (callees[i] == t) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Stream<Method> predsOf(Method node) {
+        int m = getMethodId(node);
+        return m < 0 ? Stream.of() :
+                IntStream.range(callerStart[m], callerStart[m + 1])
+                        .map(i -> containers[callers[i]])
+                        .distinct()
+                        .mapToObj(p -> methods[p]);
+    }
+
+    @Override
+    public Stream<Method> succsOf(Method node) {
+        int m = getMethodId(node);
+        // the edges of the call sites in a method are consecutive
+        return m < 0 ? Stream.of() :
+                IntStream.range(calleeStart[callSiteStart[m]],
+                                calleeStart[callSiteStart[m + 1]])
+                        .map(i -> callees[i])
+                        .distinct()
+                        .mapToObj(s -> methods[s]);
+    }
+
+    @Override
+    public Stream<Method> nodes() {
+        return reachableMethods();
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return methods.length;
+    }
+
+    /**
+     * Open-addressing hash table (with linear probing) which maps the
+     * elements of an array to their indexes. The table only holds the
+     * indexes, and the elements are compared with the ones in the array.
+     */
+    private static final class IdTable<E> {
+
+        private final E[] elements;
+
+        /**
+         * Index + 1 of the element in each slot, or 0 for empty slots.
+         * The capacity is a power of two which is at least twice
+         * the number of elements.
+         */
+        private final int[] slots;
+
+        private final int shift;
+
+        private IdTable(E[] elements) {
+            this.elements = elements;
+            int capacity = 2;
+            while (capacity < elements.length * 2) {
+                capacity <<= 1;
+            }
+            slots = new int[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            int mask = capacity - 1;
+            for (int i = 0; i < elements.length; ++i) {
+                int s = slotOf(elements[i]);
+                while (slots[s] != 0) {
+                    s = (s + 1) & mask;
+                }
+                slots[s] = i + 1;
+            }
+        }
+
+        /**
+         * @return the index of given element, or -1 if it is not
+         * in the array.
+         */
+        private int get(Object element) {
+            int mask = slots.length - 1;
+            for (int s = slotOf(element); slots[s] != 0; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (elements[i].equals(element)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the home slot of given element, i.e., the high bits of
+         * its hash code multiplied by the golden ratio (Fibonacci hashing).
+         */
+        private int slotOf(Object element) {
+            return (element.hashCode() * 0x9E3779B9) >>> shift;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import pascal.taie.language.classes.JClass;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.classes.Subsignature;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoized virtual dispatch. Each class has a lazily filled, vtable-like
+ * map from subsignatures to the dispatched methods. A missed lookup only
+ * checks the declared methods of the class itself, and then continues
+ * with the table of its superclass, so the tables of the superclasses
+ * are filled along the way and shared by all their subclasses.
+ *
+ * This class is thread-safe: concurrent misses of the same entry may
+ * compute it more than once, but always to the same method.
+ */
+public class DispatchCache {
+
+    private final Map<JClass, Map<Subsignature, Optional<JMethod>>> tables =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Looks up the target method based on given class and method subsignature.
+     *
+     * @return the dispatched target method, or null if no satisfying method
+     * can be found.
+     */
+    @Nullable
+    public JMethod dispatch(JClass jclass, Subsignature subsignature) {
+        Map<Subsignature, Optional<JMethod>> table =
+                tables.computeIfAbsent(jclass, c -> new ConcurrentHashMap<>());
+        Optional<JMethod> entry = table.get(subsignature);
+        if (entry != null) {
+            hits.increment();
+            return entry.orElse(null);
+        }
+        misses.increment();
+        JMethod target = jclass.getDeclaredMethod(subsignature);
+        if (target == null || target.isAbstract()) {
+            JClass superClass = jclass.getSuperClass();
+            target = superClass != null ? dispatch(superClass, subsignature) : null;
+        }
+        table.put(subsignature, Optional.ofNullable(target));
+        return target;
+    }
+
+    /**
+     * @return the number of lookups, including the ones of the superclasses
+     * during a missed lookup.
+     */
+    public long getLookups() {
+        return hits.sum() + misses.sum();
+    }
+
+    /**
+     * @return the fraction of lookups which are answered by the tables.
+     */
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) hits.sum() / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d classes, %d lookups, hit rate %.1f%%",
+                tables.size(), getLookups(), getHitRate() * 100);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel implementation of the CHA algorithm.
+ *
+ * The reachable methods are explored level by level. In each round,
+ * the call sites of the methods reached in the previous round are resolved
+ * on a work-stealing pool, and then the resolved edges are added to the
+ * call graph sequentially, which gives the methods for the next round.
+ * Each reachable method is processed exactly once, and the resulting
+ * call graph is the same as the one built by {@link CHABuilder}.
+ *
+ * Resolution only reads the class hierarchy and the thread-safe
+ * {@link DispatchCache}, while the call graph (and the IR of newly
+ * reachable methods) is only modified between rounds.
+ */
+class ParallelCHABuilder extends CHABuilder {
+
+    /**
+     * Ranges of call sites smaller than this are resolved by one task.
+     */
+    private static final int THRESHOLD = 32;
+
+    private final int parallelism;
+
+    ParallelCHABuilder(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    CallGraph<Invoke, JMethod> buildCallGraph(JMethod entry) {
+        DefaultCallGraph callGraph = new DefaultCallGraph();
+        callGraph.addEntryMethod(entry);
+        callGraph.addReachableMethod(entry);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<JMethod> frontier = List.of(entry);
+            while (!frontier.isEmpty()) {
+                Invoke[] callSites = frontier.stream()
+                        .flatMap(callGraph::callSitesIn)
+                        .toArray(Invoke[]::new);
+                @SuppressWarnings("unchecked")
+                Set<JMethod>[] callees = new Set[callSites.length];
+                pool.invoke(new ResolveTask(callSites, callees, 0, callSites.length));
+                List<JMethod> next = new ArrayList<>();
+                for (int i = 0; i < callSites.length; ++i) {
+                    Invoke callSite = callSites[i];
+                    CallKind kind = getCallKind(callSite);
+                    for (JMethod callee : callees[i]) {
+                        if (callee != null) {
+                            callGraph.addEdge(new Edge<>(kind, callSite, callee));
+                            if (callGraph.addReachableMethod(callee)) {
+                                next.add(callee);
+                            }
+                        }
+                    }
+                }
+                frontier = next;
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return callGraph;
+    }
+
+    private class ResolveTask extends RecursiveAction {
+
+        private final Invoke[] callSites;
+
+        private final Set<JMethod>[] callees;
+
+        private final int from;
+
+        private final int to;
+
+        private ResolveTask(Invoke[] callSites, Set<JMethod>[] callees,
+                            int from, int to) {
+            this.callSites = callSites;
+            this.callees = callees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    callees[i] = resolve(callSites[i]);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ResolveTask(callSites, callees, from, mid),
+                        new ResolveTask(callSites, callees, mid, to));
+            }
+        }
+    }
+}
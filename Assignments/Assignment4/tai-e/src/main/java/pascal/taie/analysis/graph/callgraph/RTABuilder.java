@@ -0,0 +1,191 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pascal.taie.World;
+import pascal.taie.ir.proginfo.MethodRef;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.ir.stmt.New;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.language.classes.ClassHierarchy;
+import pascal.taie.language.classes.JClass;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.type.ClassType;
+import pascal.taie.language.type.Type;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Implementation of Rapid Type Analysis (RTA).
+ *
+ * Like CHA, RTA resolves the targets of virtual and interface calls by
+ * dispatching on the subclasses of the declaring class of the method
+ * reference, but only on the ones which are instantiated by the
+ * {@link New} statements of the reachable methods. The analysis is
+ * incremental: when a class is instantiated, the virtual call sites seen
+ * so far whose declaring classes are supertypes of the class are resolved
+ * again on that class; and when a call site is seen, it is resolved on
+ * the classes instantiated so far. Thus, the result is the same as
+ * iterating CHA restricted to the instantiated classes until fixpoint,
+ * and is a subgraph of the call graph built by {@link CHABuilder}.
+ *
+ * Objects which are not created by {@link New} statements, e.g., string
+ * constants and the objects created by native code or reflection,
+ * are not tracked, so calls on such objects are missed unless their
+ * classes are also instantiated by the program.
+ */
+class RTABuilder implements CGBuilder<Invoke, JMethod> {
+
+    private static final Logger logger = LogManager.getLogger(RTABuilder.class);
+
+    private ClassHierarchy hierarchy;
+
+    private DispatchCache dispatchCache;
+
+    private DefaultCallGraph callGraph;
+
+    /**
+     * Reachable methods whose statements have not been processed.
+     */
+    private Queue<JMethod> workList;
+
+    private Set<JClass> instantiatedClasses;
+
+    /**
+     * Map from declaring classes of method references to the virtual and
+     * interface call sites on them, which are resolved again when
+     * a subclass of the declaring class is instantiated.
+     */
+    private Map<JClass, List<Invoke>> virtualCallSites;
+
+    @Override
+    public CallGraph<Invoke, JMethod> build() {
+        hierarchy = World.getClassHierarchy();
+        dispatchCache = new DispatchCache();
+        callGraph = new DefaultCallGraph();
+        workList = new ArrayDeque<>();
+        instantiatedClasses = Sets.newSet();
+        virtualCallSites = Maps.newMap();
+        JMethod entry = World.getMainMethod();
+        callGraph.addEntryMethod(entry);
+        addReachable(entry);
+        while (!workList.isEmpty()) {
+            processMethod(workList.poll());
+        }
+        logger.info("RTA: {} instantiated classes", instantiatedClasses.size());
+        logger.info("Dispatch cache: {}", dispatchCache);
+        return callGraph;
+    }
+
+    private void addReachable(JMethod method) {
+        if (callGraph.addReachableMethod(method) && !method.isAbstract()) {
+            workList.add(method);
+        }
+    }
+
+    private void processMethod(JMethod method) {
+        // process the allocations first, so that the call sites
+        // in the same method are resolved on their classes directly
+        List<Invoke> callSites = new ArrayList<>();
+        for (Stmt stmt : method.getIR()) {
+            if (stmt instanceof New) {
+                Type type = ((New) stmt).getRValue().getType();
+                instantiate(type instanceof ClassType ?
+                        ((ClassType) type).getJClass() :
+                        // arrays are instances of java.lang.Object
+                        hierarchy.getJREClass("java.lang.Object"));
+            } else if (stmt instanceof Invoke) {
+                callSites.add((Invoke) stmt);
+            }
+        }
+        callSites.forEach(this::processCallSite);
+    }
+
+    private void processCallSite(Invoke callSite) {
+        MethodRef methodRef = callSite.getMethodRef();
+        JClass declaringClass = methodRef.getDeclaringClass();
+        if (callSite.isStatic()) {
+            addEdge(callSite,
+                    declaringClass.getDeclaredMethod(methodRef.getSubsignature()));
+        } else if (callSite.isSpecial()) {
+            addEdge(callSite,
+                    dispatchCache.dispatch(declaringClass, methodRef.getSubsignature()));
+        } else if (callSite.isVirtual() || callSite.isInterface()) {
+            virtualCallSites.computeIfAbsent(declaringClass, c -> new ArrayList<>())
+                    .add(callSite);
+            for (JClass sub : hierarchy.getAllSubclassesOf(declaringClass)) {
+                if (instantiatedClasses.contains(sub)) {
+                    addEdge(callSite,
+                            dispatchCache.dispatch(sub, methodRef.getSubsignature()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks given class as instantiated, and resolves the virtual call sites
+     * seen so far on it.
+     */
+    private void instantiate(JClass jclass) {
+        if (jclass == null || !instantiatedClasses.add(jclass)) {
+            return;
+        }
+        for (JClass type : getSupertypes(jclass)) {
+            List<Invoke> callSites = virtualCallSites.get(type);
+            if (callSites != null) {
+                for (Invoke callSite : callSites) {
+                    addEdge(callSite, dispatchCache.dispatch(
+                            jclass, callSite.getMethodRef().getSubsignature()));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the superclasses and all superinterfaces of given class
+     * (including itself).
+     */
+    private static Set<JClass> getSupertypes(JClass jclass) {
+        Set<JClass> supertypes = Sets.newSet();
+        Deque<JClass> stack = new ArrayDeque<>();
+        stack.push(jclass);
+        while (!stack.isEmpty()) {
+            JClass type = stack.pop();
+            if (supertypes.add(type)) {
+                if (type.getSuperClass() != null) {
+                    stack.push(type.getSuperClass());
+                }
+                type.getInterfaces().forEach(stack::push);
+            }
+        }
+        return supertypes;
+    }
+
+    private void addEdge(Invoke callSite, JMethod callee) {
+        if (callee != null) {
+            callGraph.addEdge(new Edge<>(
+                    CHABuilder.getCallKind(callSite), callSite, callee));
+            addReachable(callee);
+        }
+    }
+}
@@ -65,6 +65,20 @@ public interface ClassHierarchy {
      */
     Collection<JClass> getDirectSubclassesOf(JClass jclass);
 
+    /**
+     * @return all subclasses of given class (including itself) if it is
+     * a class, or all subinterfaces and implementors and their subclasses
+     * (including itself) if it is an interface.
+     */
+    Collection<JClass> getAllSubclassesOf(JClass jclass);
+
+    /**
+     * @return true if subclass is a subclass of superclass (or the same
+     * class), or a subtype of superclass if it is an interface,
+     * otherwise false.
+     */
+    boolean isSubclass(JClass superclass, JClass subclass);
+
     /**
      * Obtains a JRE class by it name.
      *
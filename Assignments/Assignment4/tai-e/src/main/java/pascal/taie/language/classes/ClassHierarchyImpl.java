@@ -19,6 +19,7 @@ import pascal.taie.util.AnalysisException;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -56,6 +57,12 @@ public class ClassHierarchyImpl implements ClassHierarchy {
      */
     private final Map<JClass, Set<JClass>> directSubclasses = newMap();
 
+    /**
+     * Index of subtype relations, which is built on the first query,
+     * and discarded when a class is added.
+     */
+    private volatile HierarchyIndex index;
+
     @Override
     public void setDefaultClassLoader(JClassLoader loader) {
         this.defaultLoader = loader;
@@ -108,6 +115,7 @@ public class ClassHierarchyImpl implements ClassHierarchy {
                         .add(jclass);
             }
         }
+        index = null;
     }
 
     @Override
@@ -152,6 +160,34 @@ public class ClassHierarchyImpl implements ClassHierarchy {
         return directSubclasses.getOrDefault(jclass, Set.of());
     }
 
+    @Override
+    public Collection<JClass> getAllSubclassesOf(JClass jclass) {
+        HierarchyIndex index = getIndex();
+        return index.contains(jclass) ?
+                index.getAllSubclassesOf(jclass) : List.of(jclass);
+    }
+
+    @Override
+    public boolean isSubclass(JClass superclass, JClass subclass) {
+        HierarchyIndex index = getIndex();
+        return index.contains(superclass) && index.contains(subclass) ?
+                index.isSubclass(superclass, subclass) : superclass == subclass;
+    }
+
+    private HierarchyIndex getIndex() {
+        HierarchyIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = new HierarchyIndex(this);
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
     private static boolean checkCHA = false;
 
     public static void setCheckCHA(boolean checkCHA) {
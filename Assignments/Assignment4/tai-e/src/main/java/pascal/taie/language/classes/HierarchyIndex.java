@@ -0,0 +1,194 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.language.classes;
+
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed index of subtype relations of a class hierarchy.
+ *
+ * The classes (not interfaces) are numbered in pre-order of the tree
+ * formed by their superclasses, thus the subclasses of each class have
+ * consecutive ids, i.e., the subclasses of class {@code c} are the classes
+ * with ids in {@code [id(c), end[id(c)])}. The interfaces are numbered after
+ * the classes, and each interface has a bit set of the ids of its subtypes,
+ * i.e., its subinterfaces, its implementors and their subclasses.
+ *
+ * The index is immutable, and is rebuilt when classes are added to
+ * the hierarchy (see {@link ClassHierarchyImpl}).
+ */
+final class HierarchyIndex {
+
+    private final Map<JClass, Integer> ids = Maps.newMap();
+
+    /**
+     * The classes and interfaces, indexed by their ids.
+     */
+    private final JClass[] types;
+
+    /**
+     * Exclusive end of the id interval of the subclasses of each class.
+     */
+    private final int[] end;
+
+    /**
+     * Subtypes of each interface, indexed by id of the interface minus
+     * the number of classes.
+     */
+    private final BitSet[] subtypes;
+
+    private final int classCount;
+
+    HierarchyIndex(ClassHierarchy hierarchy) {
+        List<JClass> classes = new ArrayList<>();
+        List<JClass> interfaces = new ArrayList<>();
+        hierarchy.allClasses().forEach(c ->
+                (c.isInterface() ? interfaces : classes).add(c));
+        types = new JClass[classes.size() + interfaces.size()];
+        end = new int[types.length];
+        Set<JClass> classSet = Sets.newSet(classes.size());
+        classSet.addAll(classes);
+        // number classes in pre-order from the roots of the class tree,
+        // i.e., the classes whose superclasses are absent
+        int next = 0;
+        for (JClass c : classes) {
+            if (!ids.containsKey(c)) {
+                JClass root = c;
+                while (root.getSuperClass() != null
+                        && classSet.contains(root.getSuperClass())
+                        && !ids.containsKey(root.getSuperClass())) {
+                    root = root.getSuperClass();
+                }
+                next = numberSubclasses(hierarchy, classSet, root, next);
+            }
+        }
+        classCount = next;
+        for (JClass i : interfaces) {
+            ids.put(i, next);
+            types[next++] = i;
+        }
+        subtypes = new BitSet[interfaces.size()];
+        for (JClass i : interfaces) {
+            computeSubtypes(hierarchy, i);
+        }
+    }
+
+    /**
+     * Numbers the subclasses of given root class in pre-order.
+     *
+     * @return the next available id.
+     */
+    private int numberSubclasses(ClassHierarchy hierarchy, Set<JClass> classSet,
+                                 JClass root, int next) {
+        // each class is numbered when pushed, and its interval
+        // is closed when popped
+        Deque<JClass> stack = new ArrayDeque<>();
+        Deque<Iterator<JClass>> children = new ArrayDeque<>();
+        ids.put(root, next);
+        types[next++] = root;
+        stack.push(root);
+        children.push(hierarchy.getDirectSubclassesOf(root).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<JClass> iter = children.peek();
+            if (iter.hasNext()) {
+                JClass sub = iter.next();
+                if (classSet.contains(sub) && !ids.containsKey(sub)) {
+                    ids.put(sub, next);
+                    types[next++] = sub;
+                    stack.push(sub);
+                    children.push(hierarchy.getDirectSubclassesOf(sub).iterator());
+                }
+            } else {
+                end[ids.get(stack.pop())] = next;
+                children.pop();
+            }
+        }
+        return next;
+    }
+
+    private BitSet computeSubtypes(ClassHierarchy hierarchy, JClass iface) {
+        int index = ids.get(iface) - classCount;
+        BitSet result = subtypes[index];
+        if (result == null) {
+            result = new BitSet(types.length);
+            result.set(ids.get(iface));
+            for (JClass sub : hierarchy.getDirectSubinterfacesOf(iface)) {
+                if (ids.containsKey(sub)) {
+                    result.or(computeSubtypes(hierarchy, sub));
+                }
+            }
+            for (JClass impl : hierarchy.getDirectImplementorsOf(iface)) {
+                Integer id = ids.get(impl);
+                if (id != null) {
+                    result.set(id, end[id]);
+                }
+            }
+            subtypes[index] = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return true if given class is in this index, otherwise false.
+     */
+    boolean contains(JClass jclass) {
+        return ids.containsKey(jclass);
+    }
+
+    /**
+     * @return all subclasses of given class (including itself) if it is
+     * a class, or all subinterfaces and implementors and their subclasses
+     * (including itself) if it is an interface.
+     */
+    Collection<JClass> getAllSubclassesOf(JClass jclass) {
+        int id = ids.get(jclass);
+        if (id < classCount) {
+            return Collections.unmodifiableList(
+                    Arrays.asList(types).subList(id, end[id]));
+        } else {
+            BitSet bits = subtypes[id - classCount];
+            List<JClass> result = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(types[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @return true if subclass is a subclass of superclass (or the same
+     * class), or implements it, otherwise false.
+     */
+    boolean isSubclass(JClass superclass, JClass subclass) {
+        int sup = ids.get(superclass);
+        int sub = ids.get(subclass);
+        if (sup < classCount) {
+            return sup <= sub && sub < end[sup];
+        } else {
+            return subtypes[sup - classCount].get(sub);
+        }
+    }
+}
@@ -16,8 +16,11 @@ import org.junit.Assert;
 import pascal.taie.Main;
 import pascal.taie.World;
 import pascal.taie.analysis.dataflow.analysis.ResultProcessor;
+import pascal.taie.analysis.graph.callgraph.CallGraph;
 import pascal.taie.analysis.graph.callgraph.CallGraphBuilder;
 import pascal.taie.analysis.graph.cfg.CFGBuilder;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -25,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Static utility methods for testing.
@@ -87,7 +91,14 @@ public final class Tests {
         }
     }
 
-    public static void testCHA(String main) {
+    /**
+     * Tests CHA, whose results are compared with the expected ones.
+     *
+     * @param main the main class to be analyzed
+     * @param opts additional options for call graph construction,
+     *             in the form of {@code key:value}
+     */
+    public static void testCHA(String main, String... opts) {
         List<String> args = new ArrayList<>();
         args.add("-pp");
         String classPath = "src/test/resources/cha/";
@@ -97,8 +108,98 @@ public final class Tests {
         String file = Paths.get(classPath, main + "-expected.txt").toString();
         String chaArg = String.format("%s=algorithm:cha;pta:null;action:%s;file:%s",
                 CallGraphBuilder.ID, action, file);
+        for (String opt : opts) {
+            chaArg += ";" + opt;
+        }
+        Collections.addAll(args, "-a", chaArg);
+        Main.main(args.toArray(new String[0]));
+    }
+
+    /**
+     * Tests CHA on a program generated by {@link ProgramGenerator},
+     * where all methods but constructors of the classes that are never
+     * instantiated are reachable.
+     *
+     * @param statements approximate number of statements of the program
+     * @param opts       additional options for call graph construction,
+     *                   in the form of {@code key:value}
+     */
+    public static void testGeneratedCHA(int statements, String... opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        String classPath = ProgramGenerator.generate(statements).toString();
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", ProgramGenerator.MAIN_CLASS);
+        String chaArg = String.format("%s=algorithm:cha;pta:null;action:null",
+                CallGraphBuilder.ID);
+        for (String opt : opts) {
+            chaArg += ";" + opt;
+        }
         Collections.addAll(args, "-a", chaArg);
         Main.main(args.toArray(new String[0]));
+        CallGraph<Invoke, JMethod> callGraph = World.getResult(CallGraphBuilder.ID);
+        List<JMethod> unreachable = World.getClassHierarchy()
+                .applicationClasses()
+                .flatMap(c -> c.getDeclaredMethods().stream())
+                .filter(m -> !m.getName().equals("<init>") && !callGraph.contains(m))
+                .collect(Collectors.toList());
+        Assert.assertTrue("Unreachable methods:\n" +
+                        unreachable.stream()
+                                .map(JMethod::toString)
+                                .collect(Collectors.joining("\n")),
+                unreachable.isEmpty());
+    }
+
+    /**
+     * Tests RTA, whose call graph must be a subgraph of the one built
+     * by CHA on the same program.
+     *
+     * @param classPath where the main class is located
+     * @param main      the main class to be analyzed
+     * @return the numbers of reachable methods of the call graphs
+     * built by RTA and CHA.
+     */
+    public static int[] testRTA(String classPath, String main) {
+        CallGraph<Invoke, JMethod> cha = buildCallGraph(classPath, main, "cha");
+        Set<String> chaMethods = cha.reachableMethods()
+                .map(JMethod::toString)
+                .collect(Collectors.toSet());
+        Set<String> chaEdges = cha.edges()
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+        CallGraph<Invoke, JMethod> rta = buildCallGraph(classPath, main, "rta");
+        List<String> extraMethods = rta.reachableMethods()
+                .map(JMethod::toString)
+                .filter(m -> !chaMethods.contains(m))
+                .collect(Collectors.toList());
+        Assert.assertTrue("Methods reachable by RTA but not by CHA:\n" +
+                String.join("\n", extraMethods), extraMethods.isEmpty());
+        List<String> extraEdges = rta.edges()
+                .map(Object::toString)
+                .filter(e -> !chaEdges.contains(e))
+                .collect(Collectors.toList());
+        Assert.assertTrue("Edges built by RTA but not by CHA:\n" +
+                String.join("\n", extraEdges), extraEdges.isEmpty());
+        return new int[]{ rta.getNumberOfMethods(), cha.getNumberOfMethods() };
+    }
+
+    /**
+     * Builds the call graph of given program.
+     *
+     * @param classPath where the main class is located
+     * @param main      the main class to be analyzed
+     * @param algorithm the call graph construction algorithm, e.g., "rta"
+     */
+    public static CallGraph<Invoke, JMethod> buildCallGraph(
+            String classPath, String main, String algorithm) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", main);
+        Collections.addAll(args, "-a", String.format(
+                "%s=algorithm:%s;pta:null;action:null", CallGraphBuilder.ID, algorithm));
+        Main.main(args.toArray(new String[0]));
+        return World.getResult(CallGraphBuilder.ID);
     }
 
     public static void testPTA(String dir, String main, String... opts) {
@@ -21,8 +21,24 @@ public class InterCPTest {
     private static final String CLASS_PATH = "src/test/resources/dataflow/constprop/inter";
 
     static void test(String inputClass) {
+        test(inputClass, "");
+    }
+
+    /**
+     * @param opts additional options for the analysis, e.g., ";array-fact:true"
+     */
+    static void test(String inputClass, String opts) {
+        test(inputClass, opts, "");
+    }
+
+    /**
+     * @param cgOpts additional options for call graph construction,
+     *               e.g., ";compact:true"
+     */
+    static void test(String inputClass, String opts, String cgOpts) {
         Tests.testDFA(inputClass, CLASS_PATH, InterConstantPropagation.ID,
-                "edge-refine:false;alias-aware:false", "-a", "cg=algorithm:cha"
+                "edge-refine:false;alias-aware:false" + opts,
+                "-a", "cg=algorithm:cha" + cgOpts
                 // , "-a", "icfg=dump:true" // <-- uncomment this code if you want
                                             // to output ICFGs for the test cases
         );
@@ -47,4 +63,28 @@ public class InterCPTest {
     public void testMultiIntArgs() {
         InterCPTest.test("MultiIntArgs");
     }
+
+    @Test
+    public void testArrayFact() {
+        InterCPTest.test("Example", ";array-fact:true");
+        InterCPTest.test("Reference", ";array-fact:true");
+        InterCPTest.test("Fibonacci", ";array-fact:true");
+        InterCPTest.test("MultiIntArgs", ";array-fact:true");
+    }
+
+    @Test
+    public void testBasicBlocks() {
+        InterCPTest.test("Example", ";basic-blocks:true");
+        InterCPTest.test("Reference", ";basic-blocks:true");
+        InterCPTest.test("Fibonacci", ";basic-blocks:true;array-fact:true");
+        InterCPTest.test("MultiIntArgs", ";basic-blocks:true;array-fact:true");
+    }
+
+    @Test
+    public void testCompactCallGraph() {
+        InterCPTest.test("Example", "", ";compact:true");
+        InterCPTest.test("Reference", "", ";compact:true");
+        InterCPTest.test("Fibonacci", "", ";compact:true");
+        InterCPTest.test("MultiIntArgs", "", ";compact:true");
+    }
 }
@@ -36,4 +36,39 @@ public class CHATest {
     public void testAbstractMethod() {
         Tests.testCHA("AbstractMethod");
     }
+
+    @Test
+    public void testGenerated() {
+        Tests.testGeneratedCHA(1000);
+    }
+
+    @Test
+    public void testVirtualCallInParallel() {
+        Tests.testCHA("VirtualCall", "threads:4");
+    }
+
+    @Test
+    public void testInterfaceInParallel() {
+        Tests.testCHA("Interface", "threads:4");
+    }
+
+    @Test
+    public void testGeneratedInParallel() {
+        Tests.testGeneratedCHA(1000, "threads:4");
+    }
+
+    @Test
+    public void testVirtualCallCompact() {
+        Tests.testCHA("VirtualCall", "compact:true");
+    }
+
+    @Test
+    public void testInterfaceCompact() {
+        Tests.testCHA("Interface", "compact:true");
+    }
+
+    @Test
+    public void testGeneratedCompact() {
+        Tests.testGeneratedCHA(1000, "compact:true");
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph.rta;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pascal.taie.analysis.ProgramGenerator;
+import pascal.taie.analysis.Tests;
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.graph.callgraph.Edge;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class RTATest {
+
+    private static final String CLASS_PATH = "src/test/resources/cha/";
+
+    @Test
+    public void testStaticCall() {
+        Tests.testRTA(CLASS_PATH, "StaticCall");
+    }
+
+    @Test
+    public void testVirtualCall() {
+        Tests.testRTA(CLASS_PATH, "VirtualCall");
+        // C and D override foo() but are never instantiated
+        assertCallees("VirtualCall", "B.foo", "<A: void foo()>");
+    }
+
+    @Test
+    public void testInterface() {
+        Tests.testRTA(CLASS_PATH, "Interface");
+        // Zero and Two implement Number but are never instantiated
+        assertCallees("Interface", "Number.get", "<One: int get()>");
+    }
+
+    @Test
+    public void testAbstractMethod() {
+        Tests.testRTA(CLASS_PATH, "AbstractMethod");
+    }
+
+    @Test
+    public void testGenerated() {
+        // only the leaf classes of the generated class families are
+        // instantiated, so the methods overridden by them are unreachable
+        int[] reachable = Tests.testRTA(
+                ProgramGenerator.generate(1000).toString(),
+                ProgramGenerator.MAIN_CLASS);
+        Assert.assertTrue("RTA reaches " + reachable[0] +
+                        " methods, CHA reaches " + reachable[1],
+                reachable[0] < reachable[1]);
+    }
+
+    /**
+     * Asserts that the calls to given method resolve to exactly
+     * the expected callees in the call graph built by RTA.
+     *
+     * @param main     the main class to be analyzed
+     * @param method   the method referenced by the calls,
+     *                 in the form of ClassName.methodName
+     * @param expected the expected callees
+     */
+    private static void assertCallees(String main, String method, String... expected) {
+        CallGraph<Invoke, JMethod> rta = Tests.buildCallGraph(CLASS_PATH, main, "rta");
+        Set<String> callees = rta.edges()
+                .filter(edge -> method.equals(getReferencedMethod(edge.getCallSite())))
+                .map(Edge::getCallee)
+                .map(JMethod::toString)
+                .collect(Collectors.toSet());
+        Assert.assertEquals("Callees of " + method, Set.of(expected), callees);
+    }
+
+    private static String getReferencedMethod(Invoke callSite) {
+        return callSite.getMethodRef().getDeclaringClass().getName() + "." +
+                callSite.getMethodRef().getName();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.pta.ci;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.config.AnalysisOptions;
+
+/**
+ * Benchmark of context-insensitive pointer analysis {@link Solver}.
+ */
+@State(Scope.Benchmark)
+public class CIPTABenchmark {
+
+    @Param("src/test/resources/pta/cipta")
+    public String classPath;
+
+    @Param({"Array", "Assign", "Assign2", "Call", "Example", "InstanceField",
+            "MergeParam", "StaticCall", "StaticField", "StoreLoad",
+            "generated:1000", "generated:10000"})
+    public String main;
+
+    @Param({"entry", "delta"})
+    public String worklist;
+
+    @Param({"false", "true"})
+    public boolean cycleElimination;
+
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // runs the analysis once, so that the IRs of reachable methods
+        // are built before measurement
+        Benchmarks.buildWorld(classPath, main, CIPTA.ID + "=action:null");
+        options = Benchmarks.config(CIPTA.ID,
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true,
+                "only-app", false,
+                "worklist", worklist,
+                "cycle-elimination", cycleElimination,
+                "action", null,
+                "file", null).getOptions();
+    }
+
+    @Benchmark
+    public PointerAnalysisResult solve() {
+        Solver solver = new Solver(options, new AllocationSiteBasedModel(options));
+        solver.solve();
+        return solver.getResult();
+    }
+}
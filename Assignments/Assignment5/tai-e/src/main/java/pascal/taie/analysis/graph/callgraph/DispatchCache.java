@@ -0,0 +1,98 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JClass;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.classes.Subsignature;
+import pascal.taie.language.type.ClassType;
+import pascal.taie.language.type.Type;
+import pascal.taie.util.collection.Maps;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Memoized call resolution. Each class has a lazily filled, vtable-like
+ * map from subsignatures to the dispatched methods, which is filled by
+ * {@link CallGraphs#resolveCallee(Type, Invoke)} on missed lookups.
+ *
+ * Virtual and interface calls are looked up in the table of the class
+ * of the receiver object, and special calls in the table of the declaring
+ * class of the method reference. Static calls, and calls on receivers
+ * which are not class instances (e.g., arrays), are not dispatched via
+ * the tables.
+ */
+public class DispatchCache {
+
+    private final Map<JClass, Map<Subsignature, JMethod>> tables = Maps.newMap();
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * Resolves the callee of a call site with the type of the receiver object.
+     *
+     * @param type     type of the receiver object. If the callSite
+     *                 is static, this parameter is ignored (i.e., can be null).
+     * @param callSite the call site to be resolved.
+     * @return the resolved callee.
+     */
+    @Nullable
+    public JMethod resolveCallee(@Nullable Type type, Invoke callSite) {
+        JClass jclass;
+        if (callSite.isSpecial()) {
+            jclass = callSite.getMethodRef().getDeclaringClass();
+        } else if ((callSite.isVirtual() || callSite.isInterface())
+                && type instanceof ClassType) {
+            jclass = ((ClassType) type).getJClass();
+        } else {
+            return CallGraphs.resolveCallee(type, callSite);
+        }
+        Subsignature subsignature = callSite.getMethodRef().getSubsignature();
+        Map<Subsignature, JMethod> table =
+                tables.computeIfAbsent(jclass, c -> Maps.newMap());
+        JMethod callee = table.get(subsignature);
+        if (callee != null || table.containsKey(subsignature)) {
+            ++hits;
+            return callee;
+        }
+        ++misses;
+        callee = CallGraphs.resolveCallee(type, callSite);
+        table.put(subsignature, callee);
+        return callee;
+    }
+
+    /**
+     * @return the number of lookups in the tables.
+     */
+    public long getLookups() {
+        return hits + misses;
+    }
+
+    /**
+     * @return the fraction of lookups which are answered by the tables.
+     */
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d classes, %d lookups, hit rate %.1f%%",
+                tables.size(), getLookups(), getHitRate() * 100);
+    }
+}
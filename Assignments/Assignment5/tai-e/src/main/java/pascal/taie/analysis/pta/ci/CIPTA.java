@@ -32,7 +32,7 @@ public class CIPTA extends InterproceduralAnalysis {
     @Override
     public PointerAnalysisResult analyze() {
         HeapModel heapModel = new AllocationSiteBasedModel(getOptions());
-        Solver solver = new Solver(heapModel);
+        Solver solver = new Solver(getOptions(), heapModel);
         solver.solve();
         CIPTAResult result = solver.getResult();
         new ResultProcessor(getOptions()).process(result);
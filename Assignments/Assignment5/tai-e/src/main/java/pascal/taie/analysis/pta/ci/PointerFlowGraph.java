@@ -18,12 +18,22 @@ import pascal.taie.language.classes.JField;
 import pascal.taie.util.collection.Maps;
 import pascal.taie.util.collection.Sets;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * Represents pointer flow graph in pointer analysis.
+ *
+ * Pointers in a cycle of this PFG always have the same points-to set,
+ * thus they can be merged into one representative node, which shares
+ * its points-to set and edges with all pointers merged into it.
+ * Queries on a merged pointer are redirected to its representative.
  */
 class PointerFlowGraph {
 
@@ -57,6 +67,21 @@ class PointerFlowGraph {
      */
     private final Map<Pointer, Set<Pointer>> successors = Maps.newMap();
 
+    /**
+     * Map from a merged pointer to the pointer it was merged into.
+     */
+    private final Map<Pointer, Pointer> parents = Maps.newMap();
+
+    /**
+     * Map from a representative to the pointers merged into it.
+     */
+    private final Map<Pointer, List<Pointer>> mergedPointers = Maps.newMap();
+
+    /**
+     * Number of cycles collapsed in this PFG.
+     */
+    private int collapsedCycles;
+
     /**
      * Returns all pointers in this PFG.
      */
@@ -110,6 +135,31 @@ class PointerFlowGraph {
         });
     }
 
+    /**
+     * @return the representative of given pointer. If the pointer
+     * has not been merged, returns the pointer itself.
+     */
+    Pointer getRepresentative(Pointer pointer) {
+        Pointer parent = parents.get(pointer);
+        if (parent == null) {
+            return pointer;
+        }
+        Pointer rep = getRepresentative(parent);
+        if (rep != parent) { // path compression
+            parents.put(pointer, rep);
+        }
+        return rep;
+    }
+
+    /**
+     * @return given representative and all pointers merged into it.
+     */
+    Stream<Pointer> membersOf(Pointer rep) {
+        List<Pointer> merged = mergedPointers.get(rep);
+        return merged == null ? Stream.of(rep) :
+                Stream.concat(Stream.of(rep), merged.stream());
+    }
+
     /**
      * Adds an edge (source -> target) to this PFG.
      *
@@ -117,14 +167,110 @@ class PointerFlowGraph {
      * otherwise false.
      */
     boolean addEdge(Pointer source, Pointer target) {
-        return successors.computeIfAbsent(source, p -> Sets.newHybridSet())
-                .add(target);
+        Pointer s = getRepresentative(source);
+        Pointer t = getRepresentative(target);
+        if (s == t) {
+            return false;
+        }
+        return successors.computeIfAbsent(s, p -> Sets.newHybridSet())
+                .add(t);
     }
 
     /**
      * @return successors of given pointer in the PFG.
      */
     Stream<Pointer> succsOf(Pointer pointer) {
-        return successors.getOrDefault(pointer, Set.of()).stream();
+        Pointer rep = getRepresentative(pointer);
+        Stream<Pointer> succs = successors.getOrDefault(rep, Set.of()).stream();
+        if (parents.isEmpty()) {
+            return succs;
+        }
+        return succs.map(this::getRepresentative)
+                .filter(succ -> succ != rep)
+                .distinct();
+    }
+
+    /**
+     * Searches cycles that go through edge (to -> from). Every pointer
+     * on a path from {@code from} to {@code to} belongs to such cycles.
+     *
+     * @return representatives of the pointers on the found cycles,
+     * including {@code to} and {@code from}, or an empty set if
+     * there is no such cycle.
+     */
+    Set<Pointer> findCycle(Pointer from, Pointer to) {
+        from = getRepresentative(from);
+        to = getRepresentative(to);
+        Set<Pointer> inCycle = Sets.newSet();
+        inCycle.add(to);
+        Set<Pointer> visited = Sets.newSet();
+        visited.add(from);
+        Deque<Pointer> path = new ArrayDeque<>();
+        Deque<Iterator<Pointer>> succIters = new ArrayDeque<>();
+        path.push(from);
+        succIters.push(succsOf(from).iterator());
+        while (!path.isEmpty()) {
+            Iterator<Pointer> succIter = succIters.peek();
+            if (succIter.hasNext()) {
+                Pointer succ = succIter.next();
+                if (inCycle.contains(succ)) {
+                    // all pointers on current path reach the cycle
+                    inCycle.addAll(path);
+                } else if (visited.add(succ)) {
+                    path.push(succ);
+                    succIters.push(succsOf(succ).iterator());
+                }
+            } else {
+                path.pop();
+                succIters.pop();
+            }
+        }
+        return inCycle.size() > 1 ? inCycle : Set.of();
+    }
+
+    /**
+     * Merges given pointers into representative {@code rep}.
+     * Afterwards, all these pointers share the points-to set and
+     * the successors of {@code rep}.
+     */
+    void merge(Pointer rep, Set<Pointer> pointers) {
+        PointsToSet pointsToSet = rep.getPointsToSet();
+        Set<Pointer> repSuccs = successors.computeIfAbsent(rep,
+                p -> Sets.newHybridSet());
+        List<Pointer> repMerged = mergedPointers.computeIfAbsent(rep,
+                p -> new ArrayList<>());
+        for (Pointer pointer : pointers) {
+            if (pointer.equals(rep)) {
+                continue;
+            }
+            Set<Pointer> succs = successors.remove(pointer);
+            if (succs != null) {
+                repSuccs.addAll(succs);
+            }
+            List<Pointer> merged = mergedPointers.remove(pointer);
+            if (merged != null) {
+                merged.forEach(p -> p.setPointsToSet(pointsToSet));
+                repMerged.addAll(merged);
+            }
+            pointer.setPointsToSet(pointsToSet);
+            repMerged.add(pointer);
+            parents.put(pointer, rep);
+        }
+        repSuccs.removeIf(succ -> getRepresentative(succ).equals(rep));
+        ++collapsedCycles;
+    }
+
+    /**
+     * @return the number of cycles collapsed in this PFG.
+     */
+    int getCollapsedCycles() {
+        return collapsedCycles;
+    }
+
+    /**
+     * @return the number of pointers merged into their representatives.
+     */
+    int getMergedPointers() {
+        return parents.size();
     }
 }
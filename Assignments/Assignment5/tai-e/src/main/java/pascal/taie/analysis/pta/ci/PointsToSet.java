@@ -50,6 +50,13 @@ class PointsToSet implements Iterable<Obj> {
         return set.add(obj);
     }
 
+    /**
+     * @return true if this set contains given object, otherwise false.
+     */
+    boolean contains(Obj obj) {
+        return set.contains(obj);
+    }
+
     /**
      * @return whether this set if empty.
      */
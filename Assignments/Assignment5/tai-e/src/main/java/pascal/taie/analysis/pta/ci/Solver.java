@@ -15,12 +15,13 @@ package pascal.taie.analysis.pta.ci;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pascal.taie.World;
-import pascal.taie.analysis.graph.callgraph.CallGraphs;
 import pascal.taie.analysis.graph.callgraph.CallKind;
 import pascal.taie.analysis.graph.callgraph.DefaultCallGraph;
+import pascal.taie.analysis.graph.callgraph.DispatchCache;
 import pascal.taie.analysis.graph.callgraph.Edge;
 import pascal.taie.analysis.pta.core.heap.HeapModel;
 import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.config.AnalysisOptions;
 import pascal.taie.ir.exp.Exp;
 import pascal.taie.ir.exp.FieldAccess;
 import pascal.taie.ir.exp.InvokeExp;
@@ -30,13 +31,20 @@ import pascal.taie.language.classes.ClassHierarchy;
 import pascal.taie.language.classes.JField;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.type.Type;
+import pascal.taie.util.collection.Pair;
+import pascal.taie.util.collection.Sets;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 class Solver {
 
     private static final Logger logger = LogManager.getLogger(Solver.class);
 
+    private final AnalysisOptions options;
+
     private final HeapModel heapModel;
 
     private DefaultCallGraph callGraph;
@@ -49,7 +57,20 @@ class Solver {
 
     private ClassHierarchy hierarchy;
 
-    Solver(HeapModel heapModel) {
+    private DispatchCache dispatchCache;
+
+    /**
+     * Whether collapse the cycles in PFG.
+     */
+    private boolean cycleElimination;
+
+    /**
+     * PFG edges that have been checked by cycle detection.
+     */
+    private Set<Pair<Pointer, Pointer>> checkedEdges;
+
+    Solver(AnalysisOptions options, HeapModel heapModel) {
+        this.options = options;
         this.heapModel = heapModel;
     }
 
@@ -59,23 +80,41 @@ class Solver {
     void solve() {
         initialize();
         analyze();
+        logger.info("Dispatch cache: {}", dispatchCache);
+        if (cycleElimination) {
+            logger.info("Cycle elimination collapsed {} cycles, merged {} pointers",
+                    pointerFlowGraph.getCollapsedCycles(),
+                    pointerFlowGraph.getMergedPointers());
+        }
     }
 
     /**
      * Initializes pointer analysis.
      */
     private void initialize() {
-        workList = new WorkList();
+        workList = new WorkList(getOption("worklist", "entry").equals("delta"));
+        cycleElimination = options.has("cycle-elimination") &&
+                options.getBoolean("cycle-elimination");
+        checkedEdges = Sets.newSet();
         pointerFlowGraph = new PointerFlowGraph();
         callGraph = new DefaultCallGraph();
         stmtProcessor = new StmtProcessor();
         hierarchy = World.getClassHierarchy();
+        dispatchCache = new DispatchCache();
         // initialize main method
         JMethod main = World.getMainMethod();
         callGraph.addEntryMethod(main);
         addReachable(main);
     }
 
+    /**
+     * @return value of given option, or defaultValue if the option
+     * is not specified.
+     */
+    private String getOption(String key, String defaultValue) {
+        return options.has(key) ? options.getString(key) : defaultValue;
+    }
+
     /**
      * Processes new reachable method.
      */
@@ -181,52 +220,143 @@ class Solver {
     private void analyze() {
         // TODO - finish me
         while(!workList.isEmpty()){
-            PointsToSet diffPointToSet=new PointsToSet();
             WorkList.Entry entry=workList.pollEntry();
-            diffPointToSet=propagate(entry.pointer,entry.pointsToSet);
-            if(entry.pointer instanceof  VarPtr){
-                VarPtr varPtr=(VarPtr) entry.pointer;
-                Var var=varPtr.getVar();
-               if(diffPointToSet!=null&&!diffPointToSet.isEmpty()){
-                   for(Obj obj:diffPointToSet){
-                       List<StoreField>storeFields=var.getStoreFields();
-                       for(StoreField storeField:storeFields){
-                           Var rVar=storeField.getRValue();
-                           VarPtr rVarPtr=pointerFlowGraph.getVarPtr(rVar);
-                           JField field=storeField.getFieldRef().resolve();
-                           InstanceField instanceField=pointerFlowGraph.getInstanceField(obj,field);
-                           addPFGEdge(rVarPtr,instanceField);
-
-                       }
-                       List<LoadField>loadFields=var.getLoadFields();
-                       for(LoadField loadField:loadFields){
-                           Var lVar=loadField.getLValue();
-                           VarPtr lVarPtr=pointerFlowGraph.getVarPtr(lVar);
-                           JField field=loadField.getFieldRef().resolve();
-                           InstanceField instanceField=pointerFlowGraph.getInstanceField(obj,field);
-                           addPFGEdge(instanceField,lVarPtr);
-                       }
-                       List<StoreArray>storeArrays=var.getStoreArrays();
-                       for(StoreArray storeArray:storeArrays){
-                           Var rVar=storeArray.getRValue();
-                           VarPtr rVarPtr=pointerFlowGraph.getVarPtr(rVar);
-                           ArrayIndex arrayIndex=pointerFlowGraph.getArrayIndex(obj);
-                           addPFGEdge(rVarPtr,arrayIndex);
-                       }
-                       List<LoadArray>loadArrays=var.getLoadArrays();
-                       for(LoadArray loadArray:loadArrays){
-                           Var lVar=loadArray.getLValue();
-                           VarPtr lVarPtr=pointerFlowGraph.getVarPtr(lVar);
-                           ArrayIndex arrayIndex=pointerFlowGraph.getArrayIndex(obj);
-                           addPFGEdge(arrayIndex,lVarPtr);
-                       }
-                       processCall(var,obj);
-                   }
-               }
+            Pointer pointer=pointerFlowGraph.getRepresentative(entry.pointer);
+            PointsToSet diffPointToSet=propagate(pointer,entry.pointsToSet);
+            if(diffPointToSet!=null&&!diffPointToSet.isEmpty()){
+                pointerFlowGraph.membersOf(pointer).forEach(member->
+                        processNewObjects(member,diffPointToSet));
+                if(cycleElimination){
+                    eliminateCycles(pointer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes the statements of pointer when new objects
+     * flow to it, if the pointer is a variable.
+     */
+    private void processNewObjects(Pointer pointer, PointsToSet diffPointToSet) {
+        if(pointer instanceof  VarPtr){
+            VarPtr varPtr=(VarPtr) pointer;
+            Var var=varPtr.getVar();
+            for(Obj obj:diffPointToSet){
+                List<StoreField>storeFields=var.getStoreFields();
+                for(StoreField storeField:storeFields){
+                    Var rVar=storeField.getRValue();
+                    VarPtr rVarPtr=pointerFlowGraph.getVarPtr(rVar);
+                    JField field=storeField.getFieldRef().resolve();
+                    InstanceField instanceField=pointerFlowGraph.getInstanceField(obj,field);
+                    addPFGEdge(rVarPtr,instanceField);
+
+                }
+                List<LoadField>loadFields=var.getLoadFields();
+                for(LoadField loadField:loadFields){
+                    Var lVar=loadField.getLValue();
+                    VarPtr lVarPtr=pointerFlowGraph.getVarPtr(lVar);
+                    JField field=loadField.getFieldRef().resolve();
+                    InstanceField instanceField=pointerFlowGraph.getInstanceField(obj,field);
+                    addPFGEdge(instanceField,lVarPtr);
+                }
+                List<StoreArray>storeArrays=var.getStoreArrays();
+                for(StoreArray storeArray:storeArrays){
+                    Var rVar=storeArray.getRValue();
+                    VarPtr rVarPtr=pointerFlowGraph.getVarPtr(rVar);
+                    ArrayIndex arrayIndex=pointerFlowGraph.getArrayIndex(obj);
+                    addPFGEdge(rVarPtr,arrayIndex);
+                }
+                List<LoadArray>loadArrays=var.getLoadArrays();
+                for(LoadArray loadArray:loadArrays){
+                    Var lVar=loadArray.getLValue();
+                    VarPtr lVarPtr=pointerFlowGraph.getVarPtr(lVar);
+                    ArrayIndex arrayIndex=pointerFlowGraph.getArrayIndex(obj);
+                    addPFGEdge(arrayIndex,lVarPtr);
+                }
+                processCall(var,obj);
             }
         }
     }
 
+    /**
+     * Lazy cycle detection: when pointer and its successor have the same
+     * points-to set, the edge between them is likely on a cycle. Each edge
+     * is checked at most once, and found cycles are collapsed into pointer.
+     */
+    private void eliminateCycles(Pointer pointer) {
+        PointsToSet pointsToSet=pointer.getPointsToSet();
+        List<Pointer> succs=pointerFlowGraph.succsOf(pointer)
+                .collect(Collectors.toList());
+        for(Pointer succ:succs){
+            succ=pointerFlowGraph.getRepresentative(succ);
+            if(succ!=pointer
+                    && isSame(pointsToSet,succ.getPointsToSet())
+                    && checkedEdges.add(new Pair<>(pointer,succ))){
+                Set<Pointer> cycle=pointerFlowGraph.findCycle(succ,pointer);
+                if(!cycle.isEmpty()){
+                    collapse(pointer,cycle);
+                }
+            }
+        }
+    }
+
+    private static boolean isSame(PointsToSet pts1, PointsToSet pts2) {
+        if(pts1.size()!=pts2.size()){
+            return false;
+        }
+        for(Obj obj:pts1){
+            if(!pts2.contains(obj)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges the pointers in a cycle into representative rep. Before that,
+     * each pointer processes the objects that it has not seen in the
+     * union of the points-to sets of the cycle.
+     */
+    private void collapse(Pointer rep, Set<Pointer> cycle) {
+        PointsToSet pointsToSet=rep.getPointsToSet();
+        List<PointsToSet> oldPointsToSets=new ArrayList<>();
+        PointsToSet repDiff=new PointsToSet();
+        for(Pointer pointer:cycle){
+            if(pointer!=rep){
+                oldPointsToSets.add(pointer.getPointsToSet());
+                for(Obj obj:pointer.getPointsToSet()){
+                    if(pointsToSet.addObject(obj)){
+                        repDiff.addObject(obj);
+                    }
+                }
+            }
+        }
+        if(!repDiff.isEmpty()){
+            pointerFlowGraph.membersOf(rep).forEach(member->
+                    processNewObjects(member,repDiff));
+        }
+        int i=0;
+        for(Pointer pointer:cycle){
+            if(pointer!=rep){
+                PointsToSet oldPointsToSet=oldPointsToSets.get(i++);
+                PointsToSet diff=new PointsToSet();
+                for(Obj obj:pointsToSet){
+                    if(!oldPointsToSet.contains(obj)){
+                        diff.addObject(obj);
+                    }
+                }
+                if(!diff.isEmpty()){
+                    pointerFlowGraph.membersOf(pointer).forEach(member->
+                            processNewObjects(member,diff));
+                }
+            }
+        }
+        pointerFlowGraph.merge(rep,cycle);
+        // successors of the merged pointers may miss some objects of rep
+        pointerFlowGraph.succsOf(rep).forEach(succ->
+                workList.addEntry(succ,pointsToSet));
+    }
+
     /**
      * Propagates pointsToSet to pt(pointer) and its PFG successors,
      * returns the difference set of pointsToSet and pt(pointer).
@@ -242,9 +372,11 @@ class Solver {
                 diffPointsToSet.addObject(obj);
             }
         }
-        pointerFlowGraph.succsOf(pointer).forEach(succ->{
-            workList.addEntry(succ,diffPointsToSet);
-        });
+        if(!diffPointsToSet.isEmpty()){
+            pointerFlowGraph.succsOf(pointer).forEach(succ->{
+                workList.addEntry(succ,diffPointsToSet);
+            });
+        }
         return diffPointsToSet;
     }
 
@@ -308,7 +440,7 @@ class Solver {
      */
     private JMethod resolveCallee(Obj recv, Invoke callSite) {
         Type type = recv != null ? recv.getType() : null;
-        return CallGraphs.resolveCallee(type, callSite);
+        return dispatchCache.resolveCallee(type, callSite);
     }
 
     CIPTAResult getResult() {
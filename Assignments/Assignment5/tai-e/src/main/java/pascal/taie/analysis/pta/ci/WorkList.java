@@ -12,7 +12,12 @@
 
 package pascal.taie.analysis.pta.ci;
 
+import pascal.taie.analysis.pta.core.heap.Obj;
+
 import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Queue;
 
 /**
@@ -22,11 +27,34 @@ class WorkList {
 
     private final Queue<Entry> entries = new ArrayDeque<>();
 
+    /**
+     * Map from a pointer to the objects pending to be propagated to it.
+     * If it is not null, entries of the same pointer are merged into
+     * one delta set instead of being queued in {@link #entries}.
+     */
+    private final Map<Pointer, PointsToSet> deltas;
+
+    /**
+     * @param mergeEntries whether merge the entries of the same pointer.
+     */
+    WorkList(boolean mergeEntries) {
+        this.deltas = mergeEntries ? new LinkedHashMap<>() : null;
+    }
+
     /**
      * Adds an entry to the work list.
      */
     void addEntry(Pointer pointer, PointsToSet pointsToSet) {
-        entries.add(new Entry(pointer, pointsToSet));
+        if (deltas == null) {
+            entries.add(new Entry(pointer, pointsToSet));
+        } else {
+            // the given set may be the live points-to set of another
+            // pointer, thus it is copied instead of being kept
+            PointsToSet delta = deltas.computeIfAbsent(pointer, p -> new PointsToSet());
+            for (Obj obj : pointsToSet) {
+                delta.addObject(obj);
+            }
+        }
     }
 
     /**
@@ -34,14 +62,23 @@ class WorkList {
      * if this work list is empty.
      */
     Entry pollEntry() {
-        return entries.poll();
+        if (deltas == null) {
+            return entries.poll();
+        }
+        Iterator<Map.Entry<Pointer, PointsToSet>> it = deltas.entrySet().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        Map.Entry<Pointer, PointsToSet> delta = it.next();
+        it.remove();
+        return new Entry(delta.getKey(), delta.getValue());
     }
 
     /**
      * @return true if the work list is empty, otherwise false.
      */
     boolean isEmpty() {
-        return entries.isEmpty();
+        return deltas == null ? entries.isEmpty() : deltas.isEmpty();
     }
 
     /**
@@ -60,6 +97,6 @@ class WorkList {
         }
     }
     int getSize(){
-        return entries.size();
+        return deltas == null ? entries.size() : deltas.size();
     }
 }
@@ -0,0 +1,437 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates synthetic Java programs of tunable size for stress-testing
+ * and benchmarking the analyses.
+ *
+ * <p>A generated program consists of:
+ * <ul>
+ *     <li>class families, each of which is a root class with
+ *     {@code fanOut} inheritance chains of length {@code depth} below it.
+ *     Every virtual call is made on the root type whose receiver is
+ *     created by a factory returning the leaf class of each chain, i.e.,
+ *     CHA resolves {@code 1 + depth * fanOut} targets for the call while
+ *     pointer analysis resolves {@code fanOut} targets.</li>
+ *     <li>field and array stores/loads on the receiver objects.</li>
+ *     <li>container-style object flows through class {@code Box}, which
+ *     stores elements in a growable array (like an ArrayList).</li>
+ *     <li>source-sink chains for taint analysis, each of which passes
+ *     a tainted value through {@code depth} methods and containers
+ *     before it reaches a sink.</li>
+ * </ul>
+ * The program is written in the source language level accepted by
+ * the frontend, i.e., without generics, lambdas, etc.
+ */
+public class ProgramGenerator {
+
+    /**
+     * Name of main class of generated programs.
+     */
+    public static final String MAIN_CLASS = "Main";
+
+    /**
+     * Name of the taint configuration file of generated programs.
+     */
+    public static final String TAINT_CONFIG = "taint-config.yml";
+
+    /**
+     * Directory where {@link #generate(int)} writes programs.
+     */
+    private static final Path OUTPUT_DIR = Paths.get("build", "generated-programs");
+
+    /**
+     * Version of the shape of generated programs, which is part of the
+     * names of the directories of reused programs. Increase it whenever
+     * the generated code changes, so that stale programs are not reused.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Number of statements emitted by each store and container knob.
+     */
+    private static final int STORE_STMTS = 4, CONTAINER_STMTS = 3;
+
+    private final int classes;
+
+    private final int depth;
+
+    private final int fanOut;
+
+    private final int methods;
+
+    private final int stores;
+
+    private final int containers;
+
+    private final int taintChains;
+
+    /**
+     * Number of statements emitted so far.
+     */
+    private int statements;
+
+    /**
+     * @param classes     number of classes in the class families
+     * @param depth       length of inheritance chains (and taint chains)
+     * @param fanOut      number of inheritance chains in each family,
+     *                    i.e., number of receiver types of virtual calls
+     * @param methods     number of virtual methods of each class
+     * @param stores      number of field and array store/load groups
+     *                    in each method
+     * @param containers  number of container flows in each method
+     * @param taintChains number of source-sink chains
+     */
+    public ProgramGenerator(int classes, int depth, int fanOut, int methods,
+                            int stores, int containers, int taintChains) {
+        if (classes < 1 || depth < 1 || fanOut < 1 || methods < 1 ||
+                stores < 0 || containers < 0 || taintChains < 0) {
+            throw new IllegalArgumentException("Invalid size knobs");
+        }
+        this.classes = classes;
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.methods = methods;
+        this.stores = stores;
+        this.containers = containers;
+        this.taintChains = taintChains;
+    }
+
+    /**
+     * @return a generator whose programs contain about given number of
+     * statements, with the default shape of class hierarchy and methods.
+     */
+    public static ProgramGenerator ofSize(int statements) {
+        int depth = 3, fanOut = 3, methods = 4, stores = 2, containers = 1;
+        int stmtsPerMethod = stores * STORE_STMTS +
+                containers * CONTAINER_STMTS + 2;
+        // non-root classes override about half of the methods
+        int stmtsPerClass = stmtsPerMethod * (methods + 1) / 2;
+        int classes = Math.max(1, statements / stmtsPerClass);
+        int taintChains = Math.max(1, statements / 1000);
+        return new ProgramGenerator(classes, depth, fanOut, methods,
+                stores, containers, taintChains);
+    }
+
+    /**
+     * Generates a program of about given number of statements by
+     * {@link #ofSize(int)}, or reuses the one generated before
+     * by the same version of generator with the same knobs.
+     *
+     * @return the class path of the program.
+     */
+    public static Path generate(int statements) {
+        ProgramGenerator generator = ofSize(statements);
+        Path dir = OUTPUT_DIR.resolve(generator.getKey());
+        // main class is written last, thus its existence indicates
+        // that the program has been generated completely
+        if (!Files.exists(dir.resolve(MAIN_CLASS + ".java"))) {
+            generator.generate(dir);
+        }
+        return dir;
+    }
+
+    /**
+     * @return the key which identifies the programs of this generator,
+     * i.e., the version and the size knobs.
+     */
+    private String getKey() {
+        return String.format("v%d-c%d-d%d-f%d-m%d-s%d-b%d-t%d", VERSION,
+                classes, depth, fanOut, methods, stores, containers, taintChains);
+    }
+
+    /**
+     * Generates a program whose main class has a method of about given
+     * number of statements (in the IR), or reuses the one generated before.
+     *
+     * <p>The method consists of blocks of integer computations. Each block
+     * contains an if statement and a switch statement on a constant
+     * (so that some of their branches are unreachable) and a dead
+     * assignment, which stresses the intraprocedural analyses and
+     * dead code detection on a single large CFG. Due to the limit of
+     * code size of a method in class files, the size should not exceed
+     * about 15000.
+     *
+     * @return the class path of the program.
+     */
+    public static Path generateLongMethod(int statements) {
+        Path dir = OUTPUT_DIR.resolve(String.format(
+                "v%d-long-method-%d", VERSION, statements));
+        if (!Files.exists(dir.resolve(MAIN_CLASS + ".java"))) {
+            try {
+                Files.createDirectories(dir);
+                write(dir, MAIN_CLASS, generateLongMethodClass(statements));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return dir;
+    }
+
+    private static StringBuilder generateLongMethodClass(int statements) {
+        // each block is lowered to about 18 statements in the IR
+        int blocks = Math.max(1, statements / 18);
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(MAIN_CLASS).append(" {\n\n");
+        sb.append("    public static void main(String[] args) {\n");
+        sb.append("        run(args.length);\n");
+        sb.append("    }\n\n");
+        sb.append("    static int run(int n) {\n");
+        sb.append("        int s = n;\n");
+        sb.append("        int a, b, d;\n");
+        for (int i = 0; i < blocks; ++i) {
+            sb.append("        a = ").append(i % 3).append(";\n");
+            sb.append("        b = n + a;\n");
+            sb.append("        if (a > 0) {\n");
+            sb.append("            s = s + b;\n");
+            sb.append("        } else {\n");
+            sb.append("            s = s - b;\n");
+            sb.append("        }\n");
+            sb.append("        d = s * 2;\n");
+            sb.append("        switch (a) {\n");
+            for (int c = 0; c < 2; ++c) {
+                sb.append("            case ").append(c).append(":\n");
+                sb.append("                s = s + ").append(c + 1).append(";\n");
+                sb.append("                break;\n");
+            }
+            sb.append("            default:\n");
+            sb.append("                s = s + 3;\n");
+            sb.append("        }\n");
+        }
+        sb.append("        return s;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb;
+    }
+
+    /**
+     * @return number of statements emitted by the last {@link #generate(Path)}.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Writes the generated program to given directory, one class per file.
+     *
+     * @return the directory, which can be used as class path.
+     */
+    public Path generate(Path dir) {
+        statements = 0;
+        try {
+            Files.createDirectories(dir);
+            int familySize = 1 + depth * fanOut;
+            int families = (classes + familySize - 1) / familySize;
+            for (int f = 0; f < families; ++f) {
+                for (int k = 0; k < familySize; ++k) {
+                    write(dir, className(f, k), generateClass(f, k));
+                }
+            }
+            write(dir, "Box", generateBox());
+            for (int c = 0; c < taintChains; ++c) {
+                write(dir, "Taint" + c, generateTaintChain(c));
+            }
+            if (taintChains > 0) {
+                write(dir, "SourceSink", generateSourceSink());
+                Files.writeString(dir.resolve(TAINT_CONFIG), generateTaintConfig());
+            }
+            write(dir, MAIN_CLASS, generateMain(families));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dir;
+    }
+
+    private static void write(Path dir, String className, CharSequence content)
+            throws IOException {
+        Files.writeString(dir.resolve(className + ".java"), content);
+    }
+
+    private static String className(int family, int k) {
+        return "F" + family + "_" + k;
+    }
+
+    /**
+     * @return index (in its family) of the superclass of k-th class.
+     * The 0-th class is the root, and class 1 + (l - 1) * fanOut + b
+     * is the l-th level of b-th chain.
+     */
+    private int superIndex(int k) {
+        return k <= fanOut ? 0 : k - fanOut;
+    }
+
+    private int level(int k) {
+        return k == 0 ? 0 : (k - 1) / fanOut + 1;
+    }
+
+    private StringBuilder generateClass(int f, int k) {
+        StringBuilder sb = new StringBuilder();
+        String root = className(f, 0);
+        String name = className(f, k);
+        if (k == 0) {
+            sb.append("class ").append(name).append(" {\n\n");
+            sb.append("    int n;\n\n");
+            sb.append("    Object f;\n\n");
+            sb.append("    Object[] arr = new Object[4];\n\n");
+            // factory which creates the leaf class of each chain
+            sb.append("    static ").append(root).append(" create(int n) {\n");
+            for (int b = 1; b < fanOut; ++b) {
+                sb.append("        if (n == ").append(b).append(") {\n");
+                stmt(sb, 3, "return new " + className(f, leaf(b)) + "()");
+                sb.append("        }\n");
+            }
+            stmt(sb, 2, "return new " + className(f, leaf(0)) + "()");
+            sb.append("    }\n");
+        } else {
+            sb.append("class ").append(name).append(" extends ")
+                    .append(className(f, superIndex(k))).append(" {\n");
+        }
+        for (int j = 0; j < methods; ++j) {
+            // non-root classes override half of the methods, so that
+            // the dispatch has to walk up the chain for the others
+            if (k == 0 || (j + level(k)) % 2 == 0) {
+                sb.append('\n');
+                generateMethod(sb, root, j);
+            }
+        }
+        sb.append("}\n");
+        return sb;
+    }
+
+    private int leaf(int chain) {
+        return 1 + (depth - 1) * fanOut + chain;
+    }
+
+    private void generateMethod(StringBuilder sb, String root, int j) {
+        sb.append("    Object m").append(j).append("(Object o) {\n");
+        String v = "o";
+        for (int s = 0; s < stores; ++s) {
+            int i = s % 4;
+            stmt(sb, 2, "this.f = " + v);
+            stmt(sb, 2, "Object v" + s + " = this.f");
+            stmt(sb, 2, "this.arr[" + i + "] = v" + s);
+            stmt(sb, 2, "Object a" + s + " = this.arr[" + (3 - i) + "]");
+            v = "a" + s;
+        }
+        for (int c = 0; c < containers; ++c) {
+            stmt(sb, 2, "Box b" + c + " = new Box()");
+            stmt(sb, 2, "b" + c + ".add(" + v + ")");
+            stmt(sb, 2, "Object c" + c + " = b" + c + ".get(0)");
+            v = "c" + c;
+        }
+        if (j + 1 < methods) {
+            stmt(sb, 2, root + " r = " + root + ".create(this.n)");
+            stmt(sb, 2, "return r.m" + (j + 1) + "(" + v + ")");
+        } else {
+            stmt(sb, 2, "return " + v);
+        }
+        sb.append("    }\n");
+    }
+
+    private StringBuilder generateBox() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class Box {\n\n");
+        sb.append("    private Object[] elements = new Object[4];\n\n");
+        sb.append("    private int size = 0;\n\n");
+        sb.append("    void add(Object o) {\n");
+        sb.append("        if (size == elements.length) {\n");
+        stmt(sb, 3, "Object[] tmp = new Object[size * 2]");
+        sb.append("            for (int i = 0; i < size; i++) {\n");
+        stmt(sb, 4, "tmp[i] = elements[i]");
+        sb.append("            }\n");
+        stmt(sb, 3, "elements = tmp");
+        sb.append("        }\n");
+        stmt(sb, 2, "elements[size] = o");
+        stmt(sb, 2, "size = size + 1");
+        sb.append("    }\n\n");
+        sb.append("    Object get(int i) {\n");
+        stmt(sb, 2, "return elements[i]");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb;
+    }
+
+    private StringBuilder generateTaintChain(int c) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class Taint").append(c).append(" {\n\n");
+        sb.append("    static void run() {\n");
+        stmt(sb, 2, "String s = SourceSink.source()");
+        stmt(sb, 2, "SourceSink.sink(step0(s))");
+        stmt(sb, 2, "SourceSink.sink(step0(new String()))");
+        sb.append("    }\n");
+        for (int l = 0; l < depth; ++l) {
+            sb.append("\n    static String step").append(l).append("(String s) {\n");
+            stmt(sb, 2, "Box b = new Box()");
+            stmt(sb, 2, "b.add(s)");
+            stmt(sb, 2, "String t = (String) b.get(0)");
+            stmt(sb, 2, l + 1 < depth ? "return step" + (l + 1) + "(t)" : "return t");
+            sb.append("    }\n");
+        }
+        sb.append("}\n");
+        return sb;
+    }
+
+    private StringBuilder generateSourceSink() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class SourceSink {\n\n");
+        sb.append("    static String source() {\n");
+        stmt(sb, 2, "return new String()");
+        sb.append("    }\n\n");
+        sb.append("    static void sink(String s) {\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb;
+    }
+
+    private static String generateTaintConfig() {
+        return "sources:\n" +
+                "  - { method: \"<SourceSink: java.lang.String source()>\", type: \"java.lang.String\" }\n" +
+                "\n" +
+                "sinks:\n" +
+                "  - { method: \"<SourceSink: void sink(java.lang.String)>\", index: 0 }\n" +
+                "\n" +
+                "transfers: []\n";
+    }
+
+    private StringBuilder generateMain(int families) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(MAIN_CLASS).append(" {\n\n");
+        sb.append("    public static void main(String[] args) {\n");
+        stmt(sb, 2, "int n = args.length");
+        stmt(sb, 2, "Object o = new Object()");
+        for (int f = 0; f < families; ++f) {
+            String root = className(f, 0);
+            stmt(sb, 2, "o = " + root + ".create(n).m0(o)");
+        }
+        for (int c = 0; c < taintChains; ++c) {
+            stmt(sb, 2, "Taint" + c + ".run()");
+        }
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb;
+    }
+
+    /**
+     * Appends a statement with given indentation level.
+     */
+    private void stmt(StringBuilder sb, int indent, String stmt) {
+        sb.append("    ".repeat(indent)).append(stmt).append(";\n");
+        ++statements;
+    }
+}
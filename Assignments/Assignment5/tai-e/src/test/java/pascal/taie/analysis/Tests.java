@@ -50,6 +50,7 @@ public final class Tests {
         ptaArgs.add("action:" + action);
         String file = Paths.get(classPath, main + "-expected.txt").toString();
         ptaArgs.add("file:" + file);
+        Collections.addAll(ptaArgs, opts);
         String pta = dir.equals("cipta") ? "cipta" : "pta";
         Collections.addAll(args, "-a", pta + "=" + String.join(";", ptaArgs));
         if (DUMP_IR) {
@@ -58,4 +59,26 @@ public final class Tests {
         }
         Main.main(args.toArray(new String[0]));
     }
+
+    /**
+     * Runs pointer analysis on a program generated by {@link ProgramGenerator}.
+     * As generated programs have no expected results, this only checks
+     * that the analysis finishes on them.
+     *
+     * @param id         ID of the pointer analysis
+     * @param statements approximate number of statements of the program
+     */
+    public static void testGeneratedPTA(String id, int statements, String... opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        String classPath = ProgramGenerator.generate(statements).toString();
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", ProgramGenerator.MAIN_CLASS);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("implicit-entries:false");
+        ptaArgs.add("action:null");
+        Collections.addAll(ptaArgs, opts);
+        Collections.addAll(args, "-a", id + "=" + String.join(";", ptaArgs));
+        Main.main(args.toArray(new String[0]));
+    }
 }
@@ -68,4 +68,19 @@ public class CIPTATest {
     public void testMergeParam() {
         Tests.testPTA(DIR, "MergeParam");
     }
+
+    @Test
+    public void testExampleDeltaWorkList() {
+        Tests.testPTA(DIR, "Example", "worklist:delta");
+    }
+
+    @Test
+    public void testAssign2CycleElimination() {
+        Tests.testPTA(DIR, "Assign2", "cycle-elimination:true");
+    }
+
+    @Test
+    public void testGenerated() {
+        Tests.testGeneratedPTA(DIR, 1000);
+    }
 }
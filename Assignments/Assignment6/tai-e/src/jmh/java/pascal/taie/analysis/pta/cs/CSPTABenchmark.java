@@ -0,0 +1,115 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.pta.cs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.cs.selector.ContextSelector;
+import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.config.AnalysisOptions;
+
+/**
+ * Benchmarks of context-sensitive pointer analysis {@link Solver}
+ * with each context selector.
+ */
+@State(Scope.Benchmark)
+public class CSPTABenchmark {
+
+    @Param("src/test/resources/pta/cspta")
+    public String classPath;
+
+    @Param({"Array", "Assign", "Call", "InstanceField", "New",
+            "OneCall", "OneObject", "OneType", "StaticField",
+            "StoreLoad", "TwoCall", "TwoObject", "TwoType",
+            "generated:1000", "generated:10000", "generated:100000"})
+    public String main;
+
+    @Param({"ci", "1-call", "2-call", "1-obj", "2-obj", "1-type", "2-type"})
+    public String cs;
+
+    @Param({"hybrid", "bit"})
+    public String pts;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // runs the analysis once, so that the IRs of reachable methods
+        // are built before measurement
+        Benchmarks.buildWorld(classPath, main,
+                CSPTA.ID + "=cs:" + cs + ";action:null");
+        options = Benchmarks.config(CSPTA.ID,
+                "cs", cs,
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true,
+                "pts", pts,
+                "cs-manager", "map",
+                "worklist", "entry",
+                "cycle-elimination", false,
+                "threads", threads,
+                "action", null,
+                "file", null).getOptions();
+    }
+
+    @Benchmark
+    public PointerAnalysisResult solve() {
+        return solve(CSPTA.getContextSelector(cs));
+    }
+
+    /**
+     * Measures the phases of Zipper-guided analysis separately:
+     * the pre-analysis with Zipper, and the guided main analysis.
+     */
+    @Benchmark
+    public ContextSelector zipperPreAnalysis() {
+        return CSPTA.selectByZipper(options, CSPTA.getContextSelector(cs));
+    }
+
+    @Benchmark
+    public PointerAnalysisResult zipperGuidedSolve(ZipperState state) {
+        return solve(state.selector);
+    }
+
+    private PointerAnalysisResult solve(ContextSelector selector) {
+        Solver solver = new Solver(options,
+                new AllocationSiteBasedModel(options), selector);
+        solver.solve();
+        return solver.getResult();
+    }
+
+    /**
+     * Holds the selector computed by Zipper, so that the pre-analysis
+     * is excluded from the measurement of {@link #zipperGuidedSolve}.
+     */
+    @State(Scope.Benchmark)
+    public static class ZipperState {
+
+        private ContextSelector selector;
+
+        @Setup(Level.Trial)
+        public void setUp(CSPTABenchmark benchmark) {
+            selector = CSPTA.selectByZipper(benchmark.options,
+                    CSPTA.getContextSelector(benchmark.cs));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.pta.cs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.World;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.config.AnalysisOptions;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Benchmarks of incremental updates of context-sensitive pointer analysis,
+ * which edit one method of each program after it is solved. The edited
+ * method is the application method with the most callers, except the
+ * entry methods, and it is edited by rebuilding its IR. Compare with
+ * {@link CSPTABenchmark#solve} for the cost of solving from scratch.
+ */
+@State(Scope.Benchmark)
+public class IncrementalCSPTABenchmark {
+
+    @Param("src/test/resources/pta/cspta")
+    public String classPath;
+
+    @Param({"Array", "Assign", "Call", "InstanceField", "New",
+            "OneCall", "OneObject", "OneType", "StaticField",
+            "StoreLoad", "TwoCall", "TwoObject", "TwoType",
+            "generated:1000", "generated:10000"})
+    public String main;
+
+    @Param({"ci", "2-call", "2-obj", "2-type"})
+    public String cs;
+
+    private AnalysisOptions options;
+
+    private JMethod edited;
+
+    private IncrementalCSPTA pta;
+
+    private IR newIR;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main,
+                CSPTA.ID + "=cs:" + cs + ";action:null");
+        options = Benchmarks.config(CSPTA.ID,
+                "cs", cs,
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true,
+                "pts", "hybrid",
+                "cs-manager", "map",
+                "worklist", "entry",
+                "cycle-elimination", false,
+                "threads", 1,
+                "action", null,
+                "file", null).getOptions();
+        PointerAnalysisResult result = World.getResult(CSPTA.ID);
+        CallGraph<Invoke, JMethod> callGraph = result.getCallGraph();
+        edited = callGraph.reachableMethods()
+                .filter(m -> m.getDeclaringClass().isApplication())
+                .filter(m -> callGraph.entryMethods().noneMatch(m::equals))
+                .max(Comparator.comparingLong(
+                                (JMethod m) -> callGraph.callersOf(m).count())
+                        .thenComparing(JMethod::toString))
+                .orElseThrow();
+    }
+
+    /**
+     * Solves the program again before each update, as updates change
+     * the retained solver state in place.
+     */
+    @Setup(Level.Invocation)
+    public void solve() {
+        pta = new IncrementalCSPTA(options);
+        newIR = World.getIRBuilder().buildIR(edited);
+    }
+
+    @Benchmark
+    public PointerAnalysisResult update() {
+        return pta.update(Map.of(edited, newIR));
+    }
+}
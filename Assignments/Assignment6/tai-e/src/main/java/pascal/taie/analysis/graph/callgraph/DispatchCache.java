@@ -0,0 +1,108 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.graph.callgraph;
+
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JClass;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.language.classes.Subsignature;
+import pascal.taie.language.type.ClassType;
+import pascal.taie.language.type.Type;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoized call resolution. Each class has a lazily filled, vtable-like
+ * map from subsignatures to the dispatched methods, which is filled by
+ * {@link CallGraphs#resolveCallee(Type, Invoke)} on missed lookups.
+ *
+ * Virtual and interface calls are looked up in the table of the class
+ * of the receiver object, and special calls in the table of the declaring
+ * class of the method reference. Static calls, and calls on receivers
+ * which are not class instances (e.g., arrays), are not dispatched via
+ * the tables.
+ *
+ * This class is thread-safe: hits take no locks, and misses are resolved
+ * one at a time, as the class hierarchy is not guaranteed to be thread-safe.
+ */
+public class DispatchCache {
+
+    private final Map<JClass, Map<Subsignature, Optional<JMethod>>> tables =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Resolves the callee of a call site with the type of the receiver object.
+     *
+     * @param type     type of the receiver object. If the callSite
+     *                 is static, this parameter is ignored (i.e., can be null).
+     * @param callSite the call site to be resolved.
+     * @return the resolved callee.
+     */
+    @Nullable
+    public JMethod resolveCallee(@Nullable Type type, Invoke callSite) {
+        JClass jclass;
+        if (callSite.isSpecial()) {
+            jclass = callSite.getMethodRef().getDeclaringClass();
+        } else if ((callSite.isVirtual() || callSite.isInterface())
+                && type instanceof ClassType) {
+            jclass = ((ClassType) type).getJClass();
+        } else {
+            return resolve(type, callSite);
+        }
+        Subsignature subsignature = callSite.getMethodRef().getSubsignature();
+        Map<Subsignature, Optional<JMethod>> table =
+                tables.computeIfAbsent(jclass, c -> new ConcurrentHashMap<>());
+        Optional<JMethod> entry = table.get(subsignature);
+        if (entry != null) {
+            hits.increment();
+            return entry.orElse(null);
+        }
+        misses.increment();
+        JMethod callee = resolve(type, callSite);
+        table.put(subsignature, Optional.ofNullable(callee));
+        return callee;
+    }
+
+    private synchronized JMethod resolve(@Nullable Type type, Invoke callSite) {
+        return CallGraphs.resolveCallee(type, callSite);
+    }
+
+    /**
+     * @return the number of lookups in the tables.
+     */
+    public long getLookups() {
+        return hits.sum() + misses.sum();
+    }
+
+    /**
+     * @return the fraction of lookups which are answered by the tables.
+     */
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) hits.sum() / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d classes, %d lookups, hit rate %.1f%%",
+                tables.size(), getLookups(), getHitRate() * 100);
+    }
+}
@@ -76,6 +76,23 @@ public class CSCallGraph extends AbstractCallGraph<CSCallSite, CSMethod> {
         }
     }
 
+    /**
+     * Removes a reachable CS method from this call graph. Its edges
+     * should be removed separately.
+     */
+    public void removeReachableMethod(CSMethod csMethod) {
+        reachableMethods.remove(csMethod);
+    }
+
+    /**
+     * Removes a call edge from this call graph.
+     */
+    public void removeEdge(Edge<CSCallSite, CSMethod> edge) {
+        if (edge.getCallSite().removeEdge(edge)) {
+            edge.getCallee().removeEdge(edge);
+        }
+    }
+
     @Override
     public Stream<CSMethod> calleesOf(CSCallSite csCallSite) {
         return csCallSite.edges().map(Edge::getCallee);
@@ -0,0 +1,210 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.context;
+
+import pascal.taie.util.AnalysisException;
+
+import java.util.Map;
+
+import static pascal.taie.util.collection.Maps.newConcurrentMap;
+
+/**
+ * Hash-consed contexts. All contexts of a trie are interned in it, where
+ * each context is a node whose parent is the context without its last
+ * element. Therefore, equal contexts of the same trie are the same object,
+ * and they are compared by identity with precomputed hash codes.
+ *
+ * Each trie is created by {@link #newTrie()} and owned by its creator,
+ * e.g., a context selector, so that the contexts of an analysis are
+ * released together with the analysis.
+ */
+public class TrieContext implements Context {
+
+    /**
+     * The empty context, i.e., the root of the trie of this context.
+     */
+    private final TrieContext root;
+
+    /**
+     * The context without the last element.
+     */
+    private final TrieContext parent;
+
+    /**
+     * The last element of this context.
+     */
+    private final Object elem;
+
+    private final int length;
+
+    private final int hashCode;
+
+    /**
+     * Contexts which extend this context by one element.
+     */
+    private volatile Map<Object, TrieContext> children;
+
+    /**
+     * Cache of {@link #truncate(int)}, where the k-th entry is the context
+     * which consists of the last k elements of this context.
+     * Racing writes may lose entries, which are recomputed as the same
+     * interned contexts.
+     */
+    private TrieContext[] suffixes;
+
+    private TrieContext(TrieContext parent, Object elem) {
+        this.parent = parent;
+        this.elem = elem;
+        if (parent == null) {
+            root = this;
+            length = 0;
+            hashCode = 1;
+        } else {
+            root = parent.root;
+            length = parent.length + 1;
+            hashCode = 31 * parent.hashCode + elem.hashCode();
+        }
+    }
+
+    /**
+     * Creates a new trie.
+     *
+     * @return the empty context, i.e., the root of the new trie.
+     */
+    public static TrieContext newTrie() {
+        return new TrieContext(null, null);
+    }
+
+    /**
+     * @return the empty context of the trie of this context.
+     */
+    public TrieContext getEmpty() {
+        return root;
+    }
+
+    /**
+     * @return the context that consists of the elements of this context
+     * followed by given element.
+     */
+    public TrieContext append(Object e) {
+        Map<Object, TrieContext> c = children;
+        if (c == null) {
+            synchronized (this) {
+                c = children;
+                if (c == null) {
+                    children = c = newConcurrentMap();
+                }
+            }
+        }
+        TrieContext child = c.get(e);
+        return child != null ? child :
+                c.computeIfAbsent(e, el -> new TrieContext(this, el));
+    }
+
+    /**
+     * @return the context that consists of the last k elements of this
+     * context, i.e., this context limited to length k. The result is
+     * cached, so k-limiting context selectors obtain it in constant time
+     * after the first call.
+     */
+    public TrieContext truncate(int k) {
+        if (length <= k) {
+            return this;
+        }
+        if (k == 0) {
+            return root;
+        }
+        TrieContext[] s = suffixes;
+        if (s != null && k < s.length && s[k] != null) {
+            return s[k];
+        }
+        Object[] last = new Object[k];
+        TrieContext c = this;
+        for (int i = k - 1; i >= 0; --i) {
+            last[i] = c.elem;
+            c = c.parent;
+        }
+        TrieContext suffix = root;
+        for (Object e : last) {
+            suffix = suffix.append(e);
+        }
+        if (s == null || k >= s.length) {
+            TrieContext[] newSuffixes = new TrieContext[k + 1];
+            if (s != null) {
+                System.arraycopy(s, 0, newSuffixes, 0, s.length);
+            }
+            s = newSuffixes;
+        }
+        s[k] = suffix;
+        suffixes = s;
+        return suffix;
+    }
+
+    /**
+     * @return the context of this trie which is equal to given context,
+     * i.e., given context itself if it has been interned in this trie.
+     */
+    public TrieContext intern(Context context) {
+        if (context instanceof TrieContext
+                && ((TrieContext) context).root == root) {
+            return (TrieContext) context;
+        }
+        TrieContext c = root;
+        for (int i = 0; i < context.getLength(); ++i) {
+            c = c.append(context.getElementAt(i));
+        }
+        return c;
+    }
+
+    /**
+     * @return the context without the last element of this context,
+     * or null if this context is empty.
+     */
+    public TrieContext getParent() {
+        return parent;
+    }
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public Object getElementAt(int i) {
+        if (i < 0 || i >= length) {
+            throw new AnalysisException(
+                    "Context " + this + " doesn't have " + i + "-th element");
+        }
+        TrieContext context = this;
+        for (int j = length - 1; j > i; --j) {
+            context = context.parent;
+        }
+        return context.elem;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("]");
+        for (TrieContext c = this; c.parent != null; c = c.parent) {
+            sb.insert(0, c.elem);
+            if (c.parent.parent != null) {
+                sb.insert(0, ", ");
+            }
+        }
+        return sb.insert(0, '[').toString();
+    }
+}
@@ -18,6 +18,8 @@ abstract class AbstractPointer implements Pointer {
 
     private PointsToSet pointsToSet;
 
+    private int index = -1;
+
     @Override
     public PointsToSet getPointsToSet() {
         return pointsToSet;
@@ -28,4 +30,14 @@ abstract class AbstractPointer implements Pointer {
         this.pointsToSet = pointsToSet;
     }
 
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        assert this.index == -1; // should be set only once
+        this.index = index;
+    }
+
 }
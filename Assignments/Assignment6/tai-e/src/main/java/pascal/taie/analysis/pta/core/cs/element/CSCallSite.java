@@ -38,6 +38,11 @@ public class CSCallSite extends AbstractCSElement {
      */
     private final Set<Edge<CSCallSite, CSMethod>> edges = newHybridSet();
 
+    /**
+     * Dense index of this call site, or -1 if it has not been indexed.
+     */
+    private int index = -1;
+
     CSCallSite(Invoke callSite, Context context) {
         super(context);
         this.callSite = callSite;
@@ -51,7 +56,9 @@ public class CSCallSite extends AbstractCSElement {
     }
 
     public void setContainer(CSMethod container) {
-        assert this.container == null; // should be set only once
+        // should be set only once, or to the same container when
+        // the container becomes reachable again after an update
+        assert this.container == null || this.container == container;
         this.container = container;
     }
 
@@ -63,6 +70,10 @@ public class CSCallSite extends AbstractCSElement {
         return edges.add(edge);
     }
 
+    public boolean removeEdge(Edge<CSCallSite, CSMethod> edge) {
+        return edges.remove(edge);
+    }
+
     public Set<Edge<CSCallSite, CSMethod>> getEdges() {
         return edges;
     }
@@ -71,6 +82,19 @@ public class CSCallSite extends AbstractCSElement {
         return edges.stream();
     }
 
+    /**
+     * @return the dense index given to this call site by {@link CSManager},
+     * or -1 if this call site has not been indexed.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        assert this.index == -1; // should be set only once
+        this.index = index;
+    }
+
     @Override
     public String toString() {
         return context + ":" + callSite;
@@ -39,6 +39,11 @@ public class CSMethod extends AbstractCSElement {
 
     private final ResultHolder resultHolder = new AbstractResultHolder() {};
 
+    /**
+     * Dense index of this method, or -1 if it has not been indexed.
+     */
+    private int index = -1;
+
     CSMethod(JMethod method, Context context) {
         super(context);
         this.method = method;
@@ -55,6 +60,10 @@ public class CSMethod extends AbstractCSElement {
         edges.add(edge);
     }
 
+    public void removeEdge(Edge<CSCallSite, CSMethod> edge) {
+        edges.remove(edge);
+    }
+
     public Stream<Edge<CSCallSite, CSMethod>> edges() {
         return edges.stream();
     }
@@ -67,6 +76,19 @@ public class CSMethod extends AbstractCSElement {
         return Optional.ofNullable(resultHolder.getResult(id));
     }
 
+    /**
+     * @return the dense index given to this method by {@link CSManager},
+     * or -1 if this method has not been indexed.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        assert this.index == -1; // should be set only once
+        this.index = index;
+    }
+
     @Override
     public String toString() {
         return context + ":" + method;
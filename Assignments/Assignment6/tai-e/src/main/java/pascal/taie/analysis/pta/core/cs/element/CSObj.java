@@ -22,6 +22,11 @@ public class CSObj extends AbstractCSElement {
 
     private final Obj obj;
 
+    /**
+     * Dense index of this object, or -1 if it has not been indexed.
+     */
+    private int index = -1;
+
     CSObj(Obj obj, Context context) {
         super(context);
         this.obj = obj;
@@ -34,6 +39,19 @@ public class CSObj extends AbstractCSElement {
         return obj;
     }
 
+    /**
+     * @return the dense index given to this object by {@link CSObjIndexer},
+     * or -1 if this object has not been indexed.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        assert this.index == -1; // should be set only once
+        this.index = index;
+    }
+
     @Override
     public String toString() {
         return context + ":" + obj;
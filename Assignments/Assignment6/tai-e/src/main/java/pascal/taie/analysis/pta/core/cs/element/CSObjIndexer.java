@@ -0,0 +1,32 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.element;
+
+/**
+ * Gives context-sensitive objects dense integer indexes, which are
+ * available via {@link CSObj#getIndex()}. The indexes start from 0
+ * and are consecutive, so that they can be used as positions in bit
+ * vectors and arrays.
+ */
+public interface CSObjIndexer {
+
+    /**
+     * @return the object of given index.
+     */
+    CSObj getObject(int index);
+
+    /**
+     * @return the number of indexed objects.
+     */
+    int getObjectCount();
+}
@@ -0,0 +1,208 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.element;
+
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static pascal.taie.util.collection.Maps.newConcurrentMap;
+
+/**
+ * Thread-safe {@link CSManager} which stores the context-sensitive elements
+ * in lock-free open-addressing tables (see {@link ElementTable}).
+ *
+ * A context-sensitive element is looked up by its context and the element
+ * without context, which are compared with the fields of the elements in
+ * the table, so that lookups allocate nothing and need no other maps.
+ * The contexts are hash-consed (see
+ * {@link pascal.taie.analysis.pta.core.cs.context.TrieContext}), thus
+ * they are hashed by precomputed hash codes and compared by identity.
+ * Each created element is given a dense index: objects, methods and
+ * call sites are indexed per kind, and all pointers share one index space.
+ * The points-to sets of the created pointers are made by the points-to
+ * set factory of this manager.
+ */
+public class ConcurrentCSManager implements CSManager, CSObjIndexer {
+
+    private final AtomicInteger pointerCounter = new AtomicInteger();
+
+    private final ElementTable<CSVar> vars =
+            new ElementTable<>(CSVar::getContext, CSVar::getVar);
+
+    private final ElementTable<CSObj> objs =
+            new ElementTable<>(CSObj::getContext, CSObj::getObject);
+
+    private final ElementTable<CSCallSite> callSites =
+            new ElementTable<>(CSCallSite::getContext, CSCallSite::getCallSite);
+
+    private final ElementTable<CSMethod> methods =
+            new ElementTable<>(CSMethod::getContext, CSMethod::getMethod);
+
+    private final ElementTable<StaticField> staticFields =
+            new ElementTable<>(f -> null, StaticField::getField);
+
+    private final ElementTable<InstanceField> instanceFields =
+            new ElementTable<>(InstanceField::getBase, InstanceField::getField);
+
+    private final ElementTable<ArrayIndex> arrayIndexes =
+            new ElementTable<>(ArrayIndex::getArray, a -> null);
+
+    /**
+     * Map from each variable to its context-sensitive variables.
+     */
+    private final Map<Var, Queue<CSVar>> var2CSVars = newConcurrentMap();
+
+    private final PointsToSetFactory ptsFactory;
+
+    /**
+     * @param bitSets whether the points-to sets are bit vectors over
+     *                the indexes of the objects of this manager.
+     */
+    public ConcurrentCSManager(boolean bitSets) {
+        this.ptsFactory = new PointsToSetFactory(bitSets ? this : null);
+    }
+
+    @Override
+    public CSVar getCSVar(Context context, Var var) {
+        CSVar csVar = vars.get(context, var);
+        return csVar != null ? csVar : vars.create(context, var, index -> {
+            CSVar v = initialize(new CSVar(var, context));
+            var2CSVars.computeIfAbsent(var, k -> new ConcurrentLinkedQueue<>())
+                    .add(v);
+            return v;
+        });
+    }
+
+    @Override
+    public CSObj getCSObj(Context heapContext, Obj obj) {
+        CSObj csObj = objs.get(heapContext, obj);
+        return csObj != null ? csObj : objs.create(heapContext, obj, index -> {
+            CSObj o = new CSObj(obj, heapContext);
+            o.setIndex(index);
+            return o;
+        });
+    }
+
+    @Override
+    public CSCallSite getCSCallSite(Context context, Invoke callSite) {
+        CSCallSite csCallSite = callSites.get(context, callSite);
+        return csCallSite != null ? csCallSite : callSites.create(context, callSite, index -> {
+            CSCallSite cs = new CSCallSite(callSite, context);
+            cs.setIndex(index);
+            return cs;
+        });
+    }
+
+    @Override
+    public CSMethod getCSMethod(Context context, JMethod method) {
+        CSMethod csMethod = methods.get(context, method);
+        return csMethod != null ? csMethod : methods.create(context, method, index -> {
+            CSMethod m = new CSMethod(method, context);
+            m.setIndex(index);
+            return m;
+        });
+    }
+
+    @Override
+    public StaticField getStaticField(JField field) {
+        StaticField staticField = staticFields.get(null, field);
+        return staticField != null ? staticField : staticFields.create(null, field,
+                index -> initialize(new StaticField(field)));
+    }
+
+    @Override
+    public InstanceField getInstanceField(CSObj base, JField field) {
+        InstanceField instanceField = instanceFields.get(base, field);
+        return instanceField != null ? instanceField : instanceFields.create(base, field,
+                index -> initialize(new InstanceField(base, field)));
+    }
+
+    @Override
+    public ArrayIndex getArrayIndex(CSObj array) {
+        ArrayIndex arrayIndex = arrayIndexes.get(array, null);
+        return arrayIndex != null ? arrayIndex : arrayIndexes.create(array, null,
+                index -> initialize(new ArrayIndex(array)));
+    }
+
+    @Override
+    public Stream<CSVar> csVarsOf(Var var) {
+        Queue<CSVar> csVars = var2CSVars.get(var);
+        return csVars != null ? csVars.stream() : Stream.of();
+    }
+
+    @Override
+    public Stream<CSVar> csVars() {
+        return vars.elements();
+    }
+
+    @Override
+    public Stream<CSObj> objects() {
+        return objs.elements();
+    }
+
+    @Override
+    public Stream<StaticField> staticFields() {
+        return staticFields.elements();
+    }
+
+    @Override
+    public Stream<InstanceField> instanceFields() {
+        return instanceFields.elements();
+    }
+
+    @Override
+    public Stream<ArrayIndex> arrayIndexes() {
+        return arrayIndexes.elements();
+    }
+
+    @Override
+    public CSObj getObject(int index) {
+        return objs.getElement(index);
+    }
+
+    @Override
+    public int getObjectCount() {
+        return objs.size();
+    }
+
+    /**
+     * @return the factory which makes the points-to sets of this manager.
+     */
+    public PointsToSetFactory getPointsToSetFactory() {
+        return ptsFactory;
+    }
+
+    /**
+     * @return the number of pointers created by this manager.
+     */
+    public int getPointerCount() {
+        return pointerCounter.get();
+    }
+
+    private <P extends AbstractPointer> P initialize(P pointer) {
+        pointer.setPointsToSet(ptsFactory.makeSet());
+        pointer.setIndex(pointerCounter.getAndIncrement());
+        return pointer;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.element;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Table of context-sensitive elements keyed by pairs of objects, e.g.,
+ * (context, variable). The keys are not stored separately: they are
+ * the fields of the elements, which are obtained by the key functions of
+ * the table, so that a lookup neither allocates nor goes through other
+ * maps. Each element is given a dense index, i.e., the order in which
+ * it was added to the table.
+ *
+ * Lookups are lock-free: the elements are stored in an open-addressing
+ * table, whose slots are published once the elements are initialized.
+ * Creations are serialized per table, so that each key has exactly
+ * one element.
+ *
+ * @param <E> type of the elements
+ */
+class ElementTable<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Functions which obtain the two parts of the key of an element.
+     */
+    private final Function<E, Object> firstKey;
+
+    private final Function<E, Object> secondKey;
+
+    private volatile AtomicReferenceArray<E> slots =
+            new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Elements in the order of their indexes.
+     */
+    private volatile Object[] elements = new Object[INITIAL_CAPACITY];
+
+    /**
+     * Number of elements. It is written after the element is stored,
+     * so that readers see every element below size.
+     */
+    private volatile int size;
+
+    /**
+     * @param firstKey  obtains the first part of the key of an element,
+     *                  e.g., its context
+     * @param secondKey obtains the second part of the key of an element,
+     *                  e.g., its variable
+     */
+    ElementTable(Function<E, Object> firstKey, Function<E, Object> secondKey) {
+        this.firstKey = firstKey;
+        this.secondKey = secondKey;
+    }
+
+    /**
+     * @return the element of given key, or null if it does not exist.
+     */
+    E get(Object first, Object second) {
+        AtomicReferenceArray<E> s = slots;
+        int mask = s.length() - 1;
+        for (int i = hash(first, second) & mask; ; i = (i + 1) & mask) {
+            E element = s.get(i);
+            if (element == null || matches(element, first, second)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Creates the element of given key if it does not exist.
+     *
+     * @param creator given the index of the new element, creates it.
+     * @return the element of given key.
+     */
+    synchronized E create(Object first, Object second, IntFunction<E> creator) {
+        E element = get(first, second);
+        if (element != null) {
+            return element;
+        }
+        int index = size;
+        element = creator.apply(index);
+        AtomicReferenceArray<E> s = slots;
+        if ((index + 1) * 4L > s.length() * 3L) {
+            s = resize(s);
+            slots = s;
+        }
+        put(s, element);
+        Object[] elems = elements;
+        if (index == elems.length) {
+            elems = Arrays.copyOf(elems, elems.length << 1);
+            elements = elems;
+        }
+        elems[index] = element;
+        size = index + 1;
+        return element;
+    }
+
+    /**
+     * @return the element of given index.
+     */
+    @SuppressWarnings("unchecked")
+    E getElement(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (E) elements[index];
+    }
+
+    /**
+     * @return the number of elements in this table.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return all elements in this table, in the order of their indexes.
+     */
+    @SuppressWarnings("unchecked")
+    Stream<E> elements() {
+        int n = size;
+        Object[] elems = elements;
+        return IntStream.range(0, n).mapToObj(i -> (E) elems[i]);
+    }
+
+    private boolean matches(E element, Object first, Object second) {
+        return Objects.equals(firstKey.apply(element), first)
+                && Objects.equals(secondKey.apply(element), second);
+    }
+
+    /**
+     * Puts given element to the first empty slot of its probe sequence.
+     */
+    private void put(AtomicReferenceArray<E> s, E element) {
+        int mask = s.length() - 1;
+        int i = hash(firstKey.apply(element), secondKey.apply(element)) & mask;
+        while (s.get(i) != null) {
+            i = (i + 1) & mask;
+        }
+        s.set(i, element);
+    }
+
+    private AtomicReferenceArray<E> resize(AtomicReferenceArray<E> s) {
+        AtomicReferenceArray<E> result = new AtomicReferenceArray<>(s.length() << 1);
+        for (int i = 0; i < s.length(); ++i) {
+            E element = s.get(i);
+            if (element != null) {
+                put(result, element);
+            }
+        }
+        return result;
+    }
+
+    private static int hash(Object first, Object second) {
+        long key = ((long) Objects.hashCode(first) << 32)
+                | (Objects.hashCode(second) & 0xffffffffL);
+        // finalizer of MurmurHash3
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
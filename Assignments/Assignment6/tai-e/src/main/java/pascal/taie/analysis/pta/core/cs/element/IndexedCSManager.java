@@ -0,0 +1,148 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.element;
+
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CS manager that gives each context-sensitive object a dense index
+ * when the object is created, and delegates the creation of all
+ * elements to another CS manager. The points-to set of each pointer
+ * is replaced by a bit vector over the object indexes when the pointer
+ * is returned for the first time.
+ */
+public class IndexedCSManager implements CSManager, CSObjIndexer {
+
+    private final CSManager delegate;
+
+    /**
+     * List of indexed objects, the index of each object is its position.
+     */
+    private final List<CSObj> objs = new ArrayList<>();
+
+    private final PointsToSetFactory ptsFactory = new PointsToSetFactory(this);
+
+    /**
+     * Number of pointers returned by this manager.
+     */
+    private int pointerCount;
+
+    public IndexedCSManager(CSManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CSVar getCSVar(Context context, Var var) {
+        return initialize(delegate.getCSVar(context, var));
+    }
+
+    @Override
+    public CSObj getCSObj(Context heapContext, Obj obj) {
+        CSObj csObj = delegate.getCSObj(heapContext, obj);
+        if (csObj.getIndex() == -1) {
+            csObj.setIndex(objs.size());
+            objs.add(csObj);
+        }
+        return csObj;
+    }
+
+    @Override
+    public CSCallSite getCSCallSite(Context context, Invoke callSite) {
+        return delegate.getCSCallSite(context, callSite);
+    }
+
+    @Override
+    public CSMethod getCSMethod(Context context, JMethod method) {
+        return delegate.getCSMethod(context, method);
+    }
+
+    @Override
+    public StaticField getStaticField(JField field) {
+        return initialize(delegate.getStaticField(field));
+    }
+
+    @Override
+    public InstanceField getInstanceField(CSObj base, JField field) {
+        return initialize(delegate.getInstanceField(base, field));
+    }
+
+    @Override
+    public ArrayIndex getArrayIndex(CSObj array) {
+        return initialize(delegate.getArrayIndex(array));
+    }
+
+    @Override
+    public Stream<CSVar> csVarsOf(Var var) {
+        return delegate.csVarsOf(var);
+    }
+
+    @Override
+    public Stream<CSVar> csVars() {
+        return delegate.csVars();
+    }
+
+    @Override
+    public Stream<CSObj> objects() {
+        return delegate.objects();
+    }
+
+    @Override
+    public Stream<StaticField> staticFields() {
+        return delegate.staticFields();
+    }
+
+    @Override
+    public Stream<InstanceField> instanceFields() {
+        return delegate.instanceFields();
+    }
+
+    @Override
+    public Stream<ArrayIndex> arrayIndexes() {
+        return delegate.arrayIndexes();
+    }
+
+    @Override
+    public CSObj getObject(int index) {
+        return objs.get(index);
+    }
+
+    @Override
+    public int getObjectCount() {
+        return objs.size();
+    }
+
+    /**
+     * @return the factory which makes the points-to sets of this manager.
+     */
+    public PointsToSetFactory getPointsToSetFactory() {
+        return ptsFactory;
+    }
+
+    private <P extends AbstractPointer> P initialize(P pointer) {
+        if (pointer.getIndex() == -1) {
+            pointer.setIndex(pointerCount++);
+            pointer.setPointsToSet(ptsFactory.makeSet());
+        }
+        return pointer;
+    }
+}
@@ -31,6 +31,12 @@ public interface Pointer {
      */
     void setPointsToSet(PointsToSet pointsToSet);
 
+    /**
+     * @return the dense index given to this pointer by {@link CSManager},
+     * or -1 if this pointer has not been indexed.
+     */
+    int getIndex();
+
     /**
      * @return the type of this pointer
      */
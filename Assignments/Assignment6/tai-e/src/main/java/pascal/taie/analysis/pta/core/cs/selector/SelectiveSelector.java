@@ -0,0 +1,67 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.selector;
+
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
+import pascal.taie.analysis.pta.core.cs.element.CSMethod;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Set;
+
+/**
+ * Applies context sensitivity only to given methods, and analyzes
+ * other methods context-insensitively, i.e., like {@link CISelector}.
+ */
+public class SelectiveSelector implements ContextSelector {
+
+    private final ContextSelector delegate;
+
+    /**
+     * Methods to be analyzed context-sensitively.
+     */
+    private final Set<JMethod> csMethods;
+
+    public SelectiveSelector(ContextSelector delegate, Set<JMethod> csMethods) {
+        this.delegate = delegate;
+        this.csMethods = csMethods;
+    }
+
+    @Override
+    public Context getEmptyContext() {
+        return delegate.getEmptyContext();
+    }
+
+    @Override
+    public Context selectContext(CSCallSite callSite, JMethod callee) {
+        return csMethods.contains(callee) ?
+                delegate.selectContext(callSite, callee) :
+                getEmptyContext();
+    }
+
+    @Override
+    public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
+        return csMethods.contains(callee) ?
+                delegate.selectContext(callSite, recv, callee) :
+                getEmptyContext();
+    }
+
+    @Override
+    public Context selectHeapContext(CSMethod method, Obj obj) {
+        return csMethods.contains(method.getMethod()) ?
+                delegate.selectHeapContext(method, obj) :
+                getEmptyContext();
+    }
+}
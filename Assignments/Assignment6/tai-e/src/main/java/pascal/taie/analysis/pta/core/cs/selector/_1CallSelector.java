@@ -13,7 +13,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -25,23 +25,25 @@ import pascal.taie.language.classes.JMethod;
  */
 public class _1CallSelector implements ContextSelector {
 
+    private final TrieContext emptyContext = TrieContext.newTrie();
+
     @Override
     public Context getEmptyContext() {
-        return ListContext.make();
+        return emptyContext;
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, JMethod callee) {
         // TODO - finish me
         //return null;
-        return ListContext.make(callSite.getCallSite());
+        return emptyContext.append(callSite.getCallSite());
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
         //return null;
-        return ListContext.make(callSite.getCallSite());
+        return emptyContext.append(callSite.getCallSite());
     }
 
     @Override
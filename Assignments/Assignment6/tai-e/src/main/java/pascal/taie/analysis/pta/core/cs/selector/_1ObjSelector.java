@@ -13,7 +13,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -25,27 +25,25 @@ import pascal.taie.language.classes.JMethod;
  */
 public class _1ObjSelector implements ContextSelector {
 
+    private final TrieContext emptyContext = TrieContext.newTrie();
+
     @Override
     public Context getEmptyContext() {
-        return ListContext.make();
+        return emptyContext;
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, JMethod callee) {
         // TODO - finish me
         //return null;
-        int len=callSite.getContext().getLength();
-        if(len>0){
-            return ListContext.make(callSite.getContext().getElementAt(len-1));
-        }
-        return getEmptyContext();
+        return emptyContext.intern(callSite.getContext()).truncate(1);
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
         //return null;
-        return ListContext.make(recv.getObject());
+        return emptyContext.append(recv.getObject());
     }
 
     @Override
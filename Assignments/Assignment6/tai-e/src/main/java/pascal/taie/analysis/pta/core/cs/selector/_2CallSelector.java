@@ -13,12 +13,11 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
 import pascal.taie.analysis.pta.core.heap.Obj;
-import pascal.taie.ir.stmt.Invoke;
 import pascal.taie.language.classes.JMethod;
 
 /**
@@ -26,41 +25,33 @@ import pascal.taie.language.classes.JMethod;
  */
 public class _2CallSelector implements ContextSelector {
 
+    private final TrieContext emptyContext = TrieContext.newTrie();
+
     @Override
     public Context getEmptyContext() {
-        return ListContext.make();
+        return emptyContext;
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, JMethod callee) {
         // TODO - finish me
         //return null;
-        int len=callSite.getContainer().getContext().getLength();
-        if(len>0){
-            return ListContext.make(callSite.getContainer().getContext().getElementAt(len-1),callSite.getCallSite());
-        }
-        return ListContext.make(callSite.getCallSite());
+        return emptyContext.intern(callSite.getContext()).truncate(1)
+                .append(callSite.getCallSite());
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
         //return null;
-        int len=callSite.getContainer().getContext().getLength();
-        if(len>0){
-            return ListContext.make(callSite.getContainer().getContext().getElementAt(len-1),callSite.getCallSite());
-        }
-        return ListContext.make(callSite.getCallSite());
+        return emptyContext.intern(callSite.getContext()).truncate(1)
+                .append(callSite.getCallSite());
     }
 
     @Override
     public Context selectHeapContext(CSMethod method, Obj obj) {
         // TODO - finish me
         //return null;
-        int len=method.getContext().getLength();
-        if(len>0){
-            return ListContext.make(method.getContext().getElementAt(len-1));
-        }
-        return getEmptyContext();
+        return emptyContext.intern(method.getContext()).truncate(1);
     }
 }
@@ -13,7 +13,7 @@
 package pascal.taie.analysis.pta.core.cs.selector;
 
 import pascal.taie.analysis.pta.core.cs.context.Context;
-import pascal.taie.analysis.pta.core.cs.context.ListContext;
+import pascal.taie.analysis.pta.core.cs.context.TrieContext;
 import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
 import pascal.taie.analysis.pta.core.cs.element.CSMethod;
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
@@ -25,48 +25,32 @@ import pascal.taie.language.classes.JMethod;
  */
 public class _2ObjSelector implements ContextSelector {
 
+    private final TrieContext emptyContext = TrieContext.newTrie();
+
     @Override
     public Context getEmptyContext() {
-        return ListContext.make();
+        return emptyContext;
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, JMethod callee) {
         // TODO - finish me
-//        //return null;
-
-        int len=callSite.getContext().getLength();
-        if(len>0){
-            if(len==1) {
-                return ListContext.make(callSite.getContext().getElementAt(len - 1));
-            }else{
-                return ListContext.make(callSite.getContext().getElementAt(len-2),callSite.getContext().getElementAt(len-1));
-            }
-        }
-        return getEmptyContext();
+        //return null;
+        return emptyContext.intern(callSite.getContext()).truncate(2);
     }
 
     @Override
     public Context selectContext(CSCallSite callSite, CSObj recv, JMethod callee) {
         // TODO - finish me
         //return null;
-
-        int len=recv.getContext().getLength();
-        if(len>0){
-            return ListContext.make(recv.getContext().getElementAt(len-1),recv.getObject());
-        }
-        return ListContext.make(recv.getObject());
+        return emptyContext.intern(recv.getContext()).truncate(1)
+                .append(recv.getObject());
     }
 
     @Override
     public Context selectHeapContext(CSMethod method, Obj obj) {
         // TODO - finish me
         //return null;
-
-        int len=method.getContext().getLength();
-        if(len>0){
-            return ListContext.make(method.getContext().getElementAt(len-1));
-        }
-        return getEmptyContext();
+        return emptyContext.intern(method.getContext()).truncate(1);
     }
 }
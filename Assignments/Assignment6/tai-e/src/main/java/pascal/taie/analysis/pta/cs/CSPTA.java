@@ -12,19 +12,25 @@
 
 package pascal.taie.analysis.pta.cs;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import pascal.taie.analysis.InterproceduralAnalysis;
 import pascal.taie.analysis.pta.PointerAnalysisResult;
 import pascal.taie.analysis.pta.core.cs.selector.CISelector;
 import pascal.taie.analysis.pta.core.cs.selector.ContextSelector;
+import pascal.taie.analysis.pta.core.cs.selector.SelectiveSelector;
 import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
 import pascal.taie.analysis.pta.plugin.ResultProcessor;
+import pascal.taie.analysis.pta.toolkit.zipper.Zipper;
 import pascal.taie.config.AnalysisConfig;
 import pascal.taie.config.AnalysisOptions;
 import pascal.taie.config.ConfigException;
+import pascal.taie.language.classes.JMethod;
 import pascal.taie.util.Strings;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Set;
 
 /**
  * Context-sensitive pointer analysis.
@@ -33,6 +39,8 @@ public class CSPTA extends InterproceduralAnalysis {
 
     public static final String ID = "cspta";
 
+    private static final Logger logger = LogManager.getLogger(CSPTA.class);
+
     public CSPTA(AnalysisConfig config) {
         super(config);
     }
@@ -40,16 +48,62 @@ public class CSPTA extends InterproceduralAnalysis {
     @Override
     public PointerAnalysisResult analyze() {
         AnalysisOptions options = getOptions();
-        Solver solver = new Solver(
-                new AllocationSiteBasedModel(options),
-                getContextSelector(options.getString("cs")));
-        solver.solve();
-        PointerAnalysisResult result = solver.getResult();
+        ContextSelector selector = getContextSelector(options.getString("cs"));
+        boolean zipper = options.has("zipper") && options.getBoolean("zipper");
+        if (zipper) {
+            selector = selectByZipper(options, selector);
+        }
+        PointerAnalysisResult result = solve(options, selector).getResult();
         ResultProcessor.process(options, result);
+        if (zipper) {
+            logPrecision("Zipper-guided " + options.getString("cs"), result);
+            if (options.has("zipper-compare") && options.getBoolean("zipper-compare")) {
+                PointerAnalysisResult full = solve(options,
+                        getContextSelector(options.getString("cs"))).getResult();
+                logPrecision("Full " + options.getString("cs"), full);
+            }
+        }
         return result;
     }
 
-    private static ContextSelector getContextSelector(String cs) {
+    private static Solver solve(AnalysisOptions options,
+                                ContextSelector selector) {
+        Solver solver = new Solver(options,
+                new AllocationSiteBasedModel(options), selector);
+        solver.solve();
+        return solver;
+    }
+
+    /**
+     * Runs context-insensitive pre-analysis and selects precision-critical
+     * methods from its result by Zipper.
+     *
+     * @return the selector which applies given selector to the
+     * precision-critical methods only.
+     */
+    static ContextSelector selectByZipper(AnalysisOptions options,
+                                          ContextSelector selector) {
+        long start = System.currentTimeMillis();
+        PointerAnalysisResult preResult = solve(options, new CISelector())
+                .getResult();
+        Set<JMethod> methods = new Zipper(preResult)
+                .selectPrecisionCriticalMethods();
+        logger.info("Pre-analysis and Zipper finished in {} ms",
+                System.currentTimeMillis() - start);
+        logger.debug("Precision-critical methods: {}", methods);
+        return new SelectiveSelector(selector, methods);
+    }
+
+    private static void logPrecision(String desc, PointerAnalysisResult result) {
+        logger.info("{}: {} var points-to (insens), {} reachable methods," +
+                        " {} call graph edges",
+                desc,
+                result.vars().mapToInt(v -> result.getPointsToSet(v).size()).sum(),
+                result.getCallGraph().getNumberOfMethods(),
+                result.getCallGraph().edges().count());
+    }
+
+    static ContextSelector getContextSelector(String cs) {
         if (cs.equals("ci")) {
             return new CISelector();
         } else {
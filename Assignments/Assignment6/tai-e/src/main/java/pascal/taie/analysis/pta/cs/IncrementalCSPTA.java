@@ -0,0 +1,64 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.config.AnalysisOptions;
+import pascal.taie.ir.IR;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Map;
+
+/**
+ * Context-sensitive pointer analysis which retains the state of its solver,
+ * i.e., the points-to sets, the pointer flow graph and the call graph,
+ * after solving the program. When the bodies of some methods are edited,
+ * e.g., by a new commit of the analyzed program, {@link #update(Map)}
+ * updates the retained result from the old state instead of solving
+ * the program from scratch.
+ *
+ * The analysis takes the options of {@link CSPTA}, except zipper,
+ * and does not support cycle-elimination or parallel solving.
+ */
+public class IncrementalCSPTA {
+
+    private final Solver solver;
+
+    /**
+     * Solves the current program, and retains the solver state.
+     */
+    public IncrementalCSPTA(AnalysisOptions options) {
+        solver = new Solver(options, new AllocationSiteBasedModel(options),
+                CSPTA.getContextSelector(options.getString("cs")));
+        solver.solve();
+    }
+
+    /**
+     * @return the result of the current program.
+     */
+    public PointerAnalysisResult getResult() {
+        return solver.getResult();
+    }
+
+    /**
+     * Updates the retained result after the bodies of given methods are
+     * replaced by given IRs, e.g., the IRs rebuilt from the edited methods.
+     *
+     * @return the result of the edited program.
+     */
+    public PointerAnalysisResult update(Map<JMethod, IR> newIRs) {
+        solver.update(newIRs);
+        return solver.getResult();
+    }
+}
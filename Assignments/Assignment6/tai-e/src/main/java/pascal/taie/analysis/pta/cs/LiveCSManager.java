@@ -0,0 +1,134 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.cs.CSCallGraph;
+import pascal.taie.analysis.pta.core.cs.context.Context;
+import pascal.taie.analysis.pta.core.cs.element.ArrayIndex;
+import pascal.taie.analysis.pta.core.cs.element.CSCallSite;
+import pascal.taie.analysis.pta.core.cs.element.CSManager;
+import pascal.taie.analysis.pta.core.cs.element.CSMethod;
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSVar;
+import pascal.taie.analysis.pta.core.cs.element.InstanceField;
+import pascal.taie.analysis.pta.core.cs.element.StaticField;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.language.classes.JField;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * View of a {@link CSManager} after incremental updates, which hides
+ * the elements that are no longer in the program, i.e., the variables
+ * and objects of replaced method bodies, and the variables of the
+ * methods that became unreachable.
+ */
+class LiveCSManager implements CSManager {
+
+    private final CSManager delegate;
+
+    private final CSCallGraph callGraph;
+
+    private final Set<Var> retiredVars;
+
+    private final Set<Obj> retiredObjs;
+
+    LiveCSManager(CSManager delegate, CSCallGraph callGraph,
+                  Set<Var> retiredVars, Set<Obj> retiredObjs) {
+        this.delegate = delegate;
+        this.callGraph = callGraph;
+        this.retiredVars = retiredVars;
+        this.retiredObjs = retiredObjs;
+    }
+
+    @Override
+    public CSVar getCSVar(Context context, Var var) {
+        return delegate.getCSVar(context, var);
+    }
+
+    @Override
+    public CSObj getCSObj(Context heapContext, Obj obj) {
+        return delegate.getCSObj(heapContext, obj);
+    }
+
+    @Override
+    public CSCallSite getCSCallSite(Context context, Invoke callSite) {
+        return delegate.getCSCallSite(context, callSite);
+    }
+
+    @Override
+    public CSMethod getCSMethod(Context context, JMethod method) {
+        return delegate.getCSMethod(context, method);
+    }
+
+    @Override
+    public StaticField getStaticField(JField field) {
+        return delegate.getStaticField(field);
+    }
+
+    @Override
+    public InstanceField getInstanceField(CSObj base, JField field) {
+        return delegate.getInstanceField(base, field);
+    }
+
+    @Override
+    public ArrayIndex getArrayIndex(CSObj array) {
+        return delegate.getArrayIndex(array);
+    }
+
+    @Override
+    public Stream<CSVar> csVarsOf(Var var) {
+        return delegate.csVarsOf(var).filter(this::isLive);
+    }
+
+    @Override
+    public Stream<CSVar> csVars() {
+        return delegate.csVars().filter(this::isLive);
+    }
+
+    @Override
+    public Stream<CSObj> objects() {
+        return delegate.objects().filter(this::isLive);
+    }
+
+    @Override
+    public Stream<StaticField> staticFields() {
+        return delegate.staticFields();
+    }
+
+    @Override
+    public Stream<InstanceField> instanceFields() {
+        return delegate.instanceFields()
+                .filter(field -> isLive(field.getBase()));
+    }
+
+    @Override
+    public Stream<ArrayIndex> arrayIndexes() {
+        return delegate.arrayIndexes()
+                .filter(array -> isLive(array.getArray()));
+    }
+
+    private boolean isLive(CSVar csVar) {
+        Var var = csVar.getVar();
+        return !retiredVars.contains(var) && callGraph.contains(
+                delegate.getCSMethod(csVar.getContext(), var.getMethod()));
+    }
+
+    private boolean isLive(CSObj csObj) {
+        return !retiredObjs.contains(csObj.getObject());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.cs;
+
+import pascal.taie.analysis.pta.core.cs.element.Pointer;
+import pascal.taie.analysis.pta.pts.PointsToSet;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs the parallel steps of a round of work-list entries on
+ * a work-stealing pool. Each pointer occurs at most once in a round,
+ * thus its points-to set is updated by only one task, and no locking
+ * is needed.
+ */
+class ParallelPropagator {
+
+    /**
+     * Ranges of entries smaller than this are processed by one task.
+     */
+    private static final int THRESHOLD = 32;
+
+    private final ForkJoinPool pool;
+
+    ParallelPropagator(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Adds deltas[i] to the points-to set of pointers[i] for each i.
+     * The pointers must be distinct, and the deltas must not be
+     * points-to sets of any pointers.
+     *
+     * @return the difference sets, the i-th one consists of the objects
+     * that were added to the points-to set of pointers[i].
+     */
+    PointsToSet[] propagate(Pointer[] pointers, PointsToSet[] deltas) {
+        PointsToSet[] diffs = new PointsToSet[pointers.length];
+        forEach(pointers.length, i ->
+                diffs[i] = pointers[i].getPointsToSet().addAllDiff(deltas[i]));
+        return diffs;
+    }
+
+    /**
+     * Performs given action for each index in [0, n) in parallel,
+     * and returns after all actions are done.
+     */
+    void forEach(int n, IntConsumer action) {
+        pool.invoke(new ForEachTask(action, 0, n));
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private static class ForEachTask extends RecursiveAction {
+
+        private final IntConsumer action;
+
+        private final int from;
+
+        private final int to;
+
+        private ForEachTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; ++i) {
+                    action.accept(i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ForEachTask(action, from, mid),
+                        new ForEachTask(action, mid, to));
+            }
+        }
+    }
+}
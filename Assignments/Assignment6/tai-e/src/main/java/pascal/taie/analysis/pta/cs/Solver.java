@@ -15,8 +15,8 @@ package pascal.taie.analysis.pta.cs;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pascal.taie.World;
-import pascal.taie.analysis.graph.callgraph.CallGraphs;
 import pascal.taie.analysis.graph.callgraph.CallKind;
+import pascal.taie.analysis.graph.callgraph.DispatchCache;
 import pascal.taie.analysis.graph.callgraph.Edge;
 import pascal.taie.analysis.pta.PointerAnalysisResult;
 import pascal.taie.analysis.pta.PointerAnalysisResultImpl;
@@ -28,18 +28,34 @@ import pascal.taie.analysis.pta.core.heap.HeapModel;
 import pascal.taie.analysis.pta.core.heap.Obj;
 import pascal.taie.analysis.pta.pts.PointsToSet;
 import pascal.taie.analysis.pta.pts.PointsToSetFactory;
+import pascal.taie.config.AnalysisOptions;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.exp.InvokeInstanceExp;
 import pascal.taie.ir.exp.Var;
 import pascal.taie.ir.stmt.*;
 import pascal.taie.language.classes.JMethod;
 import pascal.taie.language.type.Type;
+import pascal.taie.util.AnalysisException;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Pair;
+import pascal.taie.util.collection.Sets;
 
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 class Solver {
 
     private static final Logger logger = LogManager.getLogger(Solver.class);
 
+    private final AnalysisOptions options;
+
     private final HeapModel heapModel;
 
     private final ContextSelector contextSelector;
@@ -52,23 +68,103 @@ class Solver {
 
     private WorkList workList;
 
+    /**
+     * Factory of the points-to sets of this solver, which is given by
+     * the CS manager.
+     */
+    private PointsToSetFactory ptsFactory;
+
     private PointerAnalysisResult result;
 
-    Solver(HeapModel heapModel, ContextSelector contextSelector) {
+    private DispatchCache dispatchCache;
+
+    /**
+     * Variables of the method bodies replaced by {@link #update}.
+     */
+    private final Set<Var> retiredVars=Sets.newSet();
+
+    /**
+     * Objects allocated in the method bodies replaced by {@link #update}.
+     */
+    private final Set<Obj> retiredObjs=Sets.newSet();
+
+    /**
+     * Whether collapse the cycles in PFG.
+     */
+    private boolean cycleElimination;
+
+    /**
+     * PFG edges that have been checked by cycle detection.
+     */
+    private Set<Pair<Pointer, Pointer>> checkedEdges;
+
+    /**
+     * Propagator for parallel solving, or null if solving sequentially.
+     */
+    private ParallelPropagator propagator;
+
+    Solver(AnalysisOptions options, HeapModel heapModel,
+           ContextSelector contextSelector) {
+        this.options = options;
         this.heapModel = heapModel;
         this.contextSelector = contextSelector;
     }
 
     void solve() {
+        long start = System.currentTimeMillis();
         initialize();
-        analyze();
+        if (propagator != null) {
+            analyzeInParallel();
+            propagator.shutdown();
+        } else {
+            analyze();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        logger.info("Solved with {} points-to sets and {} thread(s) in {} ms," +
+                        " heap used: {} MB",
+                getOption("pts", "hybrid"), getThreads(),
+                System.currentTimeMillis() - start,
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        logger.info("Dispatch cache: {}", dispatchCache);
+        if (cycleElimination) {
+            logger.info("Cycle elimination collapsed {} cycles, merged {} pointers",
+                    pointerFlowGraph.getCollapsedCycles(),
+                    pointerFlowGraph.getMergedPointers());
+        }
     }
 
     private void initialize() {
-        csManager = new MapBasedCSManager();
+        int threads = getThreads();
+        boolean bitSets = getOption("pts", "hybrid").equals("bit");
+        // parallel solving creates elements from multiple threads
+        if (threads > 1 || getOption("cs-manager", "map").equals("concurrent")) {
+            ConcurrentCSManager concurrentCSManager = new ConcurrentCSManager(bitSets);
+            ptsFactory = concurrentCSManager.getPointsToSetFactory();
+            csManager = concurrentCSManager;
+        } else if (bitSets) {
+            IndexedCSManager indexedCSManager =
+                    new IndexedCSManager(new MapBasedCSManager());
+            ptsFactory = indexedCSManager.getPointsToSetFactory();
+            csManager = indexedCSManager;
+        } else {
+            ptsFactory = new PointsToSetFactory(null);
+            csManager = new MapBasedCSManager();
+        }
         callGraph = new CSCallGraph(csManager);
-        pointerFlowGraph = new PointerFlowGraph();
-        workList = new WorkList();
+        pointerFlowGraph = new PointerFlowGraph(threads > 1);
+        dispatchCache = new DispatchCache();
+        if (threads > 1) {
+            propagator = new ParallelPropagator(threads);
+            // parallel rounds require work-list entries be copies
+            // that are not modified by other pointers
+            workList = new WorkList(true, ptsFactory);
+        } else {
+            workList = new WorkList(
+                    getOption("worklist", "entry").equals("delta"), ptsFactory);
+        }
+        cycleElimination = options.has("cycle-elimination") &&
+                options.getBoolean("cycle-elimination");
+        checkedEdges = Sets.newSet();
         // process program entry, i.e., main method
         Context defContext = contextSelector.getEmptyContext();
         JMethod main = World.getMainMethod();
@@ -77,6 +173,21 @@ class Solver {
         addReachable(csMethod);
     }
 
+    /**
+     * @return value of given option, or defaultValue if the option
+     * is not specified.
+     */
+    private String getOption(String key, String defaultValue) {
+        return options.has(key) ? options.getString(key) : defaultValue;
+    }
+
+    /**
+     * @return the number of threads for solving.
+     */
+    private int getThreads() {
+        return options.has("threads") ? options.getInt("threads") : 1;
+    }
+
     /**
      * Processes new reachable context-sensitive method.
      */
@@ -109,7 +220,7 @@ class Solver {
             CSVar csVar=csManager.getCSVar(context, stmt.getLValue());
             CSObj csObj=csManager.getCSObj(heapContext,heapModel.getObj(stmt));
 
-            workList.addEntry(csVar, PointsToSetFactory.make(csObj));
+            workList.addEntry(csVar, ptsFactory.makeSet(csObj));
             return null;
         }
         public Void visit(Copy stmt){
@@ -143,8 +254,11 @@ class Solver {
                 if(callGraph.addEdge(new Edge<CSCallSite, CSMethod>(CallKind.STATIC,csCallSite,csMethod))){
                     addReachable(csMethod);
 
-                    for(Var var:jMethod.getIR().getReturnVars()){
-                        addPFGEdge(csManager.getCSVar(staticContext,var),csManager.getCSVar(context,stmt.getLValue()));
+                    Var lhs=stmt.getLValue();
+                    if(lhs!=null){
+                        for(Var var:jMethod.getIR().getReturnVars()){
+                            addPFGEdge(csManager.getCSVar(staticContext,var),csManager.getCSVar(context,lhs));
+                        }
                     }
 
                     List<Var>Args=stmt.getRValue().getArgs();
@@ -179,54 +293,264 @@ class Solver {
         // TODO - finish me
         while(!workList.isEmpty()){
             WorkList.Entry entry=workList.pollEntry();
-            PointsToSet diffPointsToSet=propagate(entry.pointer,entry.pointsToSet);
-            if(entry.pointer instanceof CSVar){
-                if(!diffPointsToSet.isEmpty()&&diffPointsToSet!=null) {
-                    Var var=((CSVar) entry.pointer).getVar();
-                    String str=var.toString();
-                    Context context=((CSVar) entry.pointer).getContext();
-                    for (CSObj obj : diffPointsToSet) {
-                        for(StoreField storeField:var.getStoreFields()){
-                            CSVar csVar=csManager.getCSVar(context,storeField.getRValue());
-                            InstanceField instanceField=csManager.getInstanceField(obj,storeField.getFieldRef().resolve());
-                            addPFGEdge(csVar,instanceField);
-                        }
-                        for(LoadField loadField:var.getLoadFields()){
-                            CSVar csVar=csManager.getCSVar(context,loadField.getLValue());
-                            InstanceField instanceField=csManager.getInstanceField(obj,loadField.getFieldRef().resolve());
-                            addPFGEdge(instanceField,csVar);
-                        }
-                        for(StoreArray storeArray:var.getStoreArrays()){
-                            CSVar csVar=csManager.getCSVar(context,storeArray.getRValue());
-                            ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
-                            addPFGEdge(csVar,arrayIndex);
-                        }
-                        for(LoadArray loadArray:var.getLoadArrays()){
-                            CSVar csVar=csManager.getCSVar(context,loadArray.getLValue());
-                            ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
-                            addPFGEdge(arrayIndex,csVar);
-                        }
+            Pointer pointer=pointerFlowGraph.getRepresentative(entry.pointer);
+            PointsToSet diffPointsToSet=propagate(pointer,entry.pointsToSet);
+            if(!diffPointsToSet.isEmpty()){
+                pointerFlowGraph.membersOf(pointer).forEach(member->
+                        processNewObjects(member,diffPointsToSet));
+                if(cycleElimination){
+                    eliminateCycles(pointer);
+                }
+            }
+        }
+    }
 
-                        processCall((CSVar) entry.pointer,obj);
+    /**
+     * Processes work-list entries in rounds until the work-list is empty.
+     * Each round takes three steps:
+     * (1) all pending entries are propagated in parallel;
+     * (2) the new objects of the changed pointers are processed in
+     * parallel, i.e., the PFG edges of field and array accesses are added
+     * to the concurrent PFG, and the instance calls are resolved;
+     * (3) the facts collected in (2) are applied sequentially, i.e., the
+     * entries of the next round are added to the work list, and the call
+     * edges, new reachable methods and cycles are processed, as the work
+     * list and the call graph are not thread-safe.
+     */
+    private void analyzeInParallel() {
+        while(!workList.isEmpty()){
+            Map<Pointer,PointsToSet> round=new LinkedHashMap<>();
+            while(!workList.isEmpty()){
+                WorkList.Entry entry=workList.pollEntry();
+                round.merge(pointerFlowGraph.getRepresentative(entry.pointer),
+                        entry.pointsToSet,(pts1,pts2)->{
+                            pts1.addAll(pts2);
+                            return pts1;
+                        });
+            }
+            Pointer[] pointers=round.keySet().toArray(new Pointer[0]);
+            PointsToSet[] diffs=propagator.propagate(pointers,
+                    round.values().toArray(new PointsToSet[0]));
+            NewFacts[] newFacts=new NewFacts[pointers.length];
+            propagator.forEach(pointers.length,i->{
+                if(!diffs[i].isEmpty()){
+                    NewFacts facts=new NewFacts();
+                    pointerFlowGraph.membersOf(pointers[i]).forEach(member->
+                            collectNewFacts(member,diffs[i],facts));
+                    newFacts[i]=facts;
+                }
+            });
+            for(int i=0;i<pointers.length;++i){
+                Pointer pointer=pointers[i];
+                PointsToSet diffPointsToSet=diffs[i];
+                if(!diffPointsToSet.isEmpty()){
+                    pointerFlowGraph.succsOf(pointer).forEach(succ->
+                            workList.addEntry(succ,diffPointsToSet));
+                    newFacts[i].apply();
+                    if(cycleElimination){
+                        eliminateCycles(pointer);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Processes the statements of pointer when new objects
+     * flow to it, if the pointer is a variable.
+     */
+    private void processNewObjects(Pointer pointer, PointsToSet diffPointsToSet) {
+        NewFacts newFacts=new NewFacts();
+        collectNewFacts(pointer,diffPointsToSet,newFacts);
+        newFacts.apply();
+    }
+
+    /**
+     * Adds the PFG edges of the field and array accesses on pointer for
+     * the new objects, and resolves the instance calls on them. The facts
+     * which update the work list and the call graph are collected into
+     * newFacts. This method may run in parallel for different pointers
+     * if the PFG and the CS manager are thread-safe.
+     */
+    private void collectNewFacts(Pointer pointer, PointsToSet diffPointsToSet,
+                                 NewFacts newFacts) {
+        if(pointer instanceof CSVar){
+            CSVar recv=(CSVar) pointer;
+            Var var=recv.getVar();
+            Context context=recv.getContext();
+            for (CSObj obj : diffPointsToSet) {
+                for(StoreField storeField:var.getStoreFields()){
+                    CSVar csVar=csManager.getCSVar(context,storeField.getRValue());
+                    InstanceField instanceField=csManager.getInstanceField(obj,storeField.getFieldRef().resolve());
+                    newFacts.addPFGEdge(csVar,instanceField);
+                }
+                for(LoadField loadField:var.getLoadFields()){
+                    CSVar csVar=csManager.getCSVar(context,loadField.getLValue());
+                    InstanceField instanceField=csManager.getInstanceField(obj,loadField.getFieldRef().resolve());
+                    newFacts.addPFGEdge(instanceField,csVar);
+                }
+                for(StoreArray storeArray:var.getStoreArrays()){
+                    CSVar csVar=csManager.getCSVar(context,storeArray.getRValue());
+                    ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
+                    newFacts.addPFGEdge(csVar,arrayIndex);
+                }
+                for(LoadArray loadArray:var.getLoadArrays()){
+                    CSVar csVar=csManager.getCSVar(context,loadArray.getLValue());
+                    ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
+                    newFacts.addPFGEdge(arrayIndex,csVar);
+                }
+                for(Invoke invoke:var.getInvokes()){
+                    JMethod jMethod=resolveCallee(obj,invoke);
+                    Context invokeContext=contextSelector.selectContext(csManager.getCSCallSite(context,invoke),obj,jMethod);
+                    newFacts.calls.add(new Call(recv,obj,invoke,jMethod,invokeContext));
+                }
+            }
+        }
+    }
+
+    /**
+     * Facts derived from the new objects of pointers, i.e., the new PFG
+     * edges, whose sources are propagated to their targets, and the
+     * resolved instance calls, which are added to the call graph.
+     */
+    private class NewFacts {
+
+        private final List<Pointer> edgeSources=new ArrayList<>();
+
+        private final List<Pointer> edgeTargets=new ArrayList<>();
+
+        private final List<Call> calls=new ArrayList<>();
+
+        private void addPFGEdge(Pointer source, Pointer target) {
+            if(pointerFlowGraph.addEdge(source,target)){
+                edgeSources.add(source);
+                edgeTargets.add(target);
+            }
+        }
+
+        private void apply() {
+            for(int i=0;i<edgeSources.size();++i){
+                PointsToSet pointsToSet=edgeSources.get(i).getPointsToSet();
+                if(!pointsToSet.isEmpty()){
+                    workList.addEntry(edgeTargets.get(i),pointsToSet);
+                }
+            }
+            for(Call call:calls){
+                addCallEdge(call.recv,call.recvObj,call.invoke,
+                        call.callee,call.calleeContext);
+            }
+        }
+    }
+
+    /**
+     * An instance call site of the receiver variable resolved on
+     * the receiver object.
+     */
+    private static class Call {
+
+        private final CSVar recv;
+
+        private final CSObj recvObj;
+
+        private final Invoke invoke;
+
+        private final JMethod callee;
+
+        private final Context calleeContext;
+
+        private Call(CSVar recv, CSObj recvObj, Invoke invoke,
+                     JMethod callee, Context calleeContext) {
+            this.recv=recv;
+            this.recvObj=recvObj;
+            this.invoke=invoke;
+            this.callee=callee;
+            this.calleeContext=calleeContext;
+        }
+    }
+
+    /**
+     * Lazy cycle detection: when pointer and its successor have the same
+     * points-to set, the edge between them is likely on a cycle. Each edge
+     * is checked at most once, and found cycles are collapsed into pointer.
+     */
+    private void eliminateCycles(Pointer pointer) {
+        PointsToSet pointsToSet=pointer.getPointsToSet();
+        List<Pointer> succs=pointerFlowGraph.succsOf(pointer)
+                .collect(Collectors.toList());
+        for(Pointer succ:succs){
+            succ=pointerFlowGraph.getRepresentative(succ);
+            if(succ!=pointer
+                    && isSame(pointsToSet,succ.getPointsToSet())
+                    && checkedEdges.add(new Pair<>(pointer,succ))){
+                Set<Pointer> cycle=pointerFlowGraph.findCycle(succ,pointer);
+                if(!cycle.isEmpty()){
+                    collapse(pointer,cycle);
+                }
+            }
+        }
+    }
+
+    private static boolean isSame(PointsToSet pts1, PointsToSet pts2) {
+        if(pts1.size()!=pts2.size()){
+            return false;
+        }
+        for(CSObj obj:pts1){
+            if(!pts2.contains(obj)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges the pointers in a cycle into representative rep. Before that,
+     * each pointer processes the objects that it has not seen in the
+     * union of the points-to sets of the cycle.
+     */
+    private void collapse(Pointer rep, Set<Pointer> cycle) {
+        PointsToSet pointsToSet=rep.getPointsToSet();
+        List<PointsToSet> oldPointsToSets=new ArrayList<>();
+        PointsToSet repDiff=ptsFactory.makeSet();
+        for(Pointer pointer:cycle){
+            if(pointer!=rep){
+                oldPointsToSets.add(pointer.getPointsToSet());
+                repDiff.addAll(pointsToSet.addAllDiff(pointer.getPointsToSet()));
+            }
+        }
+        if(!repDiff.isEmpty()){
+            pointerFlowGraph.membersOf(rep).forEach(member->
+                    processNewObjects(member,repDiff));
+        }
+        int i=0;
+        for(Pointer pointer:cycle){
+            if(pointer!=rep){
+                PointsToSet oldPointsToSet=oldPointsToSets.get(i++);
+                PointsToSet diff=ptsFactory.makeSet();
+                for(CSObj obj:pointsToSet){
+                    if(!oldPointsToSet.contains(obj)){
+                        diff.addObject(obj);
+                    }
+                }
+                if(!diff.isEmpty()){
+                    pointerFlowGraph.membersOf(pointer).forEach(member->
+                            processNewObjects(member,diff));
+                }
+            }
+        }
+        pointerFlowGraph.merge(rep,cycle);
+        // successors of the merged pointers may miss some objects of rep
+        pointerFlowGraph.succsOf(rep).forEach(succ->
+                workList.addEntry(succ,pointsToSet));
+    }
+
     /**
      * Propagates pointsToSet to pt(pointer) and its PFG successors,
      * returns the difference set of pointsToSet and pt(pointer).
      */
     private PointsToSet propagate(Pointer pointer, PointsToSet pointsToSet) {
         // TODO - finish me
-        PointsToSet diffPointsToSet=PointsToSetFactory.make();
-        if(!pointsToSet.isEmpty()){
-            for(CSObj obj:pointsToSet){
-                if(pointer.getPointsToSet().addObject(obj)){
-                    diffPointsToSet.addObject(obj);
-                }
-            }
+        PointsToSet diffPointsToSet=pointer.getPointsToSet().addAllDiff(pointsToSet);
+        if(!diffPointsToSet.isEmpty()){
             pointerFlowGraph.succsOf(pointer).forEach(succ->{
                 workList.addEntry(succ,diffPointsToSet);
             });
@@ -235,42 +559,402 @@ class Solver {
     }
 
     /**
-     * Processes instance calls when points-to set of the receiver variable changes.
-     *
-     * @param recv    the receiver variable
-     * @param recvObj set of new discovered objects pointed by the variable.
+     * Processes an instance call site of the receiver variable
+     * with the receiver object.
      */
-    private void processCall(CSVar recv, CSObj recvObj) {
-        // TODO - finish me
+    private void processCall(CSVar recv, CSObj recvObj, Invoke invoke) {
+        JMethod jMethod=resolveCallee(recvObj,invoke);
+        Context invokeContext=contextSelector.selectContext(csManager.getCSCallSite(recv.getContext(),invoke),recvObj,jMethod);
+        addCallEdge(recv,recvObj,invoke,jMethod,invokeContext);
+    }
 
+    /**
+     * Adds the call edge from an instance call site of the receiver
+     * variable to the callee resolved on the receiver object, and passes
+     * the receiver object, the arguments and the return values.
+     */
+    private void addCallEdge(CSVar recv, CSObj recvObj, Invoke invoke,
+                             JMethod jMethod, Context invokeContext) {
         Context context=recv.getContext();
-        for(Invoke invoke:recv.getVar().getInvokes()){
-            JMethod jMethod=resolveCallee(recvObj,invoke);
-            Context invokeContext=contextSelector.selectContext(csManager.getCSCallSite(context,invoke),recvObj,jMethod);
-            workList.addEntry(csManager.getCSVar(invokeContext,jMethod.getIR().getThis()),PointsToSetFactory.make(recvObj));
-            CallKind kind = null;
-            if(invoke.isInterface()){
-               kind=CallKind.INTERFACE;
-            }else if(invoke.isSpecial()){
-                kind=CallKind.SPECIAL;
-            }else if(invoke.isDynamic()){
-                kind=CallKind.DYNAMIC;
-            }else if(invoke.isVirtual()){
-                kind=CallKind.VIRTUAL;
-            }else{
-                kind=CallKind.OTHER;
-            }
-            if(callGraph.addEdge(new Edge<CSCallSite,CSMethod>(kind,csManager.getCSCallSite(context,invoke),csManager.getCSMethod(invokeContext,jMethod)))){
-                addReachable(csManager.getCSMethod(invokeContext,jMethod));
+        workList.addEntry(csManager.getCSVar(invokeContext,jMethod.getIR().getThis()),ptsFactory.makeSet(recvObj));
+        CallKind kind = null;
+        if(invoke.isInterface()){
+           kind=CallKind.INTERFACE;
+        }else if(invoke.isSpecial()){
+            kind=CallKind.SPECIAL;
+        }else if(invoke.isDynamic()){
+            kind=CallKind.DYNAMIC;
+        }else if(invoke.isVirtual()){
+            kind=CallKind.VIRTUAL;
+        }else{
+            kind=CallKind.OTHER;
+        }
+        if(callGraph.addEdge(new Edge<CSCallSite,CSMethod>(kind,csManager.getCSCallSite(context,invoke),csManager.getCSMethod(invokeContext,jMethod)))){
+            addReachable(csManager.getCSMethod(invokeContext,jMethod));
 
+            Var lhs=invoke.getLValue();
+            if(lhs!=null){
                 for(Var var:jMethod.getIR().getReturnVars()){
-                    addPFGEdge(csManager.getCSVar(invokeContext,var),csManager.getCSVar(context,invoke.getLValue()));
+                    addPFGEdge(csManager.getCSVar(invokeContext,var),csManager.getCSVar(context,lhs));
                 }
+            }
+
+            List<Var>Args=invoke.getRValue().getArgs();
+            List<Var>Params=jMethod.getIR().getParams();
+            for(int i=0;i<Args.size();i++){
+                addPFGEdge(csManager.getCSVar(context,Args.get(i)),csManager.getCSVar(invokeContext,Params.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Updates the solved result after the bodies of given methods are
+     * edited, i.e., replaced by given IRs. The facts which may depend on
+     * the old bodies are retracted, and then re-derived from the remaining
+     * facts and the new bodies, so that only the affected pointers are
+     * propagated again.
+     */
+    void update(Map<JMethod, IR> newIRs) {
+        if(cycleElimination||propagator!=null){
+            throw new AnalysisException("Incremental update does not support" +
+                    " cycle elimination or parallel solving");
+        }
+        long start=System.currentTimeMillis();
+        Retraction retraction=new Retraction(newIRs.keySet());
+        retraction.retract();
+        newIRs.forEach(JMethod::setIR);
+        retraction.rederive();
+        analyze();
+        result=null;
+        logger.info("Updated {} method(s) in {} ms, retracted {} pointers",
+                newIRs.size(),System.currentTimeMillis()-start,
+                retraction.deleted.size());
+    }
+
+    /**
+     * Delete and re-derive: retraction over-deletes the points-to sets
+     * which may depend on the old bodies of changed methods, together with
+     * the PFG edges and call edges derived from them, and re-derivation
+     * propagates the remaining facts to the retracted pointers again.
+     */
+    private class Retraction {
+
+        private final Set<JMethod> changedMethods;
+
+        /**
+         * Pointers whose points-to sets are retracted.
+         */
+        private final Set<Pointer> deleted=Sets.newSet();
+
+        private final Deque<Pointer> queue=new ArrayDeque<>();
+
+        /**
+         * Retracted pointers which lose all their PFG edges, i.e.,
+         * the variables of the old bodies and of unreachable methods.
+         */
+        private final Set<Pointer> isolated=Sets.newSet();
+
+        /**
+         * Callees of the retracted call edges.
+         */
+        private final Set<CSMethod> retractedCallees=Sets.newSet();
+
+        /**
+         * Call sites whose retracted call edges are derived again.
+         */
+        private final Set<CSCallSite> replayed=Sets.newSet();
+
+        /**
+         * Cache of base variables of each method, indexed by the other
+         * variables of their field and array accesses.
+         */
+        private final Map<JMethod,Map<Var,List<Var>>> basesByOperand=Maps.newMap();
+
+        private Retraction(Set<JMethod> changedMethods) {
+            this.changedMethods=changedMethods;
+        }
+
+        private void retract() {
+            for(JMethod method:changedMethods){
+                retiredVars.addAll(method.getIR().getVars());
+                for(Stmt stmt:method.getIR().getStmts()){
+                    if(stmt instanceof New){
+                        retiredObjs.add(heapModel.getObj((New) stmt));
+                    }
+                }
+            }
+            List<CSMethod> changedCSMethods=callGraph.reachableMethods()
+                    .filter(m->changedMethods.contains(m.getMethod()))
+                    .collect(Collectors.toList());
+            for(CSMethod csMethod:changedCSMethods){
+                retractMethod(csMethod);
+                List<Edge<CSCallSite,CSMethod>> edges=callGraph.edgesTo(csMethod)
+                        .collect(Collectors.toList());
+                for(Edge<CSCallSite,CSMethod> edge:edges){
+                    retractCallEdge(edge);
+                    replayed.add(edge.getCallSite());
+                }
+            }
+            while(!queue.isEmpty()){
+                Pointer pointer=queue.poll();
+                pointerFlowGraph.succsOf(pointer).forEach(this::delete);
+                if(pointer instanceof CSVar){
+                    retractDerivedFacts((CSVar) pointer);
+                }
+            }
+            Map<Pointer,Set<Pointer>> preds=pointerFlowGraph.getPredecessors();
+            for(Pointer pointer:isolated){
+                List<Pointer> succs=pointerFlowGraph.succsOf(pointer)
+                        .collect(Collectors.toList());
+                succs.forEach(succ->pointerFlowGraph.removeEdge(pointer,succ));
+                preds.getOrDefault(pointer,Set.of()).forEach(pred->
+                        pointerFlowGraph.removeEdge(pred,pointer));
+            }
+            deleted.forEach(pointer->
+                    pointer.setPointsToSet(ptsFactory.makeSet()));
+        }
+
+        private void delete(Pointer pointer) {
+            if(deleted.add(pointer)){
+                queue.add(pointer);
+            }
+        }
 
-                List<Var>Args=invoke.getRValue().getArgs();
-                List<Var>Params=jMethod.getIR().getParams();
-                for(int i=0;i<Args.size();i++){
-                    addPFGEdge(csManager.getCSVar(context,Args.get(i)),csManager.getCSVar(invokeContext,Params.get(i)));
+        /**
+         * Retracts a reachable CS method and all facts derived from its body.
+         */
+        private void retractMethod(CSMethod csMethod) {
+            callGraph.removeReachableMethod(csMethod);
+            Context context=csMethod.getContext();
+            for(Var var:csMethod.getMethod().getIR().getVars()){
+                csManager.csVarsOf(var)
+                        .filter(csVar->csVar.getContext().equals(context))
+                        .forEach(csVar->{
+                            isolated.add(csVar);
+                            delete(csVar);
+                        });
+            }
+            List<Edge<CSCallSite,CSMethod>> edges=callGraph.callSitesIn(csMethod)
+                    .flatMap(callGraph::edgesOf)
+                    .collect(Collectors.toList());
+            edges.forEach(this::retractCallEdge);
+        }
+
+        /**
+         * Retracts a call edge and the PFG edges for parameter passing
+         * and return values, and retracts the callee if it becomes
+         * unreachable.
+         */
+        private void retractCallEdge(Edge<CSCallSite,CSMethod> edge) {
+            callGraph.removeEdge(edge);
+            CSCallSite csCallSite=edge.getCallSite();
+            CSMethod callee=edge.getCallee();
+            Invoke invoke=csCallSite.getCallSite();
+            Context context=csCallSite.getContext();
+            Context calleeContext=callee.getContext();
+            IR ir=callee.getMethod().getIR();
+            if(invoke.getLValue()!=null){
+                CSVar lhs=csManager.getCSVar(context,invoke.getLValue());
+                for(Var var:ir.getReturnVars()){
+                    pointerFlowGraph.removeEdge(csManager.getCSVar(calleeContext,var),lhs);
+                    delete(lhs);
+                }
+            }
+            List<Var> args=invoke.getRValue().getArgs();
+            for(int i=0;i<args.size();i++){
+                CSVar param=csManager.getCSVar(calleeContext,ir.getParam(i));
+                pointerFlowGraph.removeEdge(csManager.getCSVar(context,args.get(i)),param);
+                delete(param);
+            }
+            if(!invoke.isStatic()){
+                delete(csManager.getCSVar(calleeContext,ir.getThis()));
+            }
+            retractedCallees.add(callee);
+            if(callGraph.contains(callee)
+                    &&callGraph.edgesTo(callee).findAny().isEmpty()
+                    &&callGraph.entryMethods().noneMatch(callee::equals)){
+                retractMethod(callee);
+            }
+        }
+
+        /**
+         * Retracts the PFG edges and call edges derived from
+         * the points-to set of a retracted variable.
+         */
+        private void retractDerivedFacts(CSVar csVar) {
+            Var var=csVar.getVar();
+            Context context=csVar.getContext();
+            for(CSObj obj:csVar.getPointsToSet()){
+                for(StoreField storeField:var.getStoreFields()){
+                    Var rhs=storeField.getRValue();
+                    InstanceField instanceField=csManager.getInstanceField(obj,storeField.getFieldRef().resolve());
+                    pointerFlowGraph.removeEdge(csManager.getCSVar(context,rhs),instanceField);
+                    delete(instanceField);
+                    deletePeerBases(csVar,rhs);
+                }
+                for(LoadField loadField:var.getLoadFields()){
+                    CSVar lhs=csManager.getCSVar(context,loadField.getLValue());
+                    InstanceField instanceField=csManager.getInstanceField(obj,loadField.getFieldRef().resolve());
+                    pointerFlowGraph.removeEdge(instanceField,lhs);
+                    delete(lhs);
+                    deletePeerBases(csVar,loadField.getLValue());
+                }
+                for(StoreArray storeArray:var.getStoreArrays()){
+                    Var rhs=storeArray.getRValue();
+                    ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
+                    pointerFlowGraph.removeEdge(csManager.getCSVar(context,rhs),arrayIndex);
+                    delete(arrayIndex);
+                    deletePeerBases(csVar,rhs);
+                }
+                for(LoadArray loadArray:var.getLoadArrays()){
+                    CSVar lhs=csManager.getCSVar(context,loadArray.getLValue());
+                    ArrayIndex arrayIndex=csManager.getArrayIndex(obj);
+                    pointerFlowGraph.removeEdge(arrayIndex,lhs);
+                    delete(lhs);
+                    deletePeerBases(csVar,loadArray.getLValue());
+                }
+            }
+            for(Invoke invoke:var.getInvokes()){
+                CSCallSite csCallSite=csManager.getCSCallSite(context,invoke);
+                List<Edge<CSCallSite,CSMethod>> edges=callGraph.edgesOf(csCallSite)
+                        .collect(Collectors.toList());
+                edges.forEach(this::retractCallEdge);
+            }
+        }
+
+        /**
+         * A removed edge (var -> o.f) or (o.f -> var) may also be derived
+         * by other base variables that access var; they are retracted to
+         * derive the edge again.
+         */
+        private void deletePeerBases(CSVar base, Var var) {
+            Map<Var,List<Var>> bases=basesByOperand.computeIfAbsent(
+                    var.getMethod(),this::indexBases);
+            for(Var peer:bases.getOrDefault(var,List.of())){
+                if(peer!=base.getVar()){
+                    csManager.csVarsOf(peer)
+                            .filter(v->v.getContext().equals(base.getContext()))
+                            .forEach(this::delete);
+                }
+            }
+        }
+
+        private Map<Var,List<Var>> indexBases(JMethod method) {
+            Map<Var,List<Var>> bases=Maps.newMap();
+            for(Var var:method.getIR().getVars()){
+                for(StoreField storeField:var.getStoreFields()){
+                    bases.computeIfAbsent(storeField.getRValue(),v->new ArrayList<>()).add(var);
+                }
+                for(LoadField loadField:var.getLoadFields()){
+                    bases.computeIfAbsent(loadField.getLValue(),v->new ArrayList<>()).add(var);
+                }
+                for(StoreArray storeArray:var.getStoreArrays()){
+                    bases.computeIfAbsent(storeArray.getRValue(),v->new ArrayList<>()).add(var);
+                }
+                for(LoadArray loadArray:var.getLoadArrays()){
+                    bases.computeIfAbsent(loadArray.getLValue(),v->new ArrayList<>()).add(var);
+                }
+            }
+            return bases;
+        }
+
+        private void rederive() {
+            Map<Pointer,Set<Pointer>> preds=pointerFlowGraph.getPredecessors();
+            Map<CSMethod,Set<CSVar>> reseeded=new LinkedHashMap<>();
+            for(Pointer pointer:deleted){
+                if(isolated.contains(pointer)){
+                    continue;
+                }
+                for(Pointer pred:preds.getOrDefault(pointer,Set.of())){
+                    if(!deleted.contains(pred)&&!pred.getPointsToSet().isEmpty()){
+                        workList.addEntry(pointer,pred.getPointsToSet());
+                    }
+                }
+                if(pointer instanceof CSVar){
+                    CSVar csVar=(CSVar) pointer;
+                    CSMethod csMethod=csManager.getCSMethod(
+                            csVar.getContext(),csVar.getVar().getMethod());
+                    reseeded.computeIfAbsent(csMethod,m->Sets.newSet()).add(csVar);
+                }
+            }
+            // objects allocated for the retracted variables
+            reseeded.forEach((csMethod,csVars)->{
+                StmtProcessor stmtProcessor=new StmtProcessor(csMethod);
+                for(Stmt stmt:csMethod.getMethod().getIR().getStmts()){
+                    if(stmt instanceof New&&csVars.contains(
+                            csManager.getCSVar(csMethod.getContext(),((New) stmt).getLValue()))){
+                        stmt.accept(stmtProcessor);
+                    }
+                }
+            });
+            // remaining call edges may share retracted PFG edges,
+            // e.g., two call sites which pass the same argument
+            List<Edge<CSCallSite,CSMethod>> edges=callGraph.edges()
+                    .collect(Collectors.toList());
+            for(Edge<CSCallSite,CSMethod> edge:edges){
+                if(retractedCallees.contains(edge.getCallee())){
+                    reconnect(edge);
+                    if(!edge.getCallSite().getCallSite().isStatic()){
+                        replayed.add(edge.getCallSite());
+                    }
+                }else if(isResultRetracted(edge)){
+                    reconnect(edge);
+                }
+            }
+            for(CSCallSite csCallSite:replayed){
+                replay(csCallSite);
+            }
+            callGraph.entryMethods().forEach(Solver.this::addReachable);
+        }
+
+        private boolean isResultRetracted(Edge<CSCallSite,CSMethod> edge) {
+            CSCallSite csCallSite=edge.getCallSite();
+            return csCallSite.getCallSite().getLValue()!=null
+                    &&!edge.getCallee().getMethod().getIR().getReturnVars().isEmpty()
+                    &&deleted.contains(csManager.getCSVar(csCallSite.getContext(),
+                    csCallSite.getCallSite().getLValue()));
+        }
+
+        /**
+         * Adds the PFG edges for parameter passing and return values
+         * of a remaining call edge again.
+         */
+        private void reconnect(Edge<CSCallSite,CSMethod> edge) {
+            CSCallSite csCallSite=edge.getCallSite();
+            CSMethod callee=edge.getCallee();
+            Invoke invoke=csCallSite.getCallSite();
+            Context context=csCallSite.getContext();
+            Context calleeContext=callee.getContext();
+            IR ir=callee.getMethod().getIR();
+            if(invoke.getLValue()!=null){
+                for(Var var:ir.getReturnVars()){
+                    addPFGEdge(csManager.getCSVar(calleeContext,var),csManager.getCSVar(context,invoke.getLValue()));
+                }
+            }
+            List<Var> args=invoke.getRValue().getArgs();
+            for(int i=0;i<args.size();i++){
+                addPFGEdge(csManager.getCSVar(context,args.get(i)),csManager.getCSVar(calleeContext,ir.getParam(i)));
+            }
+        }
+
+        /**
+         * Derives the call edges of a call site from the current
+         * points-to set of its receiver variable.
+         */
+        private void replay(CSCallSite csCallSite) {
+            Invoke invoke=csCallSite.getCallSite();
+            CSMethod container=csCallSite.getContainer();
+            if(changedMethods.contains(invoke.getContainer())
+                    ||!callGraph.contains(container)){
+                return;
+            }
+            if(invoke.isStatic()){
+                invoke.accept(new StmtProcessor(container));
+            }else{
+                Var base=((InvokeInstanceExp) invoke.getInvokeExp()).getBase();
+                CSVar recv=csManager.getCSVar(csCallSite.getContext(),base);
+                for(CSObj recvObj:recv.getPointsToSet()){
+                    processCall(recv,recvObj,invoke);
                 }
             }
         }
@@ -286,12 +970,14 @@ class Solver {
      */
     private JMethod resolveCallee(CSObj recv, Invoke callSite) {
         Type type = recv != null ? recv.getObject().getType() : null;
-        return CallGraphs.resolveCallee(type, callSite);
+        return dispatchCache.resolveCallee(type, callSite);
     }
 
     PointerAnalysisResult getResult() {
         if (result == null) {
-            result = new PointerAnalysisResultImpl(csManager, callGraph);
+            CSManager liveCSManager = retiredVars.isEmpty() ? csManager :
+                    new LiveCSManager(csManager, callGraph, retiredVars, retiredObjs);
+            result = new PointerAnalysisResultImpl(liveCSManager, callGraph);
         }
         return result;
     }
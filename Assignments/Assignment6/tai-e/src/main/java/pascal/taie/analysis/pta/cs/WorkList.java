@@ -14,8 +14,12 @@ package pascal.taie.analysis.pta.cs;
 
 import pascal.taie.analysis.pta.core.cs.element.Pointer;
 import pascal.taie.analysis.pta.pts.PointsToSet;
+import pascal.taie.analysis.pta.pts.PointsToSetFactory;
 
 import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Queue;
 
 /**
@@ -25,11 +29,39 @@ class WorkList {
 
     private final Queue<Entry> entries = new ArrayDeque<>();
 
+    /**
+     * Map from a pointer to the objects pending to be propagated to it.
+     * If it is not null, entries of the same pointer are merged into
+     * one delta set instead of being queued in {@link #entries}.
+     */
+    private final Map<Pointer, PointsToSet> deltas;
+
+    /**
+     * Factory of the delta sets.
+     */
+    private final PointsToSetFactory ptsFactory;
+
+    /**
+     * @param mergeEntries whether merge the entries of the same pointer.
+     * @param ptsFactory   factory of the delta sets of merged entries.
+     */
+    WorkList(boolean mergeEntries, PointsToSetFactory ptsFactory) {
+        this.deltas = mergeEntries ? new LinkedHashMap<>() : null;
+        this.ptsFactory = ptsFactory;
+    }
+
     /**
      * Adds an entry to the work list.
      */
     void addEntry(Pointer pointer, PointsToSet pointsToSet) {
-        entries.add(new Entry(pointer, pointsToSet));
+        if (deltas == null) {
+            entries.add(new Entry(pointer, pointsToSet));
+        } else {
+            // the given set may be the live points-to set of another
+            // pointer, thus it is copied instead of being kept
+            deltas.computeIfAbsent(pointer, p -> ptsFactory.makeSet())
+                    .addAll(pointsToSet);
+        }
     }
 
     /**
@@ -37,14 +69,23 @@ class WorkList {
      * if this work list is empty.
      */
     Entry pollEntry() {
-        return entries.poll();
+        if (deltas == null) {
+            return entries.poll();
+        }
+        Iterator<Map.Entry<Pointer, PointsToSet>> it = deltas.entrySet().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        Map.Entry<Pointer, PointsToSet> delta = it.next();
+        it.remove();
+        return new Entry(delta.getKey(), delta.getValue());
     }
 
     /**
      * @return true if the work list is empty, otherwise false.
      */
     boolean isEmpty() {
-        return entries.isEmpty();
+        return deltas == null ? entries.isEmpty() : deltas.isEmpty();
     }
 
     /**
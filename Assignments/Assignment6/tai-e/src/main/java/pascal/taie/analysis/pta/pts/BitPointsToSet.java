@@ -0,0 +1,307 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.pts;
+
+import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSObjIndexer;
+import pascal.taie.util.AnalysisException;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Points-to set backed by a sparse bit vector over the indexes of
+ * {@link CSObj}s. Only non-empty 64-bit words are stored, as pairs of
+ * (word position, word) sorted by position, so that union and difference
+ * of two such sets are word-wise merges.
+ */
+class BitPointsToSet implements PointsToSet {
+
+    private static final int[] EMPTY_KEYS = {};
+
+    private static final long[] EMPTY_WORDS = {};
+
+    private final CSObjIndexer indexer;
+
+    /**
+     * Positions of the non-empty words, in ascending order.
+     */
+    private int[] keys = EMPTY_KEYS;
+
+    /**
+     * The i-th element is the word at position keys[i].
+     */
+    private long[] words = EMPTY_WORDS;
+
+    /**
+     * Number of non-empty words.
+     */
+    private int length;
+
+    /**
+     * Number of objects in this set.
+     */
+    private int size;
+
+    BitPointsToSet(CSObjIndexer indexer) {
+        this.indexer = indexer;
+    }
+
+    @Override
+    public boolean addObject(CSObj obj) {
+        int index = indexOf(obj);
+        int key = index >>> 6;
+        long bit = 1L << index;
+        int i = Arrays.binarySearch(keys, 0, length, key);
+        if (i >= 0) {
+            if ((words[i] & bit) != 0) {
+                return false;
+            }
+            words[i] |= bit;
+        } else {
+            insertWord(-i - 1, key, bit);
+        }
+        ++size;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(PointsToSet pts) {
+        if (pts instanceof BitPointsToSet) {
+            return union((BitPointsToSet) pts, null);
+        }
+        boolean changed = false;
+        for (CSObj obj : pts) {
+            changed |= addObject(obj);
+        }
+        return changed;
+    }
+
+    @Override
+    public PointsToSet addAllDiff(PointsToSet pts) {
+        BitPointsToSet diff = new BitPointsToSet(indexer);
+        if (pts instanceof BitPointsToSet) {
+            union((BitPointsToSet) pts, diff);
+        } else {
+            for (CSObj obj : pts) {
+                if (addObject(obj)) {
+                    diff.addObject(obj);
+                }
+            }
+        }
+        return diff;
+    }
+
+    @Override
+    public boolean contains(CSObj obj) {
+        int index = obj.getIndex();
+        if (index < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, length, index >>> 6);
+        return i >= 0 && (words[i] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<CSObj> getObjects() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<CSObj> iterator() {
+                return BitPointsToSet.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof CSObj &&
+                        BitPointsToSet.this.contains((CSObj) o);
+            }
+        };
+    }
+
+    @Override
+    public Stream<CSObj> objects() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
+                Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Iterator<CSObj> iterator() {
+        int[] keys = this.keys;
+        long[] words = this.words;
+        int length = this.length;
+        return new Iterator<>() {
+
+            private int i = 0;
+
+            private long word = length > 0 ? words[0] : 0;
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0) {
+                    if (i + 1 >= length) {
+                        return false;
+                    }
+                    word = words[++i];
+                }
+                return true;
+            }
+
+            @Override
+            public CSObj next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1; // clear the lowest set bit
+                return indexer.getObject((keys[i] << 6) + bit);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return getObjects().toString();
+    }
+
+    private static int indexOf(CSObj obj) {
+        int index = obj.getIndex();
+        if (index < 0) {
+            throw new AnalysisException(obj + " has not been indexed");
+        }
+        return index;
+    }
+
+    /**
+     * Adds all objects in other to this set word by word.
+     *
+     * @param diff if not null, receives the objects that are in other
+     *             but were not in this set.
+     * @return true if this set changed as a result of the call,
+     * otherwise false.
+     */
+    private boolean union(BitPointsToSet other, BitPointsToSet diff) {
+        if (other == this || other.length == 0) {
+            return false;
+        }
+        // first pass: count new objects and new words
+        int added = 0;
+        int newWords = 0;
+        int i = 0, j = 0;
+        while (j < other.length) {
+            if (i == length || other.keys[j] < keys[i]) {
+                added += Long.bitCount(other.words[j++]);
+                ++newWords;
+            } else if (keys[i] < other.keys[j]) {
+                ++i;
+            } else {
+                added += Long.bitCount(other.words[j++] & ~words[i++]);
+            }
+        }
+        if (added == 0) {
+            return false;
+        }
+        // second pass: merge words. If other brings no new word,
+        // then the words of this set are updated in place.
+        boolean inPlace = newWords == 0;
+        int[] resultKeys = inPlace ? keys : new int[length + newWords];
+        long[] resultWords = inPlace ? words : new long[length + newWords];
+        int n = 0;
+        i = 0;
+        j = 0;
+        while (j < other.length || (!inPlace && i < length)) {
+            int key;
+            long word, newBits;
+            if (j == other.length || (i < length && keys[i] < other.keys[j])) {
+                key = keys[i];
+                word = words[i++];
+                newBits = 0;
+            } else if (i == length || other.keys[j] < keys[i]) {
+                key = other.keys[j];
+                word = newBits = other.words[j++];
+            } else {
+                key = keys[i];
+                newBits = other.words[j++] & ~words[i];
+                word = words[i++] | newBits;
+            }
+            if (newBits != 0 && diff != null) {
+                diff.appendWord(key, newBits);
+            }
+            resultKeys[n] = key;
+            resultWords[n] = word;
+            ++n;
+        }
+        if (!inPlace) {
+            keys = resultKeys;
+            words = resultWords;
+            length = n;
+        }
+        size += added;
+        return true;
+    }
+
+    /**
+     * Inserts a new word at given position of the word list.
+     */
+    private void insertWord(int pos, int key, long word) {
+        if (length == keys.length) {
+            grow();
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, length - pos);
+        System.arraycopy(words, pos, words, pos + 1, length - pos);
+        keys[pos] = key;
+        words[pos] = word;
+        ++length;
+    }
+
+    /**
+     * Appends a word whose position is greater than all existing ones.
+     */
+    private void appendWord(int key, long word) {
+        if (length == keys.length) {
+            grow();
+        }
+        keys[length] = key;
+        words[length] = word;
+        ++length;
+        size += Long.bitCount(word);
+    }
+
+    private void grow() {
+        int capacity = length < 2 ? 2 : length + (length >> 1);
+        keys = Arrays.copyOf(keys, capacity);
+        words = Arrays.copyOf(words, capacity);
+    }
+}
@@ -13,24 +13,66 @@
 package pascal.taie.analysis.pta.pts;
 
 import pascal.taie.analysis.pta.core.cs.element.CSObj;
+import pascal.taie.analysis.pta.core.cs.element.CSObjIndexer;
 import pascal.taie.util.collection.Sets;
 
+import javax.annotation.Nullable;
 import java.util.Set;
 import java.util.function.Supplier;
 
 /**
- * Provides static factory methods for {@link PointsToSet}.
+ * Provides factory methods for {@link PointsToSet}.
+ *
+ * Each solver makes its points-to sets by the factory of its CS manager,
+ * which decides the representation of the sets. The static methods make
+ * hybrid sets, e.g., for the pointers created by the framework's CS
+ * managers.
  */
 public class PointsToSetFactory {
 
     private static final Supplier<Set<CSObj>> setFactory = Sets::newHybridSet;
 
+    /**
+     * Indexer for bit-vector points-to sets. If it is null,
+     * points-to sets are backed by {@link #setFactory}.
+     */
+    @Nullable
+    private final CSObjIndexer indexer;
+
+    /**
+     * @param indexer if it is not null, the sets made by this factory are
+     *                bit vectors over the object indexes given by indexer,
+     *                otherwise they are hybrid sets.
+     */
+    public PointsToSetFactory(@Nullable CSObjIndexer indexer) {
+        this.indexer = indexer;
+    }
+
+    /**
+     * @return a new empty points-to set of this factory.
+     */
+    public PointsToSet makeSet() {
+        return indexer != null ? new BitPointsToSet(indexer) : make();
+    }
+
+    /**
+     * Convenient method for making one-element points-to set of this factory.
+     */
+    public PointsToSet makeSet(CSObj obj) {
+        PointsToSet set = makeSet();
+        set.addObject(obj);
+        return set;
+    }
+
+    /**
+     * @return a new empty hybrid points-to set.
+     */
     public static PointsToSet make() {
         return new DelegatePointsToSet(setFactory.get());
     }
 
     /**
-     * Convenient method for making one-element points-to set.
+     * Convenient method for making one-element hybrid points-to set.
      */
     public static PointsToSet make(CSObj obj) {
         PointsToSet set = make();
@@ -0,0 +1,214 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.toolkit.zipper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pascal.taie.analysis.graph.callgraph.CallGraph;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.heap.Obj;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Copy;
+import pascal.taie.ir.stmt.Invoke;
+import pascal.taie.ir.stmt.LoadArray;
+import pascal.taie.ir.stmt.LoadField;
+import pascal.taie.ir.stmt.Stmt;
+import pascal.taie.ir.stmt.StoreArray;
+import pascal.taie.ir.stmt.StoreField;
+import pascal.taie.language.classes.JMethod;
+import pascal.taie.util.collection.Maps;
+import pascal.taie.util.collection.Pair;
+import pascal.taie.util.collection.Sets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selects precision-critical methods from the result of
+ * a context-insensitive pre-analysis, following the idea of Zipper.
+ *
+ * Objects flow in a class through the parameters of its IN methods
+ * (public instance methods with parameters), and flow out of it through
+ * the return values of its OUT methods (public instance methods with
+ * return values). When a method on an object flow from an IN method to
+ * an OUT method of the same class is analyzed context-insensitively,
+ * the flows of different receiver objects of the class are merged,
+ * so such methods are precision-critical.
+ *
+ * The object flow graph is built from the pre-analysis result, and its
+ * nodes are variables, static fields, and instance fields and array
+ * indexes of abstract objects. Flows of a class are traversed only
+ * through the methods of the class and its inner classes.
+ */
+public class Zipper {
+
+    private static final Logger logger = LogManager.getLogger(Zipper.class);
+
+    /**
+     * Field of array index nodes in object flow graph.
+     */
+    private static final String ARRAY_INDEX = "[*]";
+
+    private final PointerAnalysisResult pta;
+
+    private final Map<Object, Set<Object>> succs = Maps.newMap();
+
+    private final Map<Object, Set<Object>> preds = Maps.newMap();
+
+    public Zipper(PointerAnalysisResult pta) {
+        this.pta = pta;
+    }
+
+    /**
+     * @return the precision-critical methods of the program.
+     */
+    public Set<JMethod> selectPrecisionCriticalMethods() {
+        CallGraph<Invoke, JMethod> callGraph = pta.getCallGraph();
+        buildObjectFlowGraph(callGraph);
+        Map<String, List<JMethod>> classes = callGraph.reachableMethods()
+                .collect(Collectors.groupingBy(Zipper::getOuterClassName));
+        Set<JMethod> result = Sets.newSet();
+        classes.values().forEach(methods ->
+                result.addAll(selectPrecisionCriticalMethods(methods)));
+        logger.info("Zipper selected {} precision-critical methods out of {}",
+                result.size(), callGraph.getNumberOfMethods());
+        return result;
+    }
+
+    private void buildObjectFlowGraph(CallGraph<Invoke, JMethod> callGraph) {
+        callGraph.reachableMethods().forEach(method -> {
+            for (Stmt stmt : method.getIR().getStmts()) {
+                if (stmt instanceof Copy) {
+                    Copy copy = (Copy) stmt;
+                    addFlow(copy.getRValue(), copy.getLValue());
+                } else if (stmt instanceof LoadField &&
+                        ((LoadField) stmt).isStatic()) {
+                    LoadField load = (LoadField) stmt;
+                    addFlow(load.getFieldRef().resolve(), load.getLValue());
+                } else if (stmt instanceof StoreField &&
+                        ((StoreField) stmt).isStatic()) {
+                    StoreField store = (StoreField) stmt;
+                    addFlow(store.getRValue(), store.getFieldRef().resolve());
+                }
+            }
+        });
+        pta.vars().forEach(base -> {
+            Set<Obj> objs = pta.getPointsToSet(base);
+            for (Obj obj : objs) {
+                for (StoreField store : base.getStoreFields()) {
+                    addFlow(store.getRValue(),
+                            new Pair<>(obj, store.getFieldRef().resolve()));
+                }
+                for (LoadField load : base.getLoadFields()) {
+                    addFlow(new Pair<>(obj, load.getFieldRef().resolve()),
+                            load.getLValue());
+                }
+                for (StoreArray store : base.getStoreArrays()) {
+                    addFlow(store.getRValue(), new Pair<>(obj, ARRAY_INDEX));
+                }
+                for (LoadArray load : base.getLoadArrays()) {
+                    addFlow(new Pair<>(obj, ARRAY_INDEX), load.getLValue());
+                }
+            }
+        });
+        callGraph.edges().forEach(edge -> {
+            Invoke callSite = edge.getCallSite();
+            IR calleeIR = edge.getCallee().getIR();
+            List<Var> args = callSite.getRValue().getArgs();
+            int n = Math.min(args.size(), calleeIR.getParams().size());
+            for (int i = 0; i < n; ++i) {
+                addFlow(args.get(i), calleeIR.getParam(i));
+            }
+            Var result = callSite.getLValue();
+            if (result != null) {
+                calleeIR.getReturnVars().forEach(ret -> addFlow(ret, result));
+            }
+        });
+    }
+
+    private void addFlow(Object source, Object target) {
+        succs.computeIfAbsent(source, n -> Sets.newHybridSet()).add(target);
+        preds.computeIfAbsent(target, n -> Sets.newHybridSet()).add(source);
+    }
+
+    /**
+     * @param methods reachable methods of a class and its inner classes.
+     * @return the precision-critical methods among given methods.
+     */
+    private Set<JMethod> selectPrecisionCriticalMethods(List<JMethod> methods) {
+        Set<JMethod> classMethods = Sets.newSet();
+        classMethods.addAll(methods);
+        List<Object> inNodes = new ArrayList<>();
+        List<Object> outNodes = new ArrayList<>();
+        for (JMethod method : methods) {
+            if (method.isPublic() && !method.isStatic()) {
+                IR ir = method.getIR();
+                inNodes.addAll(ir.getParams());
+                outNodes.addAll(ir.getReturnVars());
+            }
+        }
+        if (inNodes.isEmpty() || outNodes.isEmpty()) {
+            return Set.of();
+        }
+        Set<Object> flowIn = reach(inNodes, succs, classMethods);
+        Set<Object> flowOut = reach(outNodes, preds, classMethods);
+        Set<JMethod> result = Sets.newSet();
+        for (Object node : flowIn) {
+            if (node instanceof Var && flowOut.contains(node)) {
+                result.add(((Var) node).getMethod());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the nodes reachable from given nodes on given edges,
+     * without passing the variables of methods outside given methods.
+     */
+    private static Set<Object> reach(Collection<Object> from,
+                                     Map<Object, Set<Object>> edges,
+                                     Set<JMethod> methods) {
+        Set<Object> reached = Sets.newSet();
+        reached.addAll(from);
+        Deque<Object> workList = new ArrayDeque<>(from);
+        while (!workList.isEmpty()) {
+            Object node = workList.poll();
+            for (Object next : edges.getOrDefault(node, Set.of())) {
+                if (next instanceof Var &&
+                        !methods.contains(((Var) next).getMethod())) {
+                    continue;
+                }
+                if (reached.add(next)) {
+                    workList.add(next);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * @return name of the outermost class that declares given method.
+     */
+    private static String getOuterClassName(JMethod method) {
+        String name = method.getDeclaringClass().getName();
+        int index = name.indexOf('$');
+        return index == -1 ? name : name.substring(0, index);
+    }
+}
@@ -112,6 +112,13 @@ public class JMethod extends ClassMember {
         return ir;
     }
 
+    /**
+     * Replaces the IR of this method, e.g., after its body is edited.
+     */
+    public void setIR(IR ir) {
+        this.ir = ir;
+    }
+
     /**
      * @return the {@link MethodRef} pointing to this method.
      */
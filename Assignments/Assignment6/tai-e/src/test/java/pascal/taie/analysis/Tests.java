@@ -0,0 +1,133 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis;
+
+import pascal.taie.Main;
+import pascal.taie.World;
+import pascal.taie.analysis.misc.ClassDumper;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Static utility methods for testing.
+ */
+public final class Tests {
+
+    private Tests() {
+    }
+
+    /**
+     * Whether generate expected results or not.
+     */
+    private static final boolean GENERATE_EXPECTED_RESULTS = false;
+
+    /**
+     * Whether dump IR or not.
+     */
+    private static final boolean DUMP_IR = true;
+
+    public static void testPTA(String dir, String main, String... opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        String classPath = "src/test/resources/pta/" + dir;
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", main);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("implicit-entries:false");
+        String action = GENERATE_EXPECTED_RESULTS ? "dump" : "compare";
+        ptaArgs.add("action:" + action);
+        String file = Paths.get(classPath, main + "-expected.txt").toString();
+        ptaArgs.add("file:" + file);
+        Collections.addAll(ptaArgs, opts);
+        Collections.addAll(args, "-a", dir + "=" + String.join(";", ptaArgs));
+        if (DUMP_IR) {
+            // dump IR
+            Collections.addAll(args, "-a", ClassDumper.ID);
+        }
+        Main.main(args.toArray(new String[0]));
+    }
+
+    /**
+     * Runs pointer analysis without checking its result.
+     *
+     * @param id  ID of the pointer analysis
+     * @param dir directory of the program, under src/test/resources/pta
+     * @return the result of the pointer analysis, which is valid until
+     * the next run resets the world.
+     */
+    public static PointerAnalysisResult runPTA(
+            String id, String dir, String main, String... opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        Collections.addAll(args, "-cp", "src/test/resources/pta/" + dir);
+        Collections.addAll(args, "-m", main);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("implicit-entries:false");
+        ptaArgs.add("action:null");
+        Collections.addAll(ptaArgs, opts);
+        Collections.addAll(args, "-a", id + "=" + String.join(";", ptaArgs));
+        Main.main(args.toArray(new String[0]));
+        return World.getResult(id);
+    }
+
+    /**
+     * Runs pointer analysis on a program generated by {@link ProgramGenerator}.
+     * As generated programs have no expected results, this only checks
+     * that the analysis finishes on them.
+     *
+     * @param id         ID of the pointer analysis
+     * @param statements approximate number of statements of the program
+     */
+    public static void testGeneratedPTA(String id, int statements, String... opts) {
+        runGeneratedPTA(id, statements, "action:null", opts);
+    }
+
+    /**
+     * Runs pointer analysis sequentially on a program generated by
+     * {@link ProgramGenerator}, and then checks that the parallel analysis
+     * with given number of threads computes the same result.
+     *
+     * @param id         ID of the pointer analysis
+     * @param statements approximate number of statements of the program
+     */
+    public static void testGeneratedParallelPTA(
+            String id, int statements, int threads, String... opts) {
+        String file = ProgramGenerator.generate(statements)
+                .resolve(id + "-sequential.txt").toString();
+        runGeneratedPTA(id, statements, "action:dump;file:" + file, opts);
+        List<String> parallelOpts = new ArrayList<>();
+        Collections.addAll(parallelOpts, opts);
+        parallelOpts.add("threads:" + threads);
+        runGeneratedPTA(id, statements, "action:compare;file:" + file,
+                parallelOpts.toArray(new String[0]));
+    }
+
+    private static void runGeneratedPTA(
+            String id, int statements, String action, String... opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        String classPath = ProgramGenerator.generate(statements).toString();
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", ProgramGenerator.MAIN_CLASS);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("implicit-entries:false");
+        ptaArgs.add(action);
+        Collections.addAll(ptaArgs, opts);
+        Collections.addAll(args, "-a", id + "=" + String.join(";", ptaArgs));
+        Main.main(args.toArray(new String[0]));
+    }
+}
@@ -13,7 +13,26 @@
 package pascal.taie.analysis.pta;
 
 import org.junit.Test;
+import pascal.taie.World;
 import pascal.taie.analysis.Tests;
+import pascal.taie.analysis.pta.cs.CSPTA;
+import pascal.taie.analysis.pta.cs.IncrementalCSPTA;
+import pascal.taie.config.AnalysisConfig;
+import pascal.taie.config.AnalysisOptions;
+import pascal.taie.ir.DefaultIR;
+import pascal.taie.ir.IR;
+import pascal.taie.ir.exp.Var;
+import pascal.taie.ir.stmt.Return;
+import pascal.taie.language.classes.JMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CSPTATest {
 
@@ -83,4 +102,177 @@ public class CSPTATest {
     public void testArray() {
         Tests.testPTA(DIR, "Array");
     }
+
+    @Test
+    public void testTwoObjectBitSet() {
+        Tests.testPTA(DIR, "TwoObject", "cs:2-obj", "pts:bit");
+    }
+
+    @Test
+    public void testArrayBitSet() {
+        Tests.testPTA(DIR, "Array", "pts:bit");
+    }
+
+    @Test
+    public void testTwoCallDeltaWorkList() {
+        Tests.testPTA(DIR, "TwoCall", "cs:2-call", "worklist:delta");
+    }
+
+    @Test
+    public void testStoreLoadCycleElimination() {
+        Tests.testPTA(DIR, "StoreLoad", "cycle-elimination:true");
+    }
+
+    @Test
+    public void testTwoObjectParallel() {
+        Tests.testPTA(DIR, "TwoObject", "cs:2-obj", "threads:4");
+    }
+
+    @Test
+    public void testArrayParallel() {
+        Tests.testPTA(DIR, "Array", "threads:4");
+    }
+
+    @Test
+    public void testInstanceFieldParallel() {
+        Tests.testPTA(DIR, "InstanceField", "threads:4");
+    }
+
+    @Test
+    public void testTwoCallParallel() {
+        Tests.testPTA(DIR, "TwoCall", "cs:2-call", "threads:4");
+    }
+
+    @Test
+    public void testTwoCallParallelBitSet() {
+        Tests.testPTA(DIR, "TwoCall", "cs:2-call", "threads:8", "pts:bit");
+    }
+
+    @Test
+    public void testTwoTypeConcurrentManager() {
+        Tests.testPTA(DIR, "TwoType", "cs:2-type",
+                "cs-manager:concurrent", "pts:bit");
+    }
+
+    @Test
+    public void testArrayConcurrentManager() {
+        // arr.hashCode() discards its result, i.e., has no LHS variable
+        Tests.testPTA(DIR, "Array", "cs-manager:concurrent");
+    }
+
+    @Test
+    public void testZipperContainers() {
+        Map<String, Set<String>> ci = pointsTo(DIR, "Containers", "cs:ci");
+        Map<String, Set<String>> zipper = pointsTo(DIR, "Containers",
+                "cs:2-obj", "zipper:true");
+        Map<String, Set<String>> full = pointsTo(DIR, "Containers", "cs:2-obj");
+        assertEquals(full.keySet(), zipper.keySet());
+        full.forEach((var, objs) -> {
+            // sound w.r.t. full 2-obj, and at least as precise as CI
+            assertTrue(var, zipper.get(var).containsAll(objs));
+            assertTrue(var, ci.get(var).containsAll(zipper.get(var)));
+        });
+        // Box.set/get are precision-critical, so boxes are not merged
+        String x1 = "<Containers: void main(java.lang.String[])>/x1";
+        assertEquals(1, zipper.get(x1).size());
+        assertEquals(2, ci.get(x1).size());
+    }
+
+    /**
+     * @return the context-insensitive points-to sets of the variables of
+     * given program, where variables and objects are represented by strings,
+     * so that results of different runs can be compared.
+     */
+    private static Map<String, Set<String>> pointsTo(
+            String dir, String main, String... opts) {
+        return toStrings(Tests.runPTA(DIR, dir, main, opts));
+    }
+
+    private static Map<String, Set<String>> toStrings(PointerAnalysisResult result) {
+        return result.vars().collect(Collectors.toMap(
+                v -> v.getMethod() + "/" + v.getName(),
+                v -> result.getPointsToSet(v).stream()
+                        .map(Object::toString)
+                        .collect(Collectors.toSet())));
+    }
+
+    @Test
+    public void testTwoObjectIncremental() {
+        Map<String, Set<String>> fromScratch = pointsTo(DIR, "TwoObject", "cs:2-obj");
+        IncrementalCSPTA pta = new IncrementalCSPTA(incrementalOptions());
+        assertEquals(fromScratch, toStrings(pta.getResult()));
+        // rebuilding the IR of List.add does not change the program
+        JMethod add = getMethod("List", "add");
+        Map<String, Set<String>> updated = toStrings(pta.update(
+                Map.of(add, World.getIRBuilder().buildIR(add))));
+        assertEquals(fromScratch, updated);
+    }
+
+    @Test
+    public void testTwoObjectIncrementalStub() {
+        // cspta-edited/TwoObject is TwoObject with the body of List.add removed
+        Map<String, Set<String>> fromScratch = pointsTo("cspta-edited",
+                "TwoObject", "cs:2-obj");
+        pointsTo(DIR, "TwoObject", "cs:2-obj");
+        IncrementalCSPTA pta = new IncrementalCSPTA(incrementalOptions());
+        JMethod add = getMethod("List", "add");
+        Map<String, Set<String>> updated = toStrings(pta.update(
+                Map.of(add, makeStubIR(add))));
+        assertEquals(fromScratch, updated);
+        assertTrue(updated.getOrDefault(
+                "<TwoObject: void m()>/o1", Set.of()).isEmpty());
+    }
+
+    private static AnalysisOptions incrementalOptions() {
+        return new AnalysisConfig(CSPTA.ID,
+                "cs", "2-obj",
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true,
+                "action", null,
+                "file", null).getOptions();
+    }
+
+    private static JMethod getMethod(String className, String methodName) {
+        return World.getClassHierarchy()
+                .getClass(className)
+                .getDeclaredMethod(methodName);
+    }
+
+    /**
+     * Edits given void method by replacing its body with an empty one,
+     * i.e., the new IR just returns, and has fresh variables for
+     * this and the parameters.
+     *
+     * @return the IR of the empty body.
+     */
+    private static IR makeStubIR(JMethod method) {
+        IR ir = method.getIR();
+        Var thisVar = method.isStatic() ? null : new Var(method,
+                ir.getThis().getName(), ir.getThis().getType());
+        List<Var> params = new ArrayList<>();
+        for (Var param : ir.getParams()) {
+            params.add(new Var(method, param.getName(), param.getType()));
+        }
+        List<Var> vars = new ArrayList<>();
+        if (thisVar != null) {
+            vars.add(thisVar);
+        }
+        vars.addAll(params);
+        Return ret = new Return();
+        ret.setIndex(0);
+        return new DefaultIR(method, thisVar, params, List.of(), vars,
+                List.of(ret), List.of());
+    }
+
+    @Test
+    public void testGenerated() {
+        Tests.testGeneratedPTA(DIR, 1000, "cs:2-obj");
+    }
+
+    @Test
+    public void testGeneratedParallel() {
+        Tests.testGeneratedParallelPTA(DIR, 1000, 4, "cs:2-obj");
+    }
 }
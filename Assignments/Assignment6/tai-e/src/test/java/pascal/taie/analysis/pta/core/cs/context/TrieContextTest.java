@@ -0,0 +1,57 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+
+package pascal.taie.analysis.pta.core.cs.context;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TrieContextTest {
+
+    @Test
+    public void testEqualContextsAreSame() {
+        TrieContext empty = TrieContext.newTrie();
+        TrieContext ab = empty.append("a").append("b");
+        assertSame(ab, empty.append("a").append("b"));
+        assertSame(ab.getParent(), empty.append("a"));
+        assertSame(empty, ab.getEmpty());
+        assertEquals("[a, b]", ab.toString());
+    }
+
+    @Test
+    public void testTruncate() {
+        TrieContext empty = TrieContext.newTrie();
+        TrieContext abc = empty.append("a").append("b").append("c");
+        TrieContext bc = empty.append("b").append("c");
+        assertSame(bc, abc.truncate(2));
+        assertSame(bc, abc.truncate(2));
+        assertSame(empty.append("c"), abc.truncate(1));
+        assertSame(empty, abc.truncate(0));
+        assertSame(abc, abc.truncate(3));
+        assertSame(bc, bc.truncate(2));
+    }
+
+    @Test
+    public void testIntern() {
+        TrieContext trie1 = TrieContext.newTrie();
+        TrieContext trie2 = TrieContext.newTrie();
+        TrieContext ab1 = trie1.append("a").append("b");
+        TrieContext ab2 = trie2.append("a").append("b");
+        assertNotSame(ab1, ab2);
+        assertSame(ab1, trie1.intern(ab1));
+        assertSame(ab1, trie1.intern(ab2));
+        assertSame(ab2, trie2.intern(ab1));
+    }
+}
@@ -0,0 +1,78 @@
+class Containers {
+    public static void main(String[] args) {
+        Box b1 = new Box();
+        b1.set(new A());
+        Box b2 = new Box();
+        b2.set(new B());
+        Object x1 = b1.get();
+        Object x2 = b2.get();
+
+        ArrayList l1 = new ArrayList();
+        l1.add(new A());
+        ArrayList l2 = new ArrayList();
+        l2.add(new B());
+        Object y1 = l1.get(0);
+        Object y2 = l2.get(0);
+
+        Table t1 = new Table();
+        t1.put(new A(), new B());
+        Table t2 = new Table();
+        t2.put(new B(), new A());
+        Object z1 = t1.get(x1);
+        Object z2 = t2.get(x2);
+    }
+}
+
+class A {
+}
+
+class B {
+}
+
+class Box {
+
+    Object item;
+
+    public void set(Object o) {
+        this.item = o;
+    }
+
+    public Object get() {
+        return this.item;
+    }
+}
+
+class ArrayList {
+
+    Object[] elements = new Object[10];
+
+    int size;
+
+    public void add(Object e) {
+        elements[size] = e;
+        size = size + 1;
+    }
+
+    public Object get(int i) {
+        return elements[i];
+    }
+}
+
+class Table {
+
+    Box key = new Box();
+
+    Box value = new Box();
+
+    public void put(Object k, Object v) {
+        key.set(k);
+        value.set(v);
+    }
+
+    public Object get(Object k) {
+        if (key.get() == k) {
+            return value.get();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis;
+
+import pascal.taie.Main;
+import pascal.taie.config.AnalysisConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Static utility methods for benchmarking.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Builds the world for the program to be benchmarked, and runs the
+     * analyses that the benchmarked analysis depends on.
+     *
+     * @param classPath where the main class is located
+     * @param main      the main class to be analyzed
+     * @param analyses  the prerequisite analyses, in the form of
+     *                  {@code id=key:value;...}
+     */
+    public static void buildWorld(String classPath, String main, String... analyses) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", main);
+        for (String analysis : analyses) {
+            Collections.addAll(args, "-a", analysis);
+        }
+        Main.main(args.toArray(new String[0]));
+    }
+
+    /**
+     * Creates the configuration of the benchmarked analysis.
+     *
+     * @param id      ID of the analysis
+     * @param options the options of the analysis as key-value pairs,
+     *                i.e., key1, value1, key2, value2, ...
+     */
+    public static AnalysisConfig config(String id, Object... options) {
+        return new AnalysisConfig(id, options);
+    }
+}
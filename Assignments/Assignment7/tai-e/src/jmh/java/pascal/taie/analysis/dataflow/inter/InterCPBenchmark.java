@@ -0,0 +1,56 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.dataflow.inter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.graph.callgraph.CallGraphBuilder;
+import pascal.taie.analysis.graph.icfg.ICFGBuilder;
+
+/**
+ * Benchmark of alias-aware {@link InterConstantPropagation} solved by
+ * {@link InterSolver}.
+ * The pointer analysis, call graph and ICFG are built in the set-up,
+ * so that only the solving phase is measured.
+ */
+@State(Scope.Benchmark)
+public class InterCPBenchmark {
+
+    @Param("src/test/resources/dataflow/constprop/alias")
+    public String classPath;
+
+    @Param({"Array", "ArrayInter2", "ArrayLoops", "InstanceField",
+            "Interprocedural2", "MultiStores", "ObjSens", "StaticField",
+            "StaticFieldMultiStores"})
+    public String main;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.buildWorld(classPath, main,
+                "cspta=cs:2-obj",
+                CallGraphBuilder.ID + "=algorithm:cspta;action:null",
+                ICFGBuilder.ID + "=dump:false");
+    }
+
+    @Benchmark
+    public Object interConstantPropagation() {
+        return new InterConstantPropagation(Benchmarks.config(
+                InterConstantPropagation.ID,
+                "edge-refine", false, "alias-aware", true,
+                "pta", "cspta")).analyze();
+    }
+}
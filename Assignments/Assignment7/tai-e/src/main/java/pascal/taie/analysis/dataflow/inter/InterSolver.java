@@ -15,23 +15,28 @@ package pascal.taie.analysis.dataflow.inter;
 import pascal.taie.analysis.dataflow.fact.DataflowResult;
 import pascal.taie.analysis.graph.icfg.ICFG;
 import pascal.taie.analysis.graph.icfg.ICFGEdge;
-import pascal.taie.ir.exp.InvokeExp;
-import pascal.taie.ir.stmt.DefinitionStmt;
-import pascal.taie.ir.stmt.LoadField;
-import pascal.taie.ir.stmt.Stmt;
-import pascal.taie.util.collection.SetQueue;
+import pascal.taie.util.collection.Maps;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Solver for inter-procedural data-flow analysis.
  * The workload of inter-procedural analysis is heavy, thus we always
  * adopt work-list algorithm for efficiency.
+ *
+ * Before solving, the nodes of the ICFG are numbered in iteration order,
+ * and the in-edges and successors of each node are indexed in compressed
+ * (CSR) form, i.e., the in-edges of node {@code i} are
+ * {@code inEdges[inStart[i]] .. inEdges[inStart[i + 1] - 1]}, so that
+ * the main loop only walks arrays. The work-list is a ring buffer of
+ * node ids which holds each node at most once.
+ *
+ * The analysis may add nodes to the work-list during the solving
+ * via {@link #addNode(Set)}, e.g., the loads which may read the value
+ * of a changed store.
  */
 class InterSolver<Method, Node, Fact> {
 
@@ -41,7 +46,36 @@ class InterSolver<Method, Node, Fact> {
 
     private DataflowResult<Node, Fact> result;
 
-    private Queue<Node> workList;
+    private int nodeCount;
+
+    private Node[] nodes;
+
+    private Map<Node, Integer> ids;
+
+    private Fact[] inFacts;
+
+    private Fact[] outFacts;
+
+    private int[] inStart;
+
+    private ICFGEdge<Node>[] inEdges;
+
+    /**
+     * Ids of the sources of {@link #inEdges}.
+     */
+    private int[] inSources;
+
+    private int[] succStart;
+
+    private int[] succs;
+
+    private int[] workList;
+
+    private boolean[] inWorkList;
+
+    private int head;
+
+    private int size;
 
     InterSolver(InterDataflowAnalysis<Node, Fact> analysis,
                 ICFG<Method, Node> icfg) {
@@ -51,55 +85,108 @@ class InterSolver<Method, Node, Fact> {
 
     DataflowResult<Node, Fact> solve() {
         result = new DataflowResult<>();
+        buildIndex();
         initialize();
         doSolve();
         return result;
     }
-    public void addNode(Set<Node>node){
-        for(Node node1:node){
-            workList.add(node1);
+
+    /**
+     * Adds given nodes to the work-list. The nodes which are already in
+     * the work-list are not added again.
+     */
+    public void addNode(Set<Node> node) {
+        for (Node n : node) {
+            addToWorkList(ids.get(n));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void buildIndex() {
+        List<Node> nodeList = new ArrayList<>();
+        icfg.forEach(nodeList::add);
+        nodeCount = nodeList.size();
+        nodes = (Node[]) nodeList.toArray();
+        ids = Maps.newMap();
+        for (int i = 0; i < nodeCount; ++i) {
+            ids.put(nodes[i], i);
+        }
+        List<ICFGEdge<Node>> edges = new ArrayList<>();
+        List<Integer> succList = new ArrayList<>();
+        inStart = new int[nodeCount + 1];
+        succStart = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; ++i) {
+            inStart[i] = edges.size();
+            icfg.inEdgesOf(nodes[i]).forEach(edges::add);
+            succStart[i] = succList.size();
+            icfg.succsOf(nodes[i]).forEach(succ -> succList.add(ids.get(succ)));
+        }
+        inStart[nodeCount] = edges.size();
+        succStart[nodeCount] = succList.size();
+        inEdges = (ICFGEdge<Node>[]) edges.toArray(new ICFGEdge[0]);
+        inSources = new int[inEdges.length];
+        for (int i = 0; i < inEdges.length; ++i) {
+            inSources[i] = ids.get(inEdges[i].getSource());
+        }
+        succs = new int[succList.size()];
+        for (int i = 0; i < succs.length; ++i) {
+            succs[i] = succList.get(i);
         }
     }
+
+    @SuppressWarnings("unchecked")
     private void initialize() {
-        // TODO - finish me
-        List<Node> visit=new LinkedList<>();
-        Stream<Method> entry=icfg.entryMethods();
-        entry.forEach(entryMethod->{
-            Node node=icfg.getEntryOf(entryMethod);
-            visit.add(node);
-            result.setOutFact(node, analysis.newBoundaryFact(node));
+        inFacts = (Fact[]) new Object[nodeCount];
+        outFacts = (Fact[]) new Object[nodeCount];
+        icfg.entryMethods().forEach(method -> {
+            Node entry = icfg.getEntryOf(method);
+            int id = ids.get(entry);
+            if (outFacts[id] == null) {
+                outFacts[id] = analysis.newBoundaryFact(entry);
+            }
         });
-        for(Node node:icfg){
-            if(!visit.contains(node)){
-                result.setOutFact(node, analysis.newInitialFact());
+        for (int i = 0; i < nodeCount; ++i) {
+            Node node = nodes[i];
+            if (outFacts[i] == null) {
+                outFacts[i] = analysis.newInitialFact();
             }
-            result.setInFact(node, analysis.newInitialFact());
+            inFacts[i] = analysis.newInitialFact();
+            result.setOutFact(node, outFacts[i]);
+            result.setInFact(node, inFacts[i]);
         }
     }
 
     private void doSolve() {
-        // TODO - finish me
-        workList=new LinkedList<>();
-        for(Node node:icfg){
-            workList.add(node);
+        workList = new int[nodeCount];
+        inWorkList = new boolean[nodeCount];
+        head = 0;
+        size = 0;
+        for (int i = 0; i < nodeCount; ++i) {
+            addToWorkList(i);
         }
-        while (!workList.isEmpty()){
-            Node node=workList.remove();
-            icfg.predsOf(node).forEach(pred->{
-                Stream<ICFGEdge<Node>> outEdge=icfg.outEdgesOf(pred);
-                outEdge.forEach(out->{
-                    if(out.getTarget()==node){
-                        Fact fact=analysis.transferEdge(out,result.getOutFact(pred));
-                        analysis.meetInto(fact,result.getInFact(node));
-                    }
-                });
-            });
-            boolean change=analysis.transferNode(node,result.getInFact(node),result.getOutFact(node));
-            if(change){
-                icfg.succsOf(node).forEach(workList::add);
+        while (size > 0) {
+            int node = workList[head];
+            head = (head + 1) % nodeCount;
+            --size;
+            inWorkList[node] = false;
+            Fact in = inFacts[node];
+            for (int i = inStart[node]; i < inStart[node + 1]; ++i) {
+                analysis.meetInto(analysis.transferEdge(
+                        inEdges[i], outFacts[inSources[i]]), in);
+            }
+            if (analysis.transferNode(nodes[node], in, outFacts[node])) {
+                for (int i = succStart[node]; i < succStart[node + 1]; ++i) {
+                    addToWorkList(succs[i]);
+                }
             }
         }
+    }
 
-
+    private void addToWorkList(int node) {
+        if (!inWorkList[node]) {
+            inWorkList[node] = true;
+            workList[(head + size) % nodeCount] = node;
+            ++size;
+        }
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Tai-e: A Static Analysis Framework for Java
+ *
+ * Copyright (C) 2020-- Tian Tan <tiantan@nju.edu.cn>
+ * Copyright (C) 2020-- Yue Li <yueli@nju.edu.cn>
+ * All rights reserved.
+ *
+ * Tai-e is only for educational and academic purposes,
+ * and any form of commercial use is disallowed.
+ * Distribution of Tai-e is disallowed without the approval.
+ */
+package pascal.taie.analysis.pta.cs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pascal.taie.analysis.Benchmarks;
+import pascal.taie.analysis.ProgramGenerator;
+import pascal.taie.analysis.pta.PointerAnalysisResult;
+import pascal.taie.analysis.pta.core.heap.AllocationSiteBasedModel;
+import pascal.taie.config.AnalysisOptions;
+
+import java.nio.file.Paths;
+
+/**
+ * Benchmark of context-sensitive pointer analysis {@link Solver}
+ * with taint analysis enabled.
+ */
+@State(Scope.Benchmark)
+public class TaintBenchmark {
+
+    @Param("src/test/resources/pta/taint")
+    public String classPath;
+
+    @Param({"ArgToResult", "BaseToResult", "InterTaintTransfer",
+            "OneCallTaint", "SimpleTaint", "StringAppend", "TaintInList",
+            "generated:1000", "generated:10000"})
+    public String main;
+
+    @Param({"ci", "1-call", "1-obj", "2-obj"})
+    public String cs;
+
+    /**
+     * Taint configuration of the bundled programs. Generated programs
+     * come with their own configurations.
+     */
+    @Param("src/test/resources/pta/taint/taint-config.yml")
+    public String taintConfig;
+
+    private AnalysisOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (Benchmarks.isGenerated(main)) {
+            taintConfig = Paths.get(Benchmarks.getClassPath(classPath, main),
+                    ProgramGenerator.TAINT_CONFIG).toString();
+        }
+        // runs the analysis once, so that the IRs of reachable methods
+        // are built before measurement
+        Benchmarks.buildWorld(classPath, main, CSPTA.ID + "=cs:" + cs +
+                ";taint-config:" + taintConfig + ";action:null");
+        options = Benchmarks.config(CSPTA.ID,
+                "cs", cs,
+                "merge-string-constants", false,
+                "merge-string-objects", false,
+                "merge-string-builders", false,
+                "merge-exception-objects", true,
+                "taint-config", taintConfig,
+                "action", null,
+                "file", null).getOptions();
+    }
+
+    @Benchmark
+    public PointerAnalysisResult solve() {
+        Solver solver = new Solver(options, new AllocationSiteBasedModel(options),
+                CSPTA.getContextSelector(cs));
+        solver.solve();
+        return solver.getResult();
+    }
+}
@@ -49,7 +49,7 @@ public class CSPTA extends InterproceduralAnalysis {
         return result;
     }
 
-    private static ContextSelector getContextSelector(String cs) {
+    static ContextSelector getContextSelector(String cs) {
         if (cs.equals("ci")) {
             return new CISelector();
         } else {
@@ -15,6 +15,7 @@ package pascal.taie.analysis;
 import pascal.taie.Main;
 import pascal.taie.analysis.misc.ClassDumper;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,19 +43,44 @@ public final class Tests {
         doTestPTA("cspta", dir, main, opts);
     }
 
+    /**
+     * Runs context-sensitive pointer analysis with taint analysis on
+     * a program generated by {@link ProgramGenerator}, with its
+     * taint configuration. As generated programs have no expected results,
+     * this only checks that the analysis finishes on them.
+     *
+     * @param statements approximate number of statements of the program
+     */
+    public static void testGeneratedCSPTA(int statements, String... opts) {
+        Path classPath = ProgramGenerator.generate(statements);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("action:null");
+        ptaArgs.add("taint-config:" + classPath.resolve(ProgramGenerator.TAINT_CONFIG));
+        Collections.addAll(ptaArgs, opts);
+        doTestPTA("cspta", classPath.toString(), ProgramGenerator.MAIN_CLASS,
+                ptaArgs);
+    }
+
     private static void doTestPTA(
             String pta, String dir, String main, String... opts) {
-        List<String> args = new ArrayList<>();
-        args.add("-pp");
         String classPath = "src/test/resources/pta/" + dir;
-        Collections.addAll(args, "-cp", classPath);
-        Collections.addAll(args, "-m", main);
         List<String> ptaArgs = new ArrayList<>();
-        ptaArgs.add("implicit-entries:false");
         String action = GENERATE_EXPECTED_RESULTS ? "dump" : "compare";
         ptaArgs.add("action:" + action);
         String file = Paths.get(classPath, main + "-expected.txt").toString();
         ptaArgs.add("file:" + file);
+        Collections.addAll(ptaArgs, opts);
+        doTestPTA(pta, classPath, main, ptaArgs);
+    }
+
+    private static void doTestPTA(
+            String pta, String classPath, String main, List<String> opts) {
+        List<String> args = new ArrayList<>();
+        args.add("-pp");
+        Collections.addAll(args, "-cp", classPath);
+        Collections.addAll(args, "-m", main);
+        List<String> ptaArgs = new ArrayList<>();
+        ptaArgs.add("implicit-entries:false");
         boolean specifyOnlyApp = false;
         for (String opt : opts) {
             ptaArgs.add(opt);
@@ -60,4 +60,9 @@ public class TaintTest {
         Tests.testCSPTA(DIR, "TaintInList",
                 "cs:2-obj;taint-config:src/test/resources/pta/taint/taint-config.yml");
     }
+
+    @Test
+    public void testGenerated() {
+        Tests.testGeneratedCSPTA(1000, "cs:1-obj");
+    }
 }